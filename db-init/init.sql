@@ -12,9 +12,26 @@ CREATE TABLE account (
     opening_date TIMESTAMP NOT NULL,
     initial_deposit NUMERIC(10, 2) NOT NULL,
     currency VARCHAR(3) NOT NULL,
-    branch_id INT NOT NULL
+    branch_id INT NOT NULL,
+    last_modified TIMESTAMP NOT NULL DEFAULT now()
 );
 
+-- Keyset pagination over GET /accounts walks this index
+CREATE INDEX idx_account_opening_date_id ON account (opening_date, account_id);
+
+-- Warm-restart catch-up reads rows modified since the cache snapshot was taken
+CREATE INDEX idx_account_last_modified ON account (last_modified);
+
+-- Lookups by client, and bulk status changes filtered by client
+CREATE INDEX idx_account_client_id ON account (client_id);
+
+-- GET /accounts/search reads (account_id, opening_date) keys with index-only scans:
+-- equality filters lead, then the keyset order; INCLUDE covers the other filters
+CREATE INDEX idx_account_search_branch ON account
+    (branch_id, account_status, account_type, opening_date, account_id) INCLUDE (currency);
+CREATE INDEX idx_account_search_status ON account
+    (account_status, account_type, opening_date, account_id) INCLUDE (branch_id, currency);
+
 INSERT INTO account (client_id, account_type, account_status, opening_date, initial_deposit, currency, branch_id) VALUES
 ('a1b2c3d4-e5f6-4788-990a-b1c2d3e4f5a6', 'SAVINGS', 'ACTIVE', '2023-01-15 10:00:00', 5000.00, 'USD', 101),
 ('a1b2c3d4-e5f6-4788-990a-b1c2d3e4f5a6', 'CHECKING', 'ACTIVE', '2023-01-15 10:00:00', 5000.00, 'SGD', 101),
@@ -23,3 +40,27 @@ INSERT INTO account (client_id, account_type, account_status, opening_date, init
 ('c3d4e5f6-a7b8-4900-912c-d3e4f5a6b7c8', 'INVESTMENT', 'ACTIVE', '2023-03-10 09:15:00', 10000.00, 'GBP', 103),
 ('d4e5f6a7-b8c9-4011-023d-e4f5a6b7c8d9', 'BUSINESS', 'INACTIVE', '2023-04-05 11:45:00', 25000.00, 'USD', 104),
 ('e5f6a7b8-c9d0-4122-134e-f5a6b7c8d9e0', 'SAVINGS', 'ACTIVE', '2023-05-12 16:20:00', 3000.00, 'CAD', 105);
+
+-- Per-group counts and deposit totals, adjusted by deltas in each account
+-- transaction. Type and status are plain text so the delta upserts bind strings.
+CREATE TABLE account_summary (
+    branch_id INT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    account_type VARCHAR(255) NOT NULL,
+    account_status VARCHAR(255) NOT NULL,
+    account_count BIGINT NOT NULL,
+    total_deposit NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (branch_id, currency, account_type, account_status)
+);
+
+INSERT INTO account_summary (branch_id, currency, account_type, account_status, account_count, total_deposit)
+SELECT branch_id, currency, account_type::text, account_status::text, COUNT(*), SUM(initial_deposit)
+FROM account GROUP BY branch_id, currency, account_type, account_status;
+
+CREATE TABLE audit_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    attempts INT NOT NULL DEFAULT 0,
+    claimed_until TIMESTAMP
+);
@@ -0,0 +1,102 @@
+package com.bank.crm.account_service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker around the SQS audit transport.
+ *
+ * <p>After {@code failureThreshold} consecutive failures the breaker opens and
+ * callers stop contacting SQS. Once {@code openDuration} has passed, a single
+ * trial request is allowed through; its outcome closes the breaker or opens it
+ * again. Only state transitions are logged, so an outage costs one log line
+ * rather than one per message.
+ */
+@Component
+public class AuditCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditCircuitBreaker.class);
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    @Autowired
+    public AuditCircuitBreaker(@Value("${audit.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${audit.breaker.open-duration-ms:30000}") long openDurationMillis) {
+        this(failureThreshold, openDurationMillis, System::nanoTime);
+    }
+
+    AuditCircuitBreaker(int failureThreshold, long openDurationMillis, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a call to SQS may be attempted now.
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt >= openNanos) {
+                    state = State.HALF_OPEN;
+                    logger.info("Audit circuit breaker half-open, sending a trial request to SQS");
+                    return true;
+                }
+                return false;
+            default:
+                // A trial request is already in flight
+                return false;
+        }
+    }
+
+    /**
+     * Whether {@link #allowRequest} would let a call through, without taking
+     * the half-open trial. Lets callers skip preparatory work while SQS is down.
+     */
+    public synchronized boolean isCallPermitted() {
+        return state == State.CLOSED
+                || (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos);
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Audit circuit breaker closed, SQS is reachable again");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            logger.warn("Audit circuit breaker opened after {} consecutive failures, journaling audit messages",
+                    consecutiveFailures);
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
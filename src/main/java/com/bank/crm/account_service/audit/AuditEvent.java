@@ -0,0 +1,33 @@
+package com.bank.crm.account_service.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit record sent to the logging queue. Attribute and value fields
+ * are empty strings rather than null for operations that do not use them.
+ */
+public record AuditEvent(CrudOperation operation,
+                         String attributeName,
+                         String beforeValue,
+                         String afterValue,
+                         String agentId,
+                         String clientId,
+                         LocalDateTime dateTime,
+                         String remarks) {
+
+    public AuditEvent {
+        attributeName = attributeName != null ? attributeName : "";
+        beforeValue = beforeValue != null ? beforeValue : "";
+        afterValue = afterValue != null ? afterValue : "";
+    }
+
+    public static AuditEvent of(CrudOperation operation, String agentId, String clientId, String remarks) {
+        return new AuditEvent(operation, "", "", "", agentId, clientId, LocalDateTime.now(), remarks);
+    }
+
+    public static AuditEvent update(String agentId, String clientId, String attributeName,
+                                    String beforeValue, String afterValue, String remarks) {
+        return new AuditEvent(CrudOperation.UPDATE, attributeName, beforeValue, afterValue,
+                agentId, clientId, LocalDateTime.now(), remarks);
+    }
+}
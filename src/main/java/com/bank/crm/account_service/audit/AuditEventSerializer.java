@@ -0,0 +1,113 @@
+package com.bank.crm.account_service.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link AuditEvent}s as JSON with a streaming generator.
+ *
+ * <p>Field names are pre-encoded and each thread reuses its output and date
+ * buffers, so serializing an event allocates little beyond the resulting
+ * string. The JSON shape matches what the logging consumer has always read.
+ */
+@Component
+public class AuditEventSerializer {
+
+    private static final SerializedString CRUD_OPERATION = new SerializedString("crud_operation");
+    private static final SerializedString ATTRIBUTE_NAME = new SerializedString("attribute_name");
+    private static final SerializedString BEFORE_VALUE = new SerializedString("before_value");
+    private static final SerializedString AFTER_VALUE = new SerializedString("after_value");
+    private static final SerializedString AGENT_ID = new SerializedString("agent_id");
+    private static final SerializedString CLIENT_ID = new SerializedString("client_id");
+    private static final SerializedString DATE_TIME = new SerializedString("date_time");
+    private static final SerializedString REMARKS = new SerializedString("remarks");
+    private static final SerializedString EVENT_COUNT = new SerializedString("event_count");
+    private static final SerializedString FIRST_DATE_TIME = new SerializedString("first_date_time");
+
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final int MAX_RETAINED_CHARS = 16 * 1024;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final JsonFactory jsonFactory;
+
+    public AuditEventSerializer(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public String toJson(AuditEvent event) {
+        return toJson(event, 1, null);
+    }
+
+    /**
+     * Write an aggregate of {@code count} identical events. {@code date_time}
+     * holds the last occurrence and {@code first_date_time} the first; both
+     * extra fields are omitted for a single event.
+     */
+    public String toJson(AuditEvent event, long count, LocalDateTime firstDateTime) {
+        Buffers buffers = BUFFERS.get();
+        CharArrayWriter out = buffers.out;
+        out.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeFieldName(CRUD_OPERATION);
+            generator.writeString(event.operation().getValue());
+            generator.writeFieldName(ATTRIBUTE_NAME);
+            generator.writeString(event.attributeName());
+            generator.writeFieldName(BEFORE_VALUE);
+            generator.writeString(event.beforeValue());
+            generator.writeFieldName(AFTER_VALUE);
+            generator.writeString(event.afterValue());
+            generator.writeFieldName(AGENT_ID);
+            generator.writeString(event.agentId());
+            generator.writeFieldName(CLIENT_ID);
+            generator.writeString(event.clientId());
+            generator.writeFieldName(DATE_TIME);
+            writeDateTime(generator, event.dateTime(), buffers);
+            generator.writeFieldName(REMARKS);
+            generator.writeString(event.remarks());
+            if (count > 1) {
+                generator.writeFieldName(EVENT_COUNT);
+                generator.writeNumber(count);
+                generator.writeFieldName(FIRST_DATE_TIME);
+                writeDateTime(generator, firstDateTime, buffers);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize audit event", e);
+        }
+
+        String json = out.toString();
+        if (out.size() > MAX_RETAINED_CHARS) {
+            // Don't let one oversized event pin a large buffer to the thread
+            BUFFERS.remove();
+        }
+        return json;
+    }
+
+    private static void writeDateTime(JsonGenerator generator, LocalDateTime value, Buffers buffers)
+            throws IOException {
+        StringBuilder dateTime = buffers.dateTime;
+        dateTime.setLength(0);
+        ISO_FORMATTER.formatTo(value, dateTime);
+        int length = dateTime.length();
+        dateTime.getChars(0, length, buffers.dateTimeChars, 0);
+        generator.writeString(buffers.dateTimeChars, 0, length);
+    }
+
+    private static final class Buffers {
+        private final CharArrayWriter out = new CharArrayWriter(512);
+        private final StringBuilder dateTime = new StringBuilder(32);
+        // ISO local date-time is at most 35 characters, even for extreme years
+        private final char[] dateTimeChars = new char[40];
+    }
+}
@@ -0,0 +1,306 @@
+package com.bank.crm.account_service.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local, memory-mapped journal for audit messages that could not be sent to SQS.
+ *
+ * <p>Messages are appended to fixed-size segment files as
+ * {@code [length][crc32][utf-8 body]} records. The length is written last, so
+ * a record torn by a crash reads as the end of the segment. A checkpoint file
+ * stores the read position; segments behind it are deleted, and the journal
+ * resets to empty once everything has been acknowledged. A single reader
+ * replays records in the order they were appended.
+ */
+@Component
+public class AuditJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private long nextSegmentId;
+    private Segment writeSegment;
+    private int writePosition;
+    private long readSegmentId = -1;
+    private int readOffset;
+
+    public AuditJournal(@Value("${audit.journal.dir:./data/audit-journal}") String directory,
+                        @Value("${audit.journal.segment-bytes:8388608}") int segmentBytes) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Map existing segments and restore the read and write positions.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(id, Segment.map(file, id, segmentBytes));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        writeSegment = segments.lastEntry().getValue();
+        writePosition = scanEnd(writeSegment);
+        nextSegmentId = writeSegment.id + 1;
+
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpoint)) {
+            ByteBuffer position = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+            readSegmentId = position.getLong();
+            readOffset = position.getInt();
+        }
+        if (!segments.containsKey(readSegmentId)) {
+            readSegmentId = segments.firstKey();
+            readOffset = 0;
+        }
+        logger.info("Audit journal opened with {} segments pending replay", segments.size());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.force(0, segment.capacity());
+            segment.channel.close();
+        }
+        segments.clear();
+        writeSegment = null;
+    }
+
+    /**
+     * Durably append the given bodies, in order.
+     */
+    public synchronized void append(List<String> bodies) {
+        Segment flushFrom = writeSegment;
+        int flushOffset = writePosition;
+        for (String body : bodies) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            int recordBytes = HEADER_BYTES + bytes.length;
+            if (recordBytes > segmentBytes) {
+                throw new IllegalArgumentException("Audit message of " + bytes.length
+                        + " bytes exceeds journal segment size");
+            }
+            if (writeSegment == null || writePosition + recordBytes > writeSegment.capacity()) {
+                if (writeSegment != null) {
+                    writeSegment.force(flushOffset, writePosition - flushOffset);
+                }
+                rotate();
+                flushFrom = writeSegment;
+                flushOffset = 0;
+            }
+
+            MappedByteBuffer buffer = writeSegment.buffer;
+            buffer.putInt(writePosition + 4, checksum(bytes));
+            buffer.put(writePosition + HEADER_BYTES, bytes);
+            // Writing the length last marks the record as complete
+            buffer.putInt(writePosition, bytes.length);
+            writePosition += recordBytes;
+        }
+        if (flushFrom != null) {
+            flushFrom.force(flushOffset, writePosition - flushOffset);
+        }
+    }
+
+    /**
+     * Read up to {@code max} records from the current read position without
+     * consuming them.
+     */
+    public synchronized Batch read(int max) {
+        List<String> bodies = new ArrayList<>(max);
+        long segmentId = readSegmentId;
+        int offset = readOffset;
+        while (bodies.size() < max) {
+            Segment segment = segments.get(segmentId);
+            if (segment == null) {
+                break;
+            }
+            int limit = segment == writeSegment ? writePosition : segment.capacity();
+            int length = offset + HEADER_BYTES <= limit ? segment.buffer.getInt(offset) : 0;
+            if (length <= 0 || offset + HEADER_BYTES + length > limit) {
+                Long next = segments.higherKey(segmentId);
+                if (next == null) {
+                    break;
+                }
+                segmentId = next;
+                offset = 0;
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            segment.buffer.get(offset + HEADER_BYTES, bytes);
+            bodies.add(new String(bytes, StandardCharsets.UTF_8));
+            offset += HEADER_BYTES + length;
+        }
+        return new Batch(bodies, segmentId, offset);
+    }
+
+    /**
+     * Consume everything returned by {@code batch}.
+     */
+    public synchronized void acknowledge(Batch batch) {
+        readSegmentId = batch.endSegmentId();
+        readOffset = batch.endOffset();
+        try {
+            if (isEmpty()) {
+                reset();
+                return;
+            }
+            for (Map.Entry<Long, Segment> consumed : new ArrayList<>(segments.headMap(readSegmentId).entrySet())) {
+                delete(consumed.getValue());
+                segments.remove(consumed.getKey());
+            }
+            writeCheckpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update audit journal checkpoint", e);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return writeSegment == null || (readSegmentId == writeSegment.id && readOffset >= writePosition);
+    }
+
+    private void rotate() {
+        try {
+            long id = nextSegmentId++;
+            Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+            writeSegment = Segment.map(file, id, segmentBytes);
+            writePosition = 0;
+            segments.put(id, writeSegment);
+            if (readSegmentId < 0) {
+                readSegmentId = id;
+                readOffset = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create audit journal segment", e);
+        }
+    }
+
+    private void reset() throws IOException {
+        for (Segment segment : segments.values()) {
+            delete(segment);
+        }
+        segments.clear();
+        writeSegment = null;
+        writePosition = 0;
+        readSegmentId = -1;
+        readOffset = 0;
+        Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+        logger.info("Audit journal fully replayed");
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(12).putLong(readSegmentId).putInt(readOffset).array());
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void delete(Segment segment) throws IOException {
+        segment.channel.close();
+        Files.deleteIfExists(segment.file);
+    }
+
+    /**
+     * Find the end of the last complete record, ignoring a torn tail.
+     */
+    private int scanEnd(Segment segment) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > segment.capacity()) {
+                break;
+            }
+            byte[] bytes = new byte[length];
+            segment.buffer.get(position + HEADER_BYTES, bytes);
+            if (checksum(bytes) != segment.buffer.getInt(position + 4)) {
+                logger.warn("Audit journal segment {} has a torn record at offset {}", segment.id, position);
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Records read from the journal and the position just after them.
+     */
+    public record Batch(List<String> bodies, long endSegmentId, int endOffset) {
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path file, long id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Existing segments keep their size even if the configured size changed
+            long mappedSize = Math.max(size, channel.size());
+            return new Segment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        void force(int offset, int length) {
+            if (length > 0) {
+                buffer.force(offset, length);
+            }
+        }
+    }
+}
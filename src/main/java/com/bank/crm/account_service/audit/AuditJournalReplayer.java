@@ -0,0 +1,64 @@
+package com.bank.crm.account_service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays journaled audit messages to SQS, oldest first, whenever the circuit
+ * breaker lets requests through. Entries SQS rejects are appended to the
+ * journal again before the batch is acknowledged, and replay pauses until the
+ * next run so a persistently rejected entry does not spin.
+ */
+@Component
+public class AuditJournalReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournalReplayer.class);
+
+    private final AuditJournal journal;
+    private final AuditSink sink;
+    private final AuditCircuitBreaker circuitBreaker;
+
+    public AuditJournalReplayer(AuditJournal journal, AuditSink sink, AuditCircuitBreaker circuitBreaker) {
+        this.journal = journal;
+        this.sink = sink;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.journal.replay-interval-ms:1000}")
+    public void replay() {
+        int replayed = 0;
+        while (!journal.isEmpty() && circuitBreaker.allowRequest()) {
+            AuditJournal.Batch batch = journal.read(AuditSink.MAX_BATCH_ENTRIES);
+            List<Integer> rejected;
+            try {
+                rejected = sink.send(batch.bodies()).join();
+                circuitBreaker.recordSuccess();
+            } catch (Exception e) {
+                circuitBreaker.recordFailure();
+                logger.warn("Audit journal replay paused, SQS still unavailable: {}", e.getMessage());
+                return;
+            }
+            if (!rejected.isEmpty()) {
+                List<String> retry = new ArrayList<>(rejected.size());
+                rejected.forEach(position -> retry.add(batch.bodies().get(position)));
+                // Append before acknowledging, so a crash in between duplicates rather than loses them
+                journal.append(retry);
+            }
+            journal.acknowledge(batch);
+            replayed += batch.bodies().size() - rejected.size();
+            if (!rejected.isEmpty()) {
+                logger.warn("SQS rejected {} journaled audit messages during replay, kept them for the next run",
+                        rejected.size());
+                break;
+            }
+        }
+        if (replayed > 0) {
+            logger.info("Replayed {} journaled audit messages to SQS", replayed);
+        }
+    }
+}
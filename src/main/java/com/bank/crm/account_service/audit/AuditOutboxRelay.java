@@ -0,0 +1,184 @@
+package com.bank.crm.account_service.audit;
+
+import com.bank.crm.account_service.model.AuditOutboxEntry;
+import com.bank.crm.account_service.repository.AuditDeadLetterRepository;
+import com.bank.crm.account_service.repository.AuditOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Polls the audit outbox and publishes pending entries to SQS.
+ *
+ * <p>Each batch is claimed in a short transaction: rows are picked with
+ * {@code FOR UPDATE SKIP LOCKED} and leased for {@code claim-timeout-ms}, so
+ * several replicas can relay concurrently without sending the same entry
+ * twice. The send runs outside any transaction, holding neither a pooled
+ * connection nor row locks. A second short transaction deletes delivered rows
+ * and holds rejected ones back for an exponential backoff, so a rejected
+ * entry at the head of the outbox cannot stall newer ones. After
+ * {@code max-attempts} rejections an entry moves to {@code audit_dead_letter}.
+ * If SQS cannot be reached at all the batch is released without counting
+ * against it. If a relay dies mid-send, its lease expires and another relay
+ * sends the batch again.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditOutboxRelay.class);
+
+    private final AuditOutboxRepository outboxRepository;
+    private final AuditDeadLetterRepository deadLetterRepository;
+    private final AuditSink sink;
+    private final AuditCircuitBreaker circuitBreaker;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long claimTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    public AuditOutboxRelay(AuditOutboxRepository outboxRepository,
+                            AuditDeadLetterRepository deadLetterRepository,
+                            AuditSink sink,
+                            AuditCircuitBreaker circuitBreaker,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${audit.outbox.batch-size:100}") int batchSize,
+                            @Value("${audit.outbox.claim-timeout-ms:60000}") long claimTimeoutMillis,
+                            @Value("${audit.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${audit.outbox.retry-backoff-ms:1000}") long retryBackoffMillis,
+                            @Value("${audit.outbox.max-retry-backoff-ms:300000}") long maxRetryBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("audit.outbox.max-attempts must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.sink = sink;
+        this.circuitBreaker = circuitBreaker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeoutMillis = claimTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+
+    /**
+     * Relay batches until the outbox is empty or a batch comes back short.
+     */
+    @Scheduled(fixedDelayString = "${audit.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * Claim, publish and settle one batch, returning the number of rows delivered.
+     */
+    int relayBatch() {
+        if (!circuitBreaker.isCallPermitted()) {
+            // Entries are already durable, so simply wait while SQS is down
+            return 0;
+        }
+        List<AuditOutboxEntry> entries = transactionTemplate.execute(status -> claimNextBatch());
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(entries.size());
+        List<String> payloads = new ArrayList<>(entries.size());
+        for (AuditOutboxEntry entry : entries) {
+            ids.add(entry.getId());
+            payloads.add(entry.getPayload());
+        }
+        if (!circuitBreaker.allowRequest()) {
+            // Another caller took the half-open trial after the check above
+            release(ids);
+            return 0;
+        }
+
+        Set<Integer> failed;
+        try {
+            failed = new HashSet<>(sink.send(payloads).join());
+            circuitBreaker.recordSuccess();
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            logger.warn("Audit outbox relay could not reach SQS, {} entries will be retried: {}",
+                    entries.size(), e.getMessage());
+            release(ids);
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(entries.size());
+        List<Long> retry = new ArrayList<>(failed.size());
+        List<Long> deadLetter = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            AuditOutboxEntry entry = entries.get(i);
+            if (!failed.contains(i)) {
+                delivered.add(entry.getId());
+            } else if (entry.getAttempts() + 1 >= maxAttempts) {
+                deadLetter.add(entry.getId());
+            } else {
+                retry.add(entry.getId());
+            }
+        }
+        settle(delivered, retry, deadLetter);
+
+        if (!retry.isEmpty()) {
+            logger.warn("SQS rejected {} of {} outbox entries, they will be retried after a backoff",
+                    retry.size(), entries.size());
+        }
+        if (!deadLetter.isEmpty()) {
+            logger.error("SQS rejected outbox entries {} {} times, moved them to audit_dead_letter",
+                    deadLetter, maxAttempts);
+        }
+        logger.debug("Relayed {} audit outbox entries to SQS", delivered.size());
+        return delivered.size();
+    }
+
+    private List<AuditOutboxEntry> claimNextBatch() {
+        List<AuditOutboxEntry> entries = outboxRepository.lockNextBatch(batchSize);
+        if (!entries.isEmpty()) {
+            outboxRepository.claim(entries.stream().map(AuditOutboxEntry::getId).toList(), claimTimeoutMillis);
+        }
+        return entries;
+    }
+
+    /**
+     * Delete delivered entries, back off rejected ones and move those out of
+     * attempts to the dead-letter table.
+     */
+    private void settle(List<Long> delivered, List<Long> retry, List<Long> deadLetter) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(delivered);
+            }
+            if (!retry.isEmpty()) {
+                outboxRepository.reject(retry, retryBackoffMillis, maxRetryBackoffMillis);
+            }
+            if (!deadLetter.isEmpty()) {
+                deadLetterRepository.copyFromOutbox(deadLetter);
+                outboxRepository.deleteAllByIdInBatch(deadLetter);
+            }
+        });
+    }
+
+    /**
+     * Release a batch that was never judged by SQS for the next poll.
+     */
+    private void release(List<Long> ids) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.release(ids));
+    }
+}
@@ -0,0 +1,294 @@
+package com.bank.crm.account_service.audit;
+
+import com.bank.crm.account_service.exception.AuditDeliveryException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers audit messages in a bounded in-memory queue and drains them on a
+ * background worker in SendMessageBatch calls, keeping SQS latency off the
+ * request thread.
+ *
+ * <p>Each agent may only have a limited number of messages pending at once.
+ * When an agent exceeds that limit, or the queue as a whole is full, the
+ * calling thread waits briefly and then sends the message itself, so a burst
+ * slows down the producer instead of dropping audit records.
+ *
+ * <p>With a non-blocking sink the worker does not wait for each batch;
+ * up to {@code audit.publisher.max-in-flight-batches} batches may be
+ * outstanding at once.
+ *
+ * <p>When SQS is unreachable, or the circuit breaker is open, batches are
+ * appended to the local {@link AuditJournal} instead, as are entries SQS still
+ * rejects after one retry. While the journal holds anything, new batches are
+ * journaled behind it so replay preserves order.
+ */
+@Component
+public class AuditPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPublisher.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final String UNKNOWN_AGENT = "unknown";
+
+    private final AuditSink sink;
+    private final AuditCircuitBreaker circuitBreaker;
+    private final AuditJournal journal;
+    private final BlockingQueue<PendingAudit> queue;
+    private final ConcurrentHashMap<String, Semaphore> agentPermits = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+    private final int maxInFlightBatches;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int perAgentMaxPending;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditPublisher(AuditSink sink,
+                          AuditCircuitBreaker circuitBreaker,
+                          AuditJournal journal,
+                          @Value("${audit.publisher.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.publisher.batch-size:10}") int batchSize,
+                          @Value("${audit.publisher.linger-ms:50}") long lingerMillis,
+                          @Value("${audit.publisher.per-agent-max-pending:500}") int perAgentMaxPending,
+                          @Value("${audit.publisher.offer-timeout-ms:100}") long offerTimeoutMillis,
+                          @Value("${audit.publisher.max-in-flight-batches:16}") int maxInFlightBatches,
+                          @Value("${audit.publisher.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        if (batchSize < 1 || batchSize > AuditSink.MAX_BATCH_ENTRIES) {
+            throw new IllegalArgumentException("audit.publisher.batch-size must be between 1 and "
+                    + AuditSink.MAX_BATCH_ENTRIES);
+        }
+        this.sink = sink;
+        this.circuitBreaker = circuitBreaker;
+        this.journal = journal;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.perAgentMaxPending = perAgentMaxPending;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.inFlight = new Semaphore(maxInFlightBatches);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-publisher");
+        worker.start();
+        logger.info("Audit publisher started with batch size {} and linger {} ms",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+    }
+
+    /**
+     * Stop accepting new messages and flush everything already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        worker.join(shutdownTimeoutMillis);
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        if (worker.isAlive() || !inFlight.tryAcquire(maxInFlightBatches, remaining, TimeUnit.NANOSECONDS)) {
+            logger.error("Audit publisher did not drain within {} ms, {} messages left in queue",
+                    shutdownTimeoutMillis, queue.size());
+        } else {
+            inFlight.release(maxInFlightBatches);
+            logger.info("Audit publisher drained and stopped");
+        }
+    }
+
+    /**
+     * Queue a serialized audit message for asynchronous delivery.
+     *
+     * @return a future completed once SQS has accepted the message or it has
+     *         been written to the local journal
+     */
+    public CompletableFuture<Void> publish(String agentId, String body) {
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        if (!running) {
+            deliver(List.of(new PendingAudit(null, body, delivered)));
+            return delivered;
+        }
+
+        String agentKey = agentId != null ? agentId : UNKNOWN_AGENT;
+        Semaphore permits = agentPermits.computeIfAbsent(agentKey, key -> new Semaphore(perAgentMaxPending));
+        try {
+            if (!permits.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("Agent {} has {} audit messages pending, sending on caller thread",
+                        agentKey, perAgentMaxPending);
+                deliver(List.of(new PendingAudit(null, body, delivered)));
+                return delivered;
+            }
+            if (!queue.offer(new PendingAudit(permits, body, delivered), offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                permits.release();
+                logger.warn("Audit queue is full, sending on caller thread");
+                deliver(List.of(new PendingAudit(null, body, delivered)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deliver(List.of(new PendingAudit(null, body, delivered)));
+        }
+        return delivered;
+    }
+
+    /**
+     * Number of messages waiting to be sent.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAudit first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                try {
+                    fillBatch(batch);
+                } finally {
+                    releaseAgentPermits(batch);
+                }
+                inFlight.acquire();
+                deliver(new ArrayList<>(batch)).whenComplete((ignored, error) -> inFlight.release());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Audit publisher interrupted, flushing {} queued messages", queue.size());
+                List<PendingAudit> rest = new ArrayList<>(queue.size());
+                queue.drainTo(rest);
+                releaseAgentPermits(rest);
+                batch.addAll(rest);
+                deliver(new ArrayList<>(batch));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<PendingAudit> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void releaseAgentPermits(List<PendingAudit> batch) {
+        for (PendingAudit pending : batch) {
+            if (pending.permits() != null) {
+                pending.permits().release();
+            }
+        }
+    }
+
+    /**
+     * Send a batch, retry rejected entries once, journal what is still
+     * rejected and complete each message's future.
+     */
+    private CompletableFuture<Void> deliver(List<PendingAudit> batch) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!journal.isEmpty() || !circuitBreaker.allowRequest()) {
+            spill(batch);
+            return CompletableFuture.completedFuture(null);
+        }
+        return send(batch)
+                .thenCompose(failed -> failed.isEmpty()
+                        ? CompletableFuture.completedFuture(List.<PendingAudit>of())
+                        : retry(batch, failed))
+                .handle((undelivered, error) -> {
+                    if (error != null) {
+                        circuitBreaker.recordFailure();
+                        logger.warn("Failed to send {} audit messages to SQS, journaling them: {}",
+                                batch.size(), error.getMessage());
+                        spill(batch);
+                        return null;
+                    }
+                    circuitBreaker.recordSuccess();
+                    Set<PendingAudit> rejected = new HashSet<>(undelivered);
+                    for (PendingAudit pending : batch) {
+                        if (!rejected.contains(pending)) {
+                            pending.delivered().complete(null);
+                        }
+                    }
+                    if (!undelivered.isEmpty()) {
+                        // The replayer sends them again once it gets to them
+                        logger.warn("SQS rejected {} audit messages after retry, journaling them", undelivered.size());
+                        spill(undelivered);
+                    }
+                    return null;
+                });
+    }
+
+    private void spill(List<PendingAudit> batch) {
+        List<String> bodies = new ArrayList<>(batch.size());
+        batch.forEach(pending -> bodies.add(pending.body()));
+        try {
+            journal.append(bodies);
+            batch.forEach(pending -> pending.delivered().complete(null));
+        } catch (Exception e) {
+            logger.error("Failed to journal {} audit messages: {}", batch.size(), e.getMessage());
+            AuditDeliveryException error = new AuditDeliveryException("Audit message lost", e);
+            batch.forEach(pending -> pending.delivered().completeExceptionally(error));
+        }
+    }
+
+    private CompletableFuture<List<PendingAudit>> retry(List<PendingAudit> batch, List<Integer> failed) {
+        // Entries rejected inside a batch are usually throttling; retry them once
+        List<PendingAudit> rejected = new ArrayList<>(failed.size());
+        failed.forEach(position -> rejected.add(batch.get(position)));
+        return send(rejected)
+                .thenApply(stillFailed -> {
+                    List<PendingAudit> undelivered = new ArrayList<>(stillFailed.size());
+                    stillFailed.forEach(position -> undelivered.add(rejected.get(position)));
+                    return undelivered;
+                });
+    }
+
+    private CompletableFuture<List<Integer>> send(List<PendingAudit> batch) {
+        List<String> bodies = new ArrayList<>(batch.size());
+        batch.forEach(pending -> bodies.add(pending.body()));
+        try {
+            return sink.send(bodies);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private record PendingAudit(Semaphore permits, String body, CompletableFuture<Void> delivered) {
+    }
+}
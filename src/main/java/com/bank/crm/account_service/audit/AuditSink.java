@@ -0,0 +1,24 @@
+package com.bank.crm.account_service.audit;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Destination for serialized audit messages. The implementation is chosen with
+ * {@code audit.sink}: {@code sqs} (default), {@code sqs-async}, {@code file}
+ * for a local rolling log, or {@code memory} for load tests and benchmarks
+ * that should not depend on a live queue.
+ */
+public interface AuditSink {
+
+    /** SQS accepts at most ten entries per SendMessageBatch call; other sinks use the same limit. */
+    int MAX_BATCH_ENTRIES = 10;
+
+    /**
+     * Send the given bodies, splitting them into batches as needed.
+     *
+     * @return a future of the positions in {@code bodies} that were rejected,
+     *         completed exceptionally if the sink could not be reached
+     */
+    CompletableFuture<List<Integer>> send(List<String> bodies);
+}
@@ -0,0 +1,22 @@
+package com.bank.crm.account_service.audit;
+
+public enum CrudOperation {
+    CREATE("Create"),
+    READ("Read"),
+    UPDATE("Update"),
+    DELETE("Delete");
+
+    private final String value;
+
+    CrudOperation(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public boolean isMutation() {
+        return this != READ;
+    }
+}
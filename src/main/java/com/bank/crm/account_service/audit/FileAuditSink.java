@@ -0,0 +1,125 @@
+package com.bank.crm.account_service.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Appends audit messages to a local newline-delimited JSON file.
+ *
+ * <p>Once {@code audit.sink.file.max-file-bytes} have been written the file is
+ * rolled to {@code audit-<n>.log} and a new one started; only the newest
+ * {@code audit.sink.file.max-files} rolled files are kept.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "file")
+public class FileAuditSink implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileAuditSink.class);
+    private static final String ACTIVE_FILE = "audit.log";
+    private static final String ROLLED_PREFIX = "audit-";
+    private static final String ROLLED_SUFFIX = ".log";
+    private static final Pattern ROLLED_FILE = Pattern.compile("audit-\\d+\\.log");
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private BufferedWriter writer;
+    private long writtenBytes;
+    private long nextRollId;
+
+    public FileAuditSink(@Value("${audit.sink.file.dir:./data/audit-log}") String directory,
+                         @Value("${audit.sink.file.max-file-bytes:67108864}") long maxFileBytes,
+                         @Value("${audit.sink.file.max-files:10}") int maxFiles) {
+        this.directory = Paths.get(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        nextRollId = rolledFiles().stream().mapToLong(FileAuditSink::rollId).max().orElse(0) + 1;
+        openActiveFile();
+        logger.info("Writing audit messages to {}", directory.resolve(ACTIVE_FILE).toAbsolutePath());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    @Override
+    public synchronized CompletableFuture<List<Integer>> send(List<String> bodies) {
+        try {
+            for (String body : bodies) {
+                writer.write(body);
+                writer.newLine();
+                // Bodies are almost always ASCII JSON, so chars are a close enough size estimate
+                writtenBytes += body.length() + 1;
+            }
+            writer.flush();
+            if (writtenBytes >= maxFileBytes) {
+                roll();
+            }
+            return CompletableFuture.completedFuture(List.of());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+        Path rolled = directory.resolve(ROLLED_PREFIX + nextRollId++ + ROLLED_SUFFIX);
+        Files.move(directory.resolve(ACTIVE_FILE), rolled);
+        List<Path> rolledFiles = rolledFiles();
+        for (int i = 0; i < rolledFiles.size() - maxFiles; i++) {
+            Files.deleteIfExists(rolledFiles.get(i));
+        }
+        openActiveFile();
+        logger.debug("Rolled audit log to {}", rolled.getFileName());
+    }
+
+    private void openActiveFile() throws IOException {
+        Path active = directory.resolve(ACTIVE_FILE);
+        writer = Files.newBufferedWriter(active, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writtenBytes = Files.size(active);
+    }
+
+    /**
+     * Rolled files, oldest first.
+     */
+    private List<Path> rolledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> ROLLED_FILE.matcher(file.getFileName().toString()).matches())
+                    .sorted((a, b) -> Long.compare(rollId(a), rollId(b)))
+                    .toList();
+        }
+    }
+
+    private static long rollId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(ROLLED_PREFIX.length(), name.length() - ROLLED_SUFFIX.length()));
+    }
+}
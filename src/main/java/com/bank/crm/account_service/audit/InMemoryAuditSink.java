@@ -0,0 +1,71 @@
+package com.bank.crm.account_service.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent audit messages in a fixed-size ring buffer.
+ *
+ * <p>Writers claim a slot with a single atomic increment and never block, so
+ * load tests see realistic serialization and publishing overhead without a
+ * live queue. Once the buffer wraps, the oldest messages are overwritten.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "memory")
+public class InMemoryAuditSink implements AuditSink {
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public InMemoryAuditSink(@Value("${audit.sink.memory.capacity:65536}") int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("audit.sink.memory.capacity must be between 1 and " + (1 << 30));
+        }
+        // Round up to a power of two so the slot index is a mask, not a division
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = slots.length() - 1;
+    }
+
+    @Override
+    public CompletableFuture<List<Integer>> send(List<String> bodies) {
+        long next = sequence.getAndAdd(bodies.size());
+        for (String body : bodies) {
+            slots.set((int) (next++ & mask), body);
+        }
+        // A fresh future per call: a shared one could be completed or cancelled by any caller
+        return CompletableFuture.completedFuture(List.of());
+    }
+
+    /**
+     * Total number of messages accepted since startup.
+     */
+    public long count() {
+        return sequence.get();
+    }
+
+    /**
+     * The retained messages, oldest first. Messages written concurrently with
+     * this call may or may not be included.
+     */
+    public List<String> recent() {
+        long end = sequence.get();
+        long start = Math.max(0, end - slots.length());
+        List<String> messages = new ArrayList<>((int) (end - start));
+        for (long position = start; position < end; position++) {
+            String body = slots.get((int) (position & mask));
+            if (body != null) {
+                messages.add(body);
+            }
+        }
+        return messages;
+    }
+}
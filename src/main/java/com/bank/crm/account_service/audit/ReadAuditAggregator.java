@@ -0,0 +1,177 @@
+package com.bank.crm.account_service.audit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces read audit events for the same agent and client into one message
+ * per time window, carrying the number of reads and the first and last time
+ * they happened.
+ *
+ * <p>Enabled with {@code audit.read.mode=aggregate}. The default,
+ * {@code exact}, sends one message per read for deployments that must keep
+ * every access. At most {@code audit.read.max-keys} windows are held open;
+ * reads beyond that are sent individually rather than dropped.
+ */
+@Component
+public class ReadAuditAggregator {
+
+    public enum Mode {
+        EXACT,
+        AGGREGATE
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadAuditAggregator.class);
+
+    private final AuditPublisher auditPublisher;
+    private final AuditEventSerializer auditEventSerializer;
+    private final Mode mode;
+    private final Duration window;
+    private final int maxKeys;
+    private final Clock clock;
+    private final ConcurrentHashMap<ReadKey, ReadWindow> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadAuditAggregator(AuditPublisher auditPublisher,
+                               AuditEventSerializer auditEventSerializer,
+                               @Value("${audit.read.mode:exact}") String mode,
+                               @Value("${audit.read.window-ms:60000}") long windowMillis,
+                               @Value("${audit.read.max-keys:100000}") int maxKeys) {
+        this(auditPublisher, auditEventSerializer, Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)),
+                windowMillis, maxKeys, Clock.systemDefaultZone());
+    }
+
+    ReadAuditAggregator(AuditPublisher auditPublisher, AuditEventSerializer auditEventSerializer,
+                        Mode mode, long windowMillis, int maxKeys, Clock clock) {
+        this.auditPublisher = auditPublisher;
+        this.auditEventSerializer = auditEventSerializer;
+        this.mode = mode;
+        this.window = Duration.ofMillis(windowMillis);
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return mode == Mode.AGGREGATE;
+    }
+
+    /**
+     * Add a read event to its window.
+     *
+     * @return a future completed once the aggregated message for the window
+     *         has been accepted by the publisher, or {@code null} if the event
+     *         was not aggregated and must be sent on its own
+     */
+    public CompletableFuture<Void> record(AuditEvent event) {
+        ReadKey key = new ReadKey(event.agentId(), event.clientId());
+        if (windows.size() >= maxKeys && !windows.containsKey(key)) {
+            logger.debug("Read audit aggregation is full, sending read for client {} individually", event.clientId());
+            return null;
+        }
+        return windows.compute(key, (k, current) -> current == null ? new ReadWindow(event) : current.add(event))
+                .delivered;
+    }
+
+    /**
+     * Publish every window that has been open for at least the configured
+     * duration.
+     */
+    @Scheduled(fixedDelayString = "${audit.read.flush-interval-ms:1000}")
+    public void flushExpired() {
+        if (windows.isEmpty()) {
+            return;
+        }
+        flush(LocalDateTime.now(clock).minus(window));
+    }
+
+    /**
+     * Publish all open windows so no reads are lost on shutdown.
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(LocalDateTime.MAX);
+    }
+
+    /**
+     * Number of windows currently open.
+     */
+    public int openWindows() {
+        return windows.size();
+    }
+
+    private void flush(LocalDateTime openedBefore) {
+        List<ReadWindow> expired = new ArrayList<>();
+        for (ReadKey key : windows.keySet()) {
+            // computeIfPresent serializes with record(), so no read is added after removal
+            windows.computeIfPresent(key, (k, current) -> {
+                if (current.first.isAfter(openedBefore)) {
+                    return current;
+                }
+                expired.add(current);
+                return null;
+            });
+        }
+        for (ReadWindow closed : expired) {
+            publish(closed);
+        }
+        if (!expired.isEmpty()) {
+            logger.debug("Flushed {} aggregated read audit messages", expired.size());
+        }
+    }
+
+    private void publish(ReadWindow closed) {
+        try {
+            String json = auditEventSerializer.toJson(closed.last, closed.count, closed.first);
+            auditPublisher.publish(closed.last.agentId(), json).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    closed.delivered.completeExceptionally(error);
+                } else {
+                    closed.delivered.complete(null);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to publish aggregated read audit for client {}: {}",
+                    closed.last.clientId(), e.getMessage(), e);
+            closed.delivered.completeExceptionally(e);
+        }
+    }
+
+    private record ReadKey(String agentId, String clientId) {
+    }
+
+    /**
+     * Mutated only inside {@link ConcurrentHashMap#compute}, which locks the key.
+     */
+    private static final class ReadWindow {
+        private final LocalDateTime first;
+        private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+        private AuditEvent last;
+        private long count;
+
+        private ReadWindow(AuditEvent event) {
+            this.first = event.dateTime();
+            this.last = event;
+            this.count = 1;
+        }
+
+        private ReadWindow add(AuditEvent event) {
+            last = event;
+            count++;
+            return this;
+        }
+    }
+}
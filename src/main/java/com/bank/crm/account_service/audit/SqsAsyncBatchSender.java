@@ -0,0 +1,47 @@
+package com.bank.crm.account_service.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends audit messages with the non-blocking {@link SqsAsyncClient}. All batches
+ * are issued at once and the returned future completes on the SDK's event loop,
+ * so no application thread waits on the network.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "sqs-async")
+public class SqsAsyncBatchSender implements AuditSink {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final String queueUrl;
+
+    public SqsAsyncBatchSender(SqsAsyncClient sqsAsyncClient,
+                               @Value("${aws.sqs.logging-queue-url}") String queueUrl) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    public CompletableFuture<List<Integer>> send(List<String> bodies) {
+        List<CompletableFuture<List<Integer>>> chunks = new ArrayList<>();
+        for (int from = 0; from < bodies.size(); from += MAX_BATCH_ENTRIES) {
+            int offset = from;
+            List<String> chunk = bodies.subList(from, Math.min(from + MAX_BATCH_ENTRIES, bodies.size()));
+            chunks.add(sqsAsyncClient.sendMessageBatch(SqsBatchEntries.request(queueUrl, chunk))
+                    .thenApply(response -> SqsBatchEntries.failedPositions(response, offset)));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<Integer> failed = new ArrayList<>();
+                    chunks.forEach(chunk -> failed.addAll(chunk.join()));
+                    return failed;
+                });
+    }
+}
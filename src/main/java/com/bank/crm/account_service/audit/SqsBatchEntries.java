@@ -0,0 +1,47 @@
+package com.bank.crm.account_service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request and response mapping shared by the SQS transports. Entry IDs are the
+ * body's offset within its chunk, so failures map back to their positions.
+ */
+final class SqsBatchEntries {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqsBatchEntries.class);
+
+    private SqsBatchEntries() {
+    }
+
+    static SendMessageBatchRequest request(String queueUrl, List<String> chunk) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .messageBody(chunk.get(i))
+                    .build());
+        }
+        return SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build();
+    }
+
+    static List<Integer> failedPositions(SendMessageBatchResponse response, int chunkOffset) {
+        List<Integer> failed = new ArrayList<>(response.failed().size());
+        for (BatchResultErrorEntry error : response.failed()) {
+            logger.warn("SQS rejected audit message in batch. Code: {}, Reason: {}",
+                    error.code(), error.message());
+            failed.add(chunkOffset + Integer.parseInt(error.id()));
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.crm.account_service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends audit messages with the blocking {@link SqsClient}. The calling thread
+ * waits for every SendMessageBatch round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "sqs", matchIfMissing = true)
+public class SqsBatchSender implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqsBatchSender.class);
+
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+
+    public SqsBatchSender(SqsClient sqsClient,
+                          @Value("${aws.sqs.logging-queue-url}") String queueUrl) {
+        this.sqsClient = sqsClient;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    public CompletableFuture<List<Integer>> send(List<String> bodies) {
+        try {
+            return CompletableFuture.completedFuture(sendBlocking(bodies));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<Integer> sendBlocking(List<String> bodies) {
+        List<Integer> failed = new ArrayList<>();
+        for (int from = 0; from < bodies.size(); from += MAX_BATCH_ENTRIES) {
+            List<String> chunk = bodies.subList(from, Math.min(from + MAX_BATCH_ENTRIES, bodies.size()));
+            SendMessageBatchResponse response = sqsClient.sendMessageBatch(SqsBatchEntries.request(queueUrl, chunk));
+            failed.addAll(SqsBatchEntries.failedPositions(response, from));
+            logger.debug("Sent {} audit messages to SQS queue: {}", chunk.size(), queueUrl);
+        }
+        return failed;
+    }
+}
@@ -2,29 +2,84 @@ package com.bank.crm.account_service.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
 
 @Configuration
 public class AwsConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AwsConfig.class);
 
+    @Value("${aws.region:ap-southeast-1}")
+    private String region;
+
+    /** Optional endpoint override, e.g. a local ElasticMQ or LocalStack instance */
+    @Value("${aws.sqs.endpoint:}")
+    private String endpoint;
+
     @Bean
+    @ConditionalOnProperty(name = "audit.sink", havingValue = "sqs", matchIfMissing = true)
     public SqsClient sqsClient() {
         try {
-            SqsClient client = SqsClient.builder()
-                    .region(Region.AP_SOUTHEAST_1)
-                    .credentialsProvider(DefaultCredentialsProvider.create())
-                    .build();
-            logger.info("SqsClient initialized successfully for region: ap-southeast-1");
+            SqsClientBuilder builder = SqsClient.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(DefaultCredentialsProvider.create());
+            if (StringUtils.hasText(endpoint)) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            SqsClient client = builder.build();
+            logger.info("SqsClient initialized successfully for region: {}", region);
             return client;
         } catch (Exception e) {
             logger.error("Failed to initialize SqsClient: {}", e.getMessage(), e);
             throw e;
         }
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "audit.sink", havingValue = "sqs-async")
+    public SqsAsyncClient sqsAsyncClient(
+            @Value("${aws.sqs.async.max-concurrency:50}") int maxConcurrency,
+            @Value("${aws.sqs.async.max-pending-connection-acquires:10000}") int maxPendingAcquires,
+            @Value("${aws.sqs.async.connection-acquisition-timeout-ms:5000}") long acquisitionTimeoutMillis,
+            @Value("${aws.sqs.async.connection-max-idle-ms:60000}") long maxIdleMillis,
+            @Value("${aws.sqs.async.tcp-keep-alive:true}") boolean tcpKeepAlive) {
+        try {
+            // maxConcurrency is also the connection pool size for HTTP/1.1
+            NettyNioAsyncHttpClient.Builder httpClient = NettyNioAsyncHttpClient.builder()
+                    .maxConcurrency(maxConcurrency)
+                    .maxPendingConnectionAcquires(maxPendingAcquires)
+                    .connectionAcquisitionTimeout(Duration.ofMillis(acquisitionTimeoutMillis))
+                    .connectionMaxIdleTime(Duration.ofMillis(maxIdleMillis))
+                    .tcpKeepAlive(tcpKeepAlive);
+
+            SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(DefaultCredentialsProvider.create())
+                    .httpClientBuilder(httpClient);
+            if (StringUtils.hasText(endpoint)) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            SqsAsyncClient client = builder.build();
+            logger.info("SqsAsyncClient initialized successfully for region: {} with max concurrency {}",
+                    region, maxConcurrency);
+            return client;
+        } catch (Exception e) {
+            logger.error("Failed to initialize SqsAsyncClient: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
 }
@@ -1,21 +1,57 @@
 package com.bank.crm.account_service.controller;
 
+import com.bank.crm.account_service.dto.AccountImportResponse;
+import com.bank.crm.account_service.dto.AccountPageResponse;
 import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.dto.AccountSummaryResponse;
+import com.bank.crm.account_service.dto.AnalyticsQueryRequest;
+import com.bank.crm.account_service.dto.AnalyticsQueryResponse;
+import com.bank.crm.account_service.dto.BatchGetRequest;
+import com.bank.crm.account_service.dto.BatchGetResponse;
+import com.bank.crm.account_service.dto.BulkCreateResponse;
+import com.bank.crm.account_service.dto.BulkStatusChangeRequest;
+import com.bank.crm.account_service.dto.BulkStatusChangeResponse;
 import com.bank.crm.account_service.dto.CreateAccountRequest;
 import com.bank.crm.account_service.dto.UpdateAccountRequest;
 import com.bank.crm.account_service.exception.AccountNotFoundException;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.service.AccountAnalyticsEngine;
+import com.bank.crm.account_service.service.AccountBulkService;
+import com.bank.crm.account_service.service.AccountCreateCoalescer;
+import com.bank.crm.account_service.service.AccountExportFilter;
+import com.bank.crm.account_service.service.AccountExportService;
+import com.bank.crm.account_service.service.AccountImportService;
+import com.bank.crm.account_service.service.AccountSearchCriteria;
+import com.bank.crm.account_service.service.AccountSearchService;
+import com.bank.crm.account_service.service.AccountSummaryService;
 import com.bank.crm.account_service.service.AccountService;
+import com.bank.crm.account_service.service.ExportFormat;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/accounts")
@@ -23,10 +59,32 @@ import java.util.UUID;
 public class AccountController {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountController.class);
+    private static final String EXPORT_INTERCEPTOR_KEY = AccountController.class.getName() + ".export";
 
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AccountExportService accountExportService;
+
+    @Autowired
+    private AccountSearchService accountSearchService;
+
+    @Autowired
+    private AccountSummaryService accountSummaryService;
+
+    @Autowired
+    private AccountAnalyticsEngine accountAnalyticsEngine;
+
+    @Autowired
+    private AccountBulkService accountBulkService;
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private AccountCreateCoalescer accountCreateCoalescer;
+
     /**
      * Create Account - POST /accounts
      */
@@ -37,7 +95,10 @@ public class AccountController {
         try {
             logger.info("Received request to create account for client: {} by user: {}", request.getClientId(), userId);
 
-            AccountResponse response = accountService.createAccount(request, userId);
+            // Decided before entering AccountService, whose methods run in a transaction by default
+            AccountResponse response = accountCreateCoalescer.isEnabled()
+                    ? accountService.createAccountGroupCommit(request, userId)
+                    : accountService.createAccount(request, userId);
             logger.info("Account created successfully with ID: {}", response.getId());
             return new ResponseEntity<>(response, HttpStatus.CREATED);
 
@@ -50,6 +111,88 @@ public class AccountController {
         }
     }
 
+    /**
+     * Bulk Create Accounts - POST /accounts/bulk
+     * Returns 201 when every account was created, otherwise 207 with per-item results.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResponse> createAccounts(
+            @RequestBody List<CreateAccountRequest> requests,
+            @RequestParam String userId) {
+        try {
+            logger.info("Received request to bulk create {} accounts by user: {}",
+                    requests == null ? 0 : requests.size(), userId);
+
+            BulkCreateResponse response = accountBulkService.createAccounts(requests, userId);
+            logger.info("Bulk create finished with {} created, {} invalid and {} failed",
+                    response.getCreated(), response.getInvalid(), response.getFailed());
+            HttpStatus status = response.getCreated() == response.getResults().size()
+                    ? HttpStatus.CREATED
+                    : HttpStatus.MULTI_STATUS;
+            return new ResponseEntity<>(response, status);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid bulk create request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Unexpected error in bulk create: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to bulk create accounts", e);
+        }
+    }
+
+    /**
+     * Bulk Status Change - POST /accounts/bulk/status
+     * Moves every account matching the filter to the new status. Returns 200 when
+     * all were moved, otherwise 207 with the count moved before a chunk failed.
+     */
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkStatusChangeResponse> changeStatus(
+            @Valid @RequestBody BulkStatusChangeRequest request,
+            @RequestParam String userId) {
+        try {
+            logger.info("Received request to move accounts to status {} by user: {}", request.getNewStatus(), userId);
+
+            BulkStatusChangeResponse response = accountBulkService.changeStatus(request, userId);
+            logger.info("Bulk status change moved {} accounts", response.getUpdated());
+            HttpStatus status = response.getError() == null ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+            return new ResponseEntity<>(response, status);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid bulk status change: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Unexpected error in bulk status change: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to change account status", e);
+        }
+    }
+
+    /**
+     * Import Accounts - POST /accounts/import
+     * Streams a CSV file into the database. Returns 201 when every row was imported,
+     * otherwise 207 with the rejected rows.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<AccountImportResponse> importAccounts(
+            InputStream csv,
+            @RequestParam String userId) {
+        try {
+            logger.info("Received request to import accounts from CSV by user: {}", userId);
+
+            AccountImportResponse response = accountImportService.importCsv(csv, userId);
+            logger.info("Account import finished with {} imported and {} rejected",
+                    response.getImported(), response.getRejected());
+            HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return new ResponseEntity<>(response, status);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid account import: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Unexpected error importing accounts: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to import accounts", e);
+        }
+    }
+
     /**
      * Delete Account - DELETE /accounts/{accountId}
      */
@@ -95,23 +238,177 @@ public class AccountController {
     }
 
     /**
-     * Get All Accounts - GET /accounts
+     * List Accounts - GET /accounts?cursor=&limit=&direction=asc|desc
      */
     @GetMapping
-    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
+    public ResponseEntity<AccountPageResponse> getAccounts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${accounts.page.default-size:50}") int limit,
+            @RequestParam(defaultValue = "asc") String direction) {
         try {
-            logger.info("Received request to get all accounts");
+            logger.info("Received request to list accounts with limit: {}", limit);
 
-            List<AccountResponse> accounts = accountService.getAllAccounts();
-            logger.info("Retrieved {} total accounts", accounts.size());
-            return new ResponseEntity<>(accounts, HttpStatus.OK);
+            AccountPageResponse page = accountService.getAccounts(cursor, limit, Sort.Direction.fromString(direction));
+            logger.info("Retrieved {} accounts", page.getItems().size());
+            return new ResponseEntity<>(page, HttpStatus.OK);
 
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
-            logger.error("Unexpected error retrieving all accounts: {}", e.getMessage(), e);
+            logger.error("Unexpected error retrieving accounts: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve accounts", e);
         }
     }
 
+    /**
+     * Account Summary - GET /accounts/summary?branchId=&currency=
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<AccountSummaryResponse>> getAccountSummary(
+            @RequestParam(required = false) Integer branchId,
+            @RequestParam(required = false) String currency) {
+        try {
+            logger.info("Received request for account summary with branch ID: {} and currency: {}", branchId, currency);
+
+            List<AccountSummaryResponse> summary = accountSummaryService.summarize(branchId, currency);
+            logger.info("Returning {} account summary groups", summary.size());
+            return new ResponseEntity<>(summary, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Unexpected error retrieving account summary: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve account summary", e);
+        }
+    }
+
+    /**
+     * Account Analytics - POST /accounts/analytics
+     */
+    @PostMapping("/analytics")
+    public ResponseEntity<AnalyticsQueryResponse> queryAnalytics(@RequestBody AnalyticsQueryRequest request) {
+        try {
+            logger.info("Received analytics query: {}", request);
+
+            if (!accountAnalyticsEngine.ready()) {
+                logger.warn("Analytics query rejected: analytics are {}",
+                        accountAnalyticsEngine.isEnabled() ? "still loading" : "disabled");
+                return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            AnalyticsQueryResponse response = accountAnalyticsEngine.query(request);
+            logger.info("Analytics query matched {} accounts in {} groups",
+                    response.getAccountCount(), response.getGroups().size());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid analytics query: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Unexpected error running analytics query: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to run analytics query", e);
+        }
+    }
+
+    /**
+     * Search Accounts - GET /accounts/search?branchId=&status=&type=&currency=&openedFrom=&openedTo=&cursor=&limit=&direction=
+     */
+    @GetMapping("/search")
+    public ResponseEntity<AccountPageResponse> searchAccounts(
+            @RequestParam(required = false) Integer branchId,
+            @RequestParam(required = false) AccountStatus status,
+            @RequestParam(required = false) AccountType type,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${accounts.page.default-size:50}") int limit,
+            @RequestParam(defaultValue = "asc") String direction) {
+        try {
+            AccountSearchCriteria criteria = new AccountSearchCriteria(branchId, status, type, currency, openedFrom, openedTo);
+            logger.info("Received request to search accounts with {}", criteria);
+
+            AccountPageResponse page = accountSearchService.search(criteria, cursor, limit, Sort.Direction.fromString(direction));
+            logger.info("Search returned {} accounts", page.getItems().size());
+            return new ResponseEntity<>(page, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid search request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Unexpected error searching accounts: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to search accounts", e);
+        }
+    }
+
+    /**
+     * Batch Get Accounts - POST /accounts/batch-get
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse> batchGet(
+            @RequestBody BatchGetRequest request,
+            @RequestParam String userId) {
+        try {
+            logger.info("Received batch get request by user: {}", userId);
+
+            BatchGetResponse response = accountService.batchGet(request, userId);
+            logger.info("Batch get returned {} accounts and {} clients",
+                    response.getAccounts().size(), response.getClients().size());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid batch get request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Unexpected error in batch get: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to batch get accounts", e);
+        }
+    }
+
+    /**
+     * Export Accounts - GET /accounts/export?format=ndjson|csv&branchId=&status=&openedFrom=&openedTo=
+     * Returns 429 when the maximum number of exports is already running.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Integer branchId,
+            @RequestParam(required = false) AccountStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openedTo,
+            HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        AccountExportFilter filter = new AccountExportFilter(branchId, status, openedFrom, openedTo);
+        logger.info("Received request to export accounts as {} with filter {}", exportFormat, filter);
+
+        if (!accountExportService.tryStartExport()) {
+            logger.warn("Rejected export as {}: too many exports running", exportFormat);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        // Only this request gets the long timeout; the slot is returned however the request ends
+        long timeoutMillis = accountExportService.getTimeoutMillis();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        if (asyncRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeoutMillis);
+                        }
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest asyncRequest, Callable<T> task) {
+                        accountExportService.finishExport();
+                    }
+                });
+
+        // The body is written after this method returns, inside the export transaction
+        StreamingResponseBody body = out -> accountExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"accounts." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .body(body);
+    }
+
     /**
      * Get Account by ID - GET /accounts/{accountId}
      */
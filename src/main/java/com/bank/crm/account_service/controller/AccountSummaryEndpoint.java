@@ -0,0 +1,28 @@
+package com.bank.crm.account_service.controller;
+
+import com.bank.crm.account_service.service.AccountSummaryService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint that recomputes the account summary table from the
+ * account table - POST /actuator/accountsummary
+ */
+@Component
+@Endpoint(id = "accountsummary")
+public class AccountSummaryEndpoint {
+
+    private final AccountSummaryService accountSummaryService;
+
+    public AccountSummaryEndpoint(AccountSummaryService accountSummaryService) {
+        this.accountSummaryService = accountSummaryService;
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("groups", accountSummaryService.rebuild());
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.crm.account_service.controller;
+
+import com.bank.crm.account_service.service.HotKeySketch;
+import com.bank.crm.account_service.service.HotKeyTracker;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the most read accounts and clients -
+ * GET /actuator/hotkeys
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public Map<String, List<HotKeySketch.HotKey>> hotKeys() {
+        Map<String, List<HotKeySketch.HotKey>> hotKeys = new LinkedHashMap<>();
+        hotKeys.put("accounts", hotKeyTracker.topAccounts());
+        hotKeys.put("clients", hotKeyTracker.topClients());
+        return hotKeys;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of a CSV import and its rejected rows in file order. Only the
+ * first {@code accounts.import.max-reported-rejections} rows are listed;
+ * {@code rejected} counts all of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportResponse {
+
+    private long imported;
+    private long rejected;
+    private List<ImportRejection> rejections;
+}
@@ -0,0 +1,18 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of accounts. {@code nextCursor} is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPageResponse {
+
+    private List<AccountResponse> items;
+    private String nextCursor;
+}
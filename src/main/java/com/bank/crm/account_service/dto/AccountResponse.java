@@ -1,5 +1,6 @@
 package com.bank.crm.account_service.dto;
 
+import com.bank.crm.account_service.model.Account;
 import com.bank.crm.account_service.model.AccountType;
 import com.bank.crm.account_service.model.AccountStatus;
 import java.math.BigDecimal;
@@ -22,4 +23,17 @@ public class AccountResponse {
     private BigDecimal initialDeposit;
     private String currency;
     private Integer branchId;
+
+    public static AccountResponse from(Account account) {
+        return new AccountResponse(
+            account.getId(),
+            account.getClientId(),
+            account.getAccType(),
+            account.getAccStatus(),
+            account.getOpeningDate(),
+            account.getInitialDeposit(),
+            account.getCurrency(),
+            account.getBranchId()
+        );
+    }
 }
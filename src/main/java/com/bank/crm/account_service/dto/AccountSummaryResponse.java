@@ -0,0 +1,36 @@
+package com.bank.crm.account_service.dto;
+
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountSummary;
+import com.bank.crm.account_service.model.AccountType;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Account count and total initial deposit for one branch, currency, type and status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSummaryResponse {
+
+    private Integer branchId;
+    private String currency;
+    private AccountType accType;
+    private AccountStatus accStatus;
+    private long accountCount;
+    private BigDecimal totalDeposit;
+
+    public static AccountSummaryResponse from(AccountSummary summary) {
+        return new AccountSummaryResponse(
+                summary.getId().getBranchId(),
+                summary.getId().getCurrency(),
+                summary.getId().getAccType(),
+                summary.getId().getAccStatus(),
+                summary.getAccountCount(),
+                summary.getTotalDeposit()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.crm.account_service.dto;
+
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.service.AnalyticsDimension;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters and grouping for an analytics count. An omitted or empty filter
+ * list matches every value; values within one list are alternatives. The
+ * opening-date range includes {@code openedFrom} and excludes {@code openedTo}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsQueryRequest {
+
+    private List<AccountType> types;
+    private List<AccountStatus> statuses;
+    private List<String> currencies;
+    private List<Integer> branchIds;
+    private LocalDateTime openedFrom;
+    private LocalDateTime openedTo;
+    private List<AnalyticsDimension> groupBy;
+}
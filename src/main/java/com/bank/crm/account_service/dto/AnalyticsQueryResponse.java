@@ -0,0 +1,34 @@
+package com.bank.crm.account_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Matching account count and deposit total, overall and per group. Figures
+ * are as of {@code asOf}, when the analytics snapshot was loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsQueryResponse {
+
+    private long accountCount;
+    private BigDecimal totalDeposit;
+    private List<Group> groups;
+    private LocalDateTime asOf;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        private Map<String, Object> key;
+        private long accountCount;
+        private BigDecimal totalDeposit;
+    }
+}
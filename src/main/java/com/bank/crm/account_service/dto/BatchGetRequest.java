@@ -0,0 +1,20 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Account IDs and/or client IDs to resolve in one call. Either list may be
+ * omitted; duplicates are ignored.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    private List<UUID> accountIds;
+    private List<UUID> clientIds;
+}
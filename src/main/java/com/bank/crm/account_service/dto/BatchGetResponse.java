@@ -0,0 +1,23 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Batch lookup results keyed by the requested IDs. Requested accounts that
+ * do not exist are listed in {@code notFoundAccountIds}; a client without
+ * accounts maps to an empty list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse {
+
+    private Map<UUID, AccountResponse> accounts;
+    private Map<UUID, List<AccountResponse>> clients;
+    private List<UUID> notFoundAccountIds;
+}
@@ -0,0 +1,20 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals and per-item results of a bulk create, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResponse {
+
+    private int created;
+    private int invalid;
+    private int failed;
+    private List<BulkCreateResult> results;
+}
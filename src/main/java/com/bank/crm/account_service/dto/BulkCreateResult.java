@@ -0,0 +1,29 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome for one item of a bulk create, identified by its position in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResult {
+
+    public enum Status {
+        CREATED,
+        // Failed validation; nothing was written for this item
+        INVALID,
+        // Valid, but the chunk it was written in rolled back
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private UUID accountId;
+    private List<String> errors;
+}
@@ -0,0 +1,28 @@
+package com.bank.crm.account_service.dto;
+
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Moves every account matching the filter to {@code newStatus}. At least
+ * one of {@code clientId} and {@code branchId} is required; the other
+ * filters are optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeRequest {
+
+    private UUID clientId;
+    private Integer branchId;
+    private AccountStatus currentStatus;
+    private AccountType accType;
+
+    @NotNull(message = "New status is required")
+    private AccountStatus newStatus;
+}
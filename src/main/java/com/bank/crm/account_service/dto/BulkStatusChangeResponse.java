@@ -0,0 +1,22 @@
+package com.bank.crm.account_service.dto;
+
+import com.bank.crm.account_service.model.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How many accounts a bulk status change moved, and in how many committed chunks.
+ * {@code error} is set when a chunk failed; the committed chunks stay applied and
+ * repeating the request moves the accounts that still match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeResponse {
+
+    private long updated;
+    private int chunks;
+    private AccountStatus newStatus;
+    private String error;
+}
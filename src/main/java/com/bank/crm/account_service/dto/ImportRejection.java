@@ -0,0 +1,18 @@
+package com.bank.crm.account_service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A CSV row that was not imported, numbered from 1 after the header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejection {
+
+    private long row;
+    private List<String> errors;
+}
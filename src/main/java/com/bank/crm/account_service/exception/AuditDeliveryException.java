@@ -0,0 +1,12 @@
+package com.bank.crm.account_service.exception;
+
+public class AuditDeliveryException extends RuntimeException {
+
+    public AuditDeliveryException(String message) {
+        super(message);
+    }
+
+    public AuditDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -7,6 +7,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -14,7 +16,17 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "account")
+@Table(name = "account", indexes = {
+    @Index(name = "idx_account_opening_date_id", columnList = "opening_date, account_id"),
+    @Index(name = "idx_account_last_modified", columnList = "last_modified"),
+    @Index(name = "idx_account_client_id", columnList = "client_id"),
+    // Search indexes; db-init/init.sql also INCLUDEs the remaining filter columns so
+    // key lookups are index-only
+    @Index(name = "idx_account_search_branch",
+            columnList = "branch_id, account_status, account_type, opening_date, account_id"),
+    @Index(name = "idx_account_search_status",
+            columnList = "account_status, account_type, opening_date, account_id")
+})
 public class Account {
 
     @Id
@@ -55,6 +67,11 @@ public class Account {
     @Positive(message = "Branch ID must be positive")
     private Integer branchId;
 
+    // Database time of the last insert or update; warm restarts catch up from it
+    @CurrentTimestamp(source = SourceType.DB)
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
     public Account(UUID clientId, AccountType accType, AccountStatus accStatus,
                   LocalDateTime openingDate, BigDecimal initialDeposit,
                   String currency, Integer branchId) {
@@ -0,0 +1,30 @@
+package com.bank.crm.account_service.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of accounts and sum of initial deposits for one branch, currency,
+ * type and status. Rows are adjusted by deltas in the same transaction as
+ * the account change, so they are never ahead of or behind the account table.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "account_summary")
+public class AccountSummary {
+
+    @EmbeddedId
+    private AccountSummaryKey id;
+
+    @Column(name = "account_count", nullable = false)
+    private long accountCount;
+
+    @Column(name = "total_deposit", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDeposit;
+}
@@ -0,0 +1,52 @@
+package com.bank.crm.account_service.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The group an account is counted in by {@link AccountSummary}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class AccountSummaryKey implements Serializable, Comparable<AccountSummaryKey> {
+
+    @Column(name = "branch_id", nullable = false)
+    private Integer branchId;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false)
+    private AccountType accType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_status", nullable = false)
+    private AccountStatus accStatus;
+
+    public static AccountSummaryKey of(Account account) {
+        return new AccountSummaryKey(account.getBranchId(), account.getCurrency(),
+                account.getAccType(), account.getAccStatus());
+    }
+
+    @Override
+    public int compareTo(AccountSummaryKey other) {
+        int order = Integer.compare(branchId, other.branchId);
+        if (order == 0) {
+            order = currency.compareTo(other.currency);
+        }
+        if (order == 0) {
+            order = accType.compareTo(other.accType);
+        }
+        if (order == 0) {
+            order = accStatus.compareTo(other.accStatus);
+        }
+        return order;
+    }
+}
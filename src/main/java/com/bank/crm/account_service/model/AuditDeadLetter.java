@@ -0,0 +1,35 @@
+package com.bank.crm.account_service.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An audit outbox entry SQS kept rejecting, set aside after
+ * {@code audit.outbox.max-attempts} so it no longer blocks the relay. Rows
+ * keep their outbox ID and are left for an operator to inspect and resend.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "audit_dead_letter")
+public class AuditDeadLetter {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "dead_lettered_at", nullable = false)
+    private LocalDateTime deadLetteredAt;
+}
@@ -0,0 +1,42 @@
+package com.bank.crm.account_service.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An audit message waiting to be relayed to SQS. Rows are written in the same
+ * transaction as the account mutation they describe.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "audit_outbox")
+public class AuditOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Times SQS rejected the entry; it moves to audit_dead_letter at audit.outbox.max-attempts
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Set while a relay is sending the entry; an expired claim is picked up again
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    public AuditOutboxEntry(String payload) {
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
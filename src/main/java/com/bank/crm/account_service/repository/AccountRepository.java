@@ -1,10 +1,24 @@
 package com.bank.crm.account_service.repository;
 
 import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, UUID> {
@@ -14,8 +28,107 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
      */
     List<Account> findByClientId(UUID clientId);
 
+    /**
+     * Find all accounts of any of the given clients
+     */
+    List<Account> findByClientIdIn(Collection<UUID> clientIds);
+
+    /**
+     * Find an account and lock its row until the transaction ends
+     * ({@code SELECT ... FOR UPDATE}), for changes that depend on its
+     * current state
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") UUID id);
+
     /**
      * Check if account exists by ID
      */
     boolean existsById(UUID id);
+
+    /**
+     * Stream every account ID, selecting only the primary key. Callers must
+     * consume it inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT a.id FROM Account a")
+    Stream<UUID> streamAllIds();
+
+    /**
+     * Stream every account in table order, for loading in-memory read models.
+     * Callers must consume it inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a FROM Account a")
+    Stream<Account> streamAll();
+
+    /**
+     * Stream every account in (opening date, ID) order, walking the keyset
+     * pagination index. Callers must consume it inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a FROM Account a ORDER BY a.openingDate, a.id")
+    Stream<Account> streamAllByOpeningDate();
+
+    /**
+     * Keys of accounts inserted or updated after the given database time
+     */
+    @Query("SELECT a.id AS id, a.clientId AS clientId FROM Account a WHERE a.lastModified > :since")
+    List<AccountKey> findKeysModifiedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * The subset of the given IDs that still exist
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * First page of accounts. Returns a list rather than a Page so no count query runs.
+     */
+    @Query("SELECT a FROM Account a")
+    List<Account> findPage(Pageable pageable);
+
+    /**
+     * Accounts after the given (opening date, ID) position, for ascending pages.
+     * The row comparison lets the (opening_date, account_id) index seek straight to it.
+     */
+    @Query("SELECT a FROM Account a WHERE (a.openingDate, a.id) > (:openingDate, :id)")
+    List<Account> findPageAfter(@Param("openingDate") LocalDateTime openingDate,
+                                @Param("id") UUID id,
+                                Pageable pageable);
+
+    /**
+     * Accounts before the given (opening date, ID) position, for descending pages
+     */
+    @Query("SELECT a FROM Account a WHERE (a.openingDate, a.id) < (:openingDate, :id)")
+    List<Account> findPageBefore(@Param("openingDate") LocalDateTime openingDate,
+                                 @Param("id") UUID id,
+                                 Pageable pageable);
+
+    /**
+     * Stream accounts matching the optional filters, ordered by opening date.
+     * The fetch size makes the driver read through a server-side cursor instead
+     * of buffering the whole result; callers must consume it inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Account a"
+            + " WHERE (:branchId IS NULL OR a.branchId = :branchId)"
+            + " AND (:status IS NULL OR a.accStatus = :status)"
+            + " AND (:openedFrom IS NULL OR a.openingDate >= :openedFrom)"
+            + " AND (:openedTo IS NULL OR a.openingDate < :openedTo)"
+            + " ORDER BY a.openingDate, a.id")
+    Stream<Account> streamForExport(@Param("branchId") Integer branchId,
+                                    @Param("status") AccountStatus status,
+                                    @Param("openedFrom") LocalDateTime openedFrom,
+                                    @Param("openedTo") LocalDateTime openedTo);
+
+    /**
+     * Account and client ID of one account
+     */
+    interface AccountKey {
+        UUID getId();
+
+        UUID getClientId();
+    }
 }
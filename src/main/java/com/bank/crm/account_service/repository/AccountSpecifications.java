@@ -0,0 +1,64 @@
+package com.bank.crm.account_service.repository;
+
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Composable account filters. Each factory returns null for a null argument,
+ * which {@link Specification#and} treats as "no restriction".
+ */
+public final class AccountSpecifications {
+
+    private AccountSpecifications() {
+    }
+
+    public static Specification<Account> inBranch(Integer branchId) {
+        return branchId == null ? null : (root, query, cb) -> cb.equal(root.get("branchId"), branchId);
+    }
+
+    public static Specification<Account> hasStatus(AccountStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("accStatus"), status);
+    }
+
+    public static Specification<Account> hasType(AccountType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("accType"), type);
+    }
+
+    public static Specification<Account> hasCurrency(String currency) {
+        return currency == null ? null : (root, query, cb) -> cb.equal(root.get("currency"), currency);
+    }
+
+    public static Specification<Account> openedFrom(LocalDateTime from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("openingDate"), from);
+    }
+
+    public static Specification<Account> openedBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.<LocalDateTime>get("openingDate"), to);
+    }
+
+    /**
+     * Accounts strictly after (ascending) or before (descending) the given
+     * (opening date, account ID) position. The redundant bound on the opening
+     * date alone lets the planner range-scan the search indexes; the OR form
+     * on its own cannot bound the scan.
+     */
+    public static Specification<Account> beyond(LocalDateTime openingDate, UUID id, boolean ascending) {
+        return (root, query, cb) -> {
+            var date = root.<LocalDateTime>get("openingDate");
+            var accountId = root.<UUID>get("id");
+            return ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(date, openingDate),
+                            cb.or(cb.greaterThan(date, openingDate),
+                                    cb.and(cb.equal(date, openingDate), cb.greaterThan(accountId, id))))
+                    : cb.and(cb.lessThanOrEqualTo(date, openingDate),
+                            cb.or(cb.lessThan(date, openingDate),
+                                    cb.and(cb.equal(date, openingDate), cb.lessThan(accountId, id))));
+        };
+    }
+}
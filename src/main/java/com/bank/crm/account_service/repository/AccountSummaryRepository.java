@@ -0,0 +1,69 @@
+package com.bank.crm.account_service.repository;
+
+import com.bank.crm.account_service.model.AccountSummary;
+import com.bank.crm.account_service.model.AccountSummaryKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountSummaryRepository extends JpaRepository<AccountSummary, AccountSummaryKey> {
+
+    /**
+     * Add a delta to one group, creating its row on first use. Takes a row
+     * lock on the group until the transaction ends.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_summary"
+            + " (branch_id, currency, account_type, account_status, account_count, total_deposit)"
+            + " VALUES (:branchId, :currency, :accType, :accStatus, :countDelta, :depositDelta)"
+            + " ON CONFLICT (branch_id, currency, account_type, account_status) DO UPDATE"
+            + " SET account_count = account_summary.account_count + EXCLUDED.account_count,"
+            + " total_deposit = account_summary.total_deposit + EXCLUDED.total_deposit",
+            nativeQuery = true)
+    int applyDelta(@Param("branchId") int branchId,
+                   @Param("currency") String currency,
+                   @Param("accType") String accType,
+                   @Param("accStatus") String accStatus,
+                   @Param("countDelta") long countDelta,
+                   @Param("depositDelta") BigDecimal depositDelta);
+
+    /**
+     * Non-empty groups matching the optional filters
+     */
+    @Query("SELECT s FROM AccountSummary s"
+            + " WHERE s.accountCount > 0"
+            + " AND (:branchId IS NULL OR s.id.branchId = :branchId)"
+            + " AND (:currency IS NULL OR s.id.currency = :currency)"
+            + " ORDER BY s.id.branchId, s.id.currency, s.id.accType, s.id.accStatus")
+    List<AccountSummary> findGroups(@Param("branchId") Integer branchId,
+                                    @Param("currency") String currency);
+
+    /**
+     * Block summary writers until the current transaction ends
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE account_summary IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM account_summary", nativeQuery = true)
+    int deleteAllGroups();
+
+    /**
+     * Recompute every group from the account table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_summary"
+            + " (branch_id, currency, account_type, account_status, account_count, total_deposit)"
+            + " SELECT branch_id, currency, CAST(account_type AS VARCHAR), CAST(account_status AS VARCHAR),"
+            + " COUNT(*), SUM(initial_deposit)"
+            + " FROM account GROUP BY branch_id, currency, account_type, account_status",
+            nativeQuery = true)
+    int insertGroupsFromAccounts();
+}
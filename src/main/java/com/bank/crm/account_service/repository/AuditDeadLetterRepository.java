@@ -0,0 +1,24 @@
+package com.bank.crm.account_service.repository;
+
+import com.bank.crm.account_service.model.AuditDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+
+@Repository
+public interface AuditDeadLetterRepository extends JpaRepository<AuditDeadLetter, Long> {
+
+    /**
+     * Copy outbox entries into the dead-letter table, counting the rejection
+     * that sent them there; the caller deletes them from the outbox in the
+     * same transaction
+     */
+    @Modifying
+    @Query(value = "INSERT INTO audit_dead_letter (id, payload, created_at, attempts, dead_lettered_at)"
+            + " SELECT id, payload, created_at, attempts + 1, now() FROM audit_outbox WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyFromOutbox(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,54 @@
+package com.bank.crm.account_service.repository;
+
+import com.bank.crm.account_service.model.AuditOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AuditOutboxRepository extends JpaRepository<AuditOutboxEntry, Long> {
+
+    /**
+     * Lock the oldest unclaimed entries, skipping rows another relay already holds
+     */
+    @Query(value = "SELECT * FROM audit_outbox WHERE claimed_until IS NULL OR claimed_until < now()"
+            + " ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<AuditOutboxEntry> lockNextBatch(@Param("limit") int limit);
+
+    /**
+     * Claim entries for {@code leaseMillis}; other relays skip them until the
+     * lease runs out
+     */
+    @Modifying
+    @Query(value = "UPDATE audit_outbox SET claimed_until = now() + :leaseMillis * interval '1 millisecond'"
+            + " WHERE id IN (:ids)",
+            nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseMillis") long leaseMillis);
+
+    /**
+     * Count a rejection and hold the entries back for an exponential backoff,
+     * {@code backoffMillis} doubled per earlier rejection up to {@code maxBackoffMillis},
+     * so newer entries are relayed in the meantime
+     */
+    @Modifying
+    @Query(value = "UPDATE audit_outbox SET attempts = attempts + 1,"
+            + " claimed_until = now() + LEAST(:backoffMillis * power(2, attempts), :maxBackoffMillis)"
+            + " * interval '1 millisecond' WHERE id IN (:ids)",
+            nativeQuery = true)
+    int reject(@Param("ids") Collection<Long> ids,
+               @Param("backoffMillis") long backoffMillis,
+               @Param("maxBackoffMillis") long maxBackoffMillis);
+
+    /**
+     * Make claimed entries available to the next poll, e.g. when SQS could
+     * not be reached at all
+     */
+    @Modifying
+    @Query(value = "UPDATE audit_outbox SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int release(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,132 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AnalyticsQueryRequest;
+import com.bank.crm.account_service.dto.AnalyticsQueryResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory engine for ad-hoc account counts and deposit sums over
+ * any combination of type, status, currency, branch and opening date.
+ *
+ * <p>Enabled with {@code accounts.analytics.enabled}. Holds an
+ * {@link AccountColumns} snapshot of the whole table, loaded in the
+ * background at startup and replaced every
+ * {@code accounts.analytics.refresh-interval-ms}; results carry the time
+ * their snapshot was taken. Needs roughly 30 bytes of heap per account plus
+ * the bitmaps, which are usually much smaller.
+ */
+@Component
+public class AccountAnalyticsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountAnalyticsEngine.class);
+
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean loadRunning = new AtomicBoolean();
+
+    public AccountAnalyticsEngine(AccountRepository accountRepository,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${accounts.analytics.enabled:false}") boolean enabled) {
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean ready() {
+        return snapshot != null;
+    }
+
+    /**
+     * @throws IllegalStateException if no snapshot has been loaded yet
+     */
+    public AnalyticsQueryResponse query(AnalyticsQueryRequest request) {
+        if (request.getGroupBy() != null && request.getGroupBy().contains(null)) {
+            throw new IllegalArgumentException("Group-by dimensions must not be null");
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Account analytics are not loaded");
+        }
+        return current.columns.query(request, current.loadedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reload("startup");
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.analytics.refresh-interval-ms:60000}",
+            initialDelayString = "${accounts.analytics.refresh-interval-ms:60000}")
+    public void refresh() {
+        reload("scheduled");
+    }
+
+    /**
+     * Start loading a fresh snapshot in the background unless a load is
+     * already running. The current snapshot keeps serving until replaced.
+     */
+    public boolean reload(String reason) {
+        if (!enabled || !loadRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                load(reason);
+            } catch (RuntimeException e) {
+                logger.error("Loading account analytics ({}) failed: {}", reason, e.getMessage(), e);
+            } finally {
+                loadRunning.set(false);
+            }
+        }, "account-analytics-load");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    void load(String reason) {
+        long started = System.nanoTime();
+        LocalDateTime loadedAt = LocalDateTime.now();
+        AccountColumns.Builder builder = new AccountColumns.Builder();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Account> accounts = accountRepository.streamAllByOpeningDate()) {
+                accounts.forEach(account -> {
+                    builder.add(account);
+                    entityManager.detach(account);
+                });
+            }
+        });
+        AccountColumns columns = builder.build();
+        snapshot = new Snapshot(columns, loadedAt);
+        logger.info("Loaded account analytics ({}) with {} accounts, about {} MB, in {} ms",
+                reason, columns.rows(), columns.sizeInBytes() >> 20, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private record Snapshot(AccountColumns columns, LocalDateTime loadedAt) {
+    }
+}
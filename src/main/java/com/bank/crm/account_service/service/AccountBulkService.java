@@ -0,0 +1,355 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.BulkCreateResponse;
+import com.bank.crm.account_service.dto.BulkCreateResult;
+import com.bank.crm.account_service.dto.BulkStatusChangeRequest;
+import com.bank.crm.account_service.dto.BulkStatusChangeResponse;
+import com.bank.crm.account_service.dto.CreateAccountRequest;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates many accounts per request for onboarding campaigns, and moves
+ * many accounts to a new status at once.
+ *
+ * <p>The whole list is validated first; invalid items are reported and
+ * skipped. Valid items get their UUIDs up front and are written with JDBC
+ * batch inserts, committing every {@code accounts.bulk.chunk-size} accounts,
+ * so a failure rolls back only its own chunk. Each chunk updates the ID
+ * filter, read model, caches and summary once, sends one invalidation
+ * statement, and writes one CREATE audit event per client rather than per
+ * account.
+ *
+ * <p>Status changes are chunked the same way, but each chunk is a single
+ * {@code UPDATE ... RETURNING} selected by a filter, and each moved account
+ * gets its own UPDATE audit event.
+ */
+@Service
+public class AccountBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBulkService.class);
+    static final String CHUNK_ROLLED_BACK = "Chunk rolled back because of a database error";
+    static final String STATUS_CHANGE_STOPPED = "Stopped after a chunk rolled back because of a database error;"
+            + " committed chunks stay applied, repeat the request to move the remaining accounts";
+    // Enums go through as untyped parameters, so Postgres casts them to the column's enum type
+    private static final String INSERT_SQL = "INSERT INTO account (account_id, client_id, account_type, account_status,"
+            + " opening_date, initial_deposit, currency, branch_id, last_modified)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())";
+    // Locks and moves one chunk, returning each account's previous status without loading
+    // entities; %s is the optional filters. Moved rows stop matching, so the next chunk
+    // picks up where this one ended
+    private static final String STATUS_CHANGE_SQL = """
+            WITH picked AS (
+                SELECT account_id, account_status::text AS previous_status FROM account
+                WHERE account_status <> ?%s
+                ORDER BY account_id LIMIT ? FOR UPDATE
+            )
+            UPDATE account a SET account_status = ?, last_modified = now()
+            FROM picked p WHERE a.account_id = p.account_id
+            RETURNING a.account_id, a.client_id, a.account_type::text, p.previous_status, a.opening_date,
+                      a.initial_deposit, a.currency, a.branch_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final Validator validator;
+    private final AccountIdFilter accountIdFilter;
+    private final AccountReadModel accountReadModel;
+    private final AccountLookupService accountLookupService;
+    private final AccountInvalidationBus accountInvalidationBus;
+    private final AccountSummaryService accountSummaryService;
+    private final LoggingService loggingService;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public AccountBulkService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              Validator validator,
+                              AccountIdFilter accountIdFilter,
+                              AccountReadModel accountReadModel,
+                              AccountLookupService accountLookupService,
+                              AccountInvalidationBus accountInvalidationBus,
+                              AccountSummaryService accountSummaryService,
+                              LoggingService loggingService,
+                              @Value("${accounts.bulk.chunk-size:500}") int chunkSize,
+                              @Value("${accounts.bulk.max-items:10000}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.accountIdFilter = accountIdFilter;
+        this.accountReadModel = accountReadModel;
+        this.accountLookupService = accountLookupService;
+        this.accountInvalidationBus = accountInvalidationBus;
+        this.accountSummaryService = accountSummaryService;
+        this.loggingService = loggingService;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public BulkCreateResponse createAccounts(List<CreateAccountRequest> requests, String userId) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxItems) {
+            throw new IllegalArgumentException("Bulk create must contain between 1 and " + maxItems + " accounts");
+        }
+        logger.info("Bulk creating {} accounts in chunks of {}", requests.size(), chunkSize);
+
+        BulkCreateResult[] results = new BulkCreateResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new BulkCreateResult(i, BulkCreateResult.Status.INVALID, null, errors);
+            }
+        }
+
+        int created = 0;
+        int failed = 0;
+        for (int start = 0; start < validIndexes.size(); start += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(start, Math.min(start + chunkSize, validIndexes.size()));
+            List<Account> accounts = new ArrayList<>(chunk.size());
+            LocalDateTime openedAt = LocalDateTime.now();
+            for (int index : chunk) {
+                accounts.add(toAccount(requests.get(index), openedAt));
+            }
+            try {
+                chunkTransaction.executeWithoutResult(status -> insertChunk(accounts, userId));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = new BulkCreateResult(chunk.get(i), BulkCreateResult.Status.CREATED,
+                            accounts.get(i).getId(), List.of());
+                }
+                created += chunk.size();
+            } catch (RuntimeException e) {
+                logger.error("Bulk create chunk of {} accounts rolled back: {}", chunk.size(), e.getMessage(), e);
+                // The cause may carry SQL and values; it stays in the log
+                String error = CHUNK_ROLLED_BACK;
+                for (int index : chunk) {
+                    results[index] = new BulkCreateResult(index, BulkCreateResult.Status.FAILED, null, List.of(error));
+                }
+                failed += chunk.size();
+            }
+        }
+
+        int invalid = requests.size() - validIndexes.size();
+        logger.info("Bulk create finished: {} created, {} invalid, {} failed", created, invalid, failed);
+        return new BulkCreateResponse(created, invalid, failed, Arrays.asList(results));
+    }
+
+    /**
+     * Move every account matching the request's filter to its new status with
+     * set-based UPDATEs of at most {@code accounts.bulk.chunk-size} rows, each
+     * committed on its own. Every moved account gets its own UPDATE audit
+     * event with the before and after status. If a chunk fails, the response
+     * reports what earlier chunks moved and carries an error.
+     */
+    public BulkStatusChangeResponse changeStatus(BulkStatusChangeRequest request, String userId) {
+        if (request.getNewStatus() == null) {
+            throw new IllegalArgumentException("New status is required");
+        }
+        if (request.getClientId() == null && request.getBranchId() == null) {
+            throw new IllegalArgumentException("A bulk status change needs a clientId or branchId filter");
+        }
+        if (request.getNewStatus() == request.getCurrentStatus()) {
+            throw new IllegalArgumentException("Current and new status are both " + request.getNewStatus());
+        }
+        logger.info("Bulk changing account status to {} for client {}, branch {}, status {}, type {}",
+                request.getNewStatus(), request.getClientId(), request.getBranchId(),
+                request.getCurrentStatus(), request.getAccType());
+
+        StringBuilder filters = new StringBuilder();
+        List<Object> filterValues = new ArrayList<>();
+        if (request.getClientId() != null) {
+            filters.append(" AND client_id = ?");
+            filterValues.add(request.getClientId());
+        }
+        if (request.getBranchId() != null) {
+            filters.append(" AND branch_id = ?");
+            filterValues.add(request.getBranchId());
+        }
+        if (request.getCurrentStatus() != null) {
+            filters.append(" AND account_status = ?");
+            filterValues.add(request.getCurrentStatus());
+        }
+        if (request.getAccType() != null) {
+            filters.append(" AND account_type = ?");
+            filterValues.add(request.getAccType());
+        }
+        String sql = STATUS_CHANGE_SQL.formatted(filters);
+
+        long updated = 0;
+        int chunks = 0;
+        while (true) {
+            Integer moved;
+            try {
+                moved = chunkTransaction.execute(status -> changeStatusChunk(sql, filterValues, request.getNewStatus(), userId));
+            } catch (RuntimeException e) {
+                logger.error("Bulk status change failed after {} accounts in {} chunks: {}",
+                        updated, chunks, e.getMessage(), e);
+                // Moved accounts no longer match the filter, so repeating the request resumes
+                return new BulkStatusChangeResponse(updated, chunks, request.getNewStatus(),
+                        STATUS_CHANGE_STOPPED);
+            }
+            if (moved == null || moved == 0) {
+                break;
+            }
+            updated += moved;
+            chunks++;
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+
+        logger.info("Bulk status change moved {} accounts to {} in {} chunks", updated, request.getNewStatus(), chunks);
+        return new BulkStatusChangeResponse(updated, chunks, request.getNewStatus(), null);
+    }
+
+    private int changeStatusChunk(String sql, List<Object> filterValues, AccountStatus newStatus, String userId) {
+        Map<UUID, AccountStatus> previousStatuses = new HashMap<>();
+        List<Account> accounts = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int index = 1;
+            statement.setObject(index++, newStatus.name(), Types.OTHER);
+            for (Object value : filterValues) {
+                if (value instanceof Enum<?> constant) {
+                    statement.setObject(index++, constant.name(), Types.OTHER);
+                } else {
+                    statement.setObject(index++, value);
+                }
+            }
+            statement.setInt(index++, chunkSize);
+            statement.setObject(index, newStatus.name(), Types.OTHER);
+            return statement;
+        }, (rs, rowNum) -> {
+            Account account = new Account(rs.getObject(2, UUID.class), AccountType.valueOf(rs.getString(3)), newStatus,
+                    rs.getTimestamp(5).toLocalDateTime(), rs.getBigDecimal(6), rs.getString(7), rs.getInt(8));
+            account.setId(rs.getObject(1, UUID.class));
+            previousStatuses.put(account.getId(), AccountStatus.valueOf(rs.getString(4)));
+            return account;
+        });
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+
+        accountSummaryService.recordStatusChanged(accounts, previousStatuses);
+        accountReadModel.putAll(accounts);
+        accountInvalidationBus.publishAll(accounts);
+        for (Account account : accounts) {
+            accountLookupService.evict(account.getId(), account.getClientId());
+            String before = previousStatuses.get(account.getId()).toString();
+            loggingService.sendUpdateLog(userId, account.getClientId().toString(), "Account Status",
+                    before, newStatus.toString(),
+                    "Bulk status change for account ID " + account.getId() + ": [Account Status]");
+        }
+        return accounts.size();
+    }
+
+    private List<String> validate(CreateAccountRequest request) {
+        if (request == null) {
+            return List.of("Account is required");
+        }
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<CreateAccountRequest> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private void insertChunk(List<Account> accounts, String userId) {
+        insertAccounts(accounts);
+
+        // One audit event per client, listing every account created for it in this chunk
+        Map<UUID, List<Account>> byClient = new LinkedHashMap<>();
+        for (Account account : accounts) {
+            byClient.computeIfAbsent(account.getClientId(), id -> new ArrayList<>()).add(account);
+        }
+        byClient.forEach((clientId, clientAccounts) -> loggingService.sendCreateLog(userId, clientId.toString(),
+                createRemarks("Bulk created", clientAccounts)));
+    }
+
+    /**
+     * Remarks for one CREATE audit event covering several accounts of a client.
+     */
+    static String createRemarks(String action, List<Account> accounts) {
+        StringBuilder remarks = new StringBuilder(action).append(' ').append(accounts.size()).append(" accounts: ");
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            if (i > 0) {
+                remarks.append("; ");
+            }
+            remarks.append(account.getId()).append(" with type: ").append(account.getAccType())
+                    .append(", initial deposit: ")
+                    .append(account.getInitialDeposit().setScale(2, RoundingMode.HALF_UP).toPlainString())
+                    .append(' ').append(account.getCurrency())
+                    .append(", at branch ID: ").append(account.getBranchId());
+        }
+        return remarks.toString();
+    }
+
+    /**
+     * Write accounts whose IDs are already set with one JDBC batch, and bring
+     * the summary, ID filter, read model and caches in step. Must run inside
+     * a transaction; audit events are left to the caller.
+     */
+    void insertAccounts(List<Account> accounts) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Account account = accounts.get(i);
+                statement.setObject(1, account.getId());
+                statement.setObject(2, account.getClientId());
+                statement.setObject(3, account.getAccType().name(), Types.OTHER);
+                statement.setObject(4, account.getAccStatus().name(), Types.OTHER);
+                statement.setTimestamp(5, Timestamp.valueOf(account.getOpeningDate()));
+                statement.setBigDecimal(6, account.getInitialDeposit());
+                statement.setString(7, account.getCurrency());
+                statement.setInt(8, account.getBranchId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return accounts.size();
+            }
+        });
+
+        accountSummaryService.recordCreated(accounts);
+        accountIdFilter.addAll(accounts.stream().map(Account::getId).toList());
+        accountReadModel.putAll(accounts);
+        accountInvalidationBus.publishAll(accounts);
+        accounts.stream().map(Account::getClientId).distinct()
+                .forEach(clientId -> accountLookupService.evict(null, clientId));
+    }
+
+    private static Account toAccount(CreateAccountRequest request, LocalDateTime openedAt) {
+        Account account = new Account(request.getClientId(), request.getAccType(), request.getAccStatus(),
+                openedAt, request.getInitialDeposit(), request.getCurrency(), request.getBranchId());
+        account.setId(UUID.randomUUID());
+        return account;
+    }
+}
@@ -0,0 +1,334 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AnalyticsQueryRequest;
+import com.bank.crm.account_service.dto.AnalyticsQueryResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Immutable struct-of-arrays copy of the account attributes used by
+ * analytics, with a {@link RowBitmap} per type, status, currency and branch.
+ *
+ * <p>Rows are held in opening-date order, so a date range is a contiguous run
+ * of rows found by binary search. A query intersects the bitmaps of its
+ * filters, smallest first, restricts the result to the date range, and then
+ * counts and sums in primitive loops over the surviving rows.
+ */
+public class AccountColumns {
+
+    private static final AccountType[] TYPES = AccountType.values();
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+    // Above this many possible groups, aggregate into a map instead of dense arrays
+    private static final int DENSE_GROUP_LIMIT = 1 << 20;
+
+    private final int rows;
+    private final long[] openedAt;
+    private final long[] depositCents;
+    private final byte[] type;
+    private final byte[] status;
+    private final int[] currency;
+    private final int[] branch;
+    private final int[] month;
+
+    private final String[] currencies;
+    private final int[] branches;
+    private final int firstMonth;
+    private final int months;
+
+    private final RowBitmap all;
+    private final RowBitmap[] byType;
+    private final RowBitmap[] byStatus;
+    private final RowBitmap[] byCurrency;
+    private final RowBitmap[] byBranch;
+
+    private AccountColumns(Builder builder) {
+        rows = builder.rows;
+        openedAt = Arrays.copyOf(builder.openedAt, rows);
+        depositCents = Arrays.copyOf(builder.depositCents, rows);
+        type = Arrays.copyOf(builder.type, rows);
+        status = Arrays.copyOf(builder.status, rows);
+
+        // Dictionaries are sorted so grouped results come out in natural order
+        currencies = builder.currencyCodes.keySet().stream().sorted().toArray(String[]::new);
+        Map<String, Integer> currencyCode = new HashMap<>();
+        for (int i = 0; i < currencies.length; i++) {
+            currencyCode.put(currencies[i], i);
+        }
+        branches = new TreeSet<>(builder.branchIds).stream().mapToInt(Integer::intValue).toArray();
+        firstMonth = rows == 0 ? 0 : monthOf(openedAt[0]);
+        months = rows == 0 ? 0 : monthOf(openedAt[rows - 1]) - firstMonth + 1;
+
+        currency = new int[rows];
+        branch = new int[rows];
+        month = new int[rows];
+        RowBitmap.Builder[] typeBuilders = builders(TYPES.length);
+        RowBitmap.Builder[] statusBuilders = builders(STATUSES.length);
+        RowBitmap.Builder[] currencyBuilders = builders(currencies.length);
+        RowBitmap.Builder[] branchBuilders = builders(branches.length);
+        for (int row = 0; row < rows; row++) {
+            currency[row] = currencyCode.get(builder.currencyNames[row]);
+            branch[row] = Arrays.binarySearch(branches, builder.branchId[row]);
+            month[row] = monthOf(openedAt[row]) - firstMonth;
+            typeBuilders[type[row]].add(row);
+            statusBuilders[status[row]].add(row);
+            currencyBuilders[currency[row]].add(row);
+            branchBuilders[branch[row]].add(row);
+        }
+        all = RowBitmap.range(rows);
+        byType = build(typeBuilders);
+        byStatus = build(statusBuilders);
+        byCurrency = build(currencyBuilders);
+        byBranch = build(branchBuilders);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Approximate heap used by columns and bitmaps.
+     */
+    public long sizeInBytes() {
+        long bytes = rows * (8L + 8 + 1 + 1 + 4 + 4 + 4);
+        for (RowBitmap[] index : List.of(byType, byStatus, byCurrency, byBranch)) {
+            for (RowBitmap bitmap : index) {
+                bytes += bitmap.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    public AnalyticsQueryResponse query(AnalyticsQueryRequest request, LocalDateTime asOf) {
+        List<RowBitmap> filters = new ArrayList<>(4);
+        addFilter(filters, request.getTypes(), value -> byType[value.ordinal()]);
+        addFilter(filters, request.getStatuses(), value -> byStatus[value.ordinal()]);
+        addFilter(filters, request.getCurrencies(), value -> {
+            int code = Arrays.binarySearch(currencies, value);
+            return code >= 0 ? byCurrency[code] : RowBitmap.EMPTY;
+        });
+        addFilter(filters, request.getBranchIds(), value -> {
+            int code = value == null ? -1 : Arrays.binarySearch(branches, value);
+            return code >= 0 ? byBranch[code] : RowBitmap.EMPTY;
+        });
+
+        // Intersect the most selective filters first so later steps touch fewer containers
+        filters.sort(Comparator.comparingInt(RowBitmap::cardinality));
+        RowBitmap matched = filters.isEmpty() ? all : filters.get(0);
+        for (int i = 1; i < filters.size() && !matched.isEmpty(); i++) {
+            matched = matched.and(filters.get(i));
+        }
+        int from = request.getOpenedFrom() == null ? 0 : firstRowAtOrAfter(request.getOpenedFrom());
+        int to = request.getOpenedTo() == null ? rows : firstRowAtOrAfter(request.getOpenedTo());
+        if (from > 0 || to < rows) {
+            matched = matched.limit(from, to);
+        }
+
+        long count = matched.cardinality();
+        long cents = matched.sum(depositCents);
+        List<AnalyticsQueryResponse.Group> groups = request.getGroupBy() == null || request.getGroupBy().isEmpty()
+                ? List.of()
+                : group(matched, List.copyOf(new LinkedHashSet<>(request.getGroupBy())));
+        return new AnalyticsQueryResponse(count, BigDecimal.valueOf(cents, 2), groups, asOf);
+    }
+
+    private List<AnalyticsQueryResponse.Group> group(RowBitmap matched, List<AnalyticsDimension> dimensions) {
+        int[] radix = new int[dimensions.size()];
+        long groupSpace = 1;
+        for (int d = 0; d < dimensions.size(); d++) {
+            radix[d] = radixOf(dimensions.get(d));
+            groupSpace *= Math.max(radix[d], 1);
+        }
+
+        List<AnalyticsQueryResponse.Group> groups = new ArrayList<>();
+        if (groupSpace <= DENSE_GROUP_LIMIT) {
+            long[] counts = new long[(int) groupSpace];
+            long[] sums = new long[(int) groupSpace];
+            matched.forEach(row -> {
+                int key = (int) groupKey(row, dimensions, radix);
+                counts[key]++;
+                sums[key] += depositCents[row];
+            });
+            for (int key = 0; key < counts.length; key++) {
+                if (counts[key] > 0) {
+                    groups.add(new AnalyticsQueryResponse.Group(
+                            decode(key, dimensions, radix), counts[key], BigDecimal.valueOf(sums[key], 2)));
+                }
+            }
+        } else {
+            Map<Long, long[]> totals = new HashMap<>();
+            matched.forEach(row -> {
+                long[] total = totals.computeIfAbsent(groupKey(row, dimensions, radix), key -> new long[2]);
+                total[0]++;
+                total[1] += depositCents[row];
+            });
+            totals.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> groups.add(new AnalyticsQueryResponse.Group(
+                            decode(entry.getKey(), dimensions, radix), entry.getValue()[0],
+                            BigDecimal.valueOf(entry.getValue()[1], 2))));
+        }
+        return groups;
+    }
+
+    private long groupKey(int row, List<AnalyticsDimension> dimensions, int[] radix) {
+        long key = 0;
+        for (int d = 0; d < radix.length; d++) {
+            key = key * radix[d] + codeOf(dimensions.get(d), row);
+        }
+        return key;
+    }
+
+    private Map<String, Object> decode(long key, List<AnalyticsDimension> dimensions, int[] radix) {
+        Object[] values = new Object[radix.length];
+        for (int d = radix.length - 1; d >= 0; d--) {
+            int code = (int) (key % radix[d]);
+            key /= radix[d];
+            values[d] = switch (dimensions.get(d)) {
+                case TYPE -> TYPES[code];
+                case STATUS -> STATUSES[code];
+                case CURRENCY -> currencies[code];
+                case BRANCH -> branches[code];
+                case OPENING_MONTH -> YearMonth.of((firstMonth + code) / 12, (firstMonth + code) % 12 + 1).toString();
+            };
+        }
+        Map<String, Object> decoded = new LinkedHashMap<>();
+        for (int d = 0; d < values.length; d++) {
+            decoded.put(dimensions.get(d).name(), values[d]);
+        }
+        return decoded;
+    }
+
+    private int codeOf(AnalyticsDimension dimension, int row) {
+        return switch (dimension) {
+            case TYPE -> type[row];
+            case STATUS -> status[row];
+            case CURRENCY -> currency[row];
+            case BRANCH -> branch[row];
+            case OPENING_MONTH -> month[row];
+        };
+    }
+
+    private int radixOf(AnalyticsDimension dimension) {
+        return switch (dimension) {
+            case TYPE -> TYPES.length;
+            case STATUS -> STATUSES.length;
+            case CURRENCY -> currencies.length;
+            case BRANCH -> branches.length;
+            case OPENING_MONTH -> months;
+        };
+    }
+
+    private int firstRowAtOrAfter(LocalDateTime time) {
+        long target = time.toEpochSecond(ZoneOffset.UTC);
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (openedAt[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static <T> void addFilter(List<RowBitmap> filters, Collection<T> values,
+                                      Function<T, RowBitmap> lookup) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        RowBitmap union = null;
+        for (T value : values) {
+            RowBitmap bitmap = value == null ? RowBitmap.EMPTY : lookup.apply(value);
+            union = union == null ? bitmap : union.or(bitmap);
+        }
+        filters.add(union);
+    }
+
+    private static int monthOf(long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        return time.getYear() * 12 + time.getMonthValue() - 1;
+    }
+
+    private static RowBitmap.Builder[] builders(int count) {
+        RowBitmap.Builder[] builders = new RowBitmap.Builder[count];
+        for (int i = 0; i < count; i++) {
+            builders[i] = new RowBitmap.Builder();
+        }
+        return builders;
+    }
+
+    private static RowBitmap[] build(RowBitmap.Builder[] builders) {
+        RowBitmap[] bitmaps = new RowBitmap[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            bitmaps[i] = builders[i].build();
+        }
+        return bitmaps;
+    }
+
+    /**
+     * Collects accounts, which must be added in opening-date order.
+     */
+    public static class Builder {
+
+        private int rows;
+        private long[] openedAt = new long[1024];
+        private long[] depositCents = new long[1024];
+        private byte[] type = new byte[1024];
+        private byte[] status = new byte[1024];
+        private String[] currencyNames = new String[1024];
+        private int[] branchId = new int[1024];
+        private final Map<String, String> currencyCodes = new HashMap<>();
+        private final Set<Integer> branchIds = new HashSet<>();
+
+        public Builder add(Account account) {
+            long opened = account.getOpeningDate().toEpochSecond(ZoneOffset.UTC);
+            if (rows > 0 && opened < openedAt[rows - 1]) {
+                throw new IllegalArgumentException("Accounts must be added in opening-date order");
+            }
+            if (rows == openedAt.length) {
+                int capacity = rows * 2;
+                openedAt = Arrays.copyOf(openedAt, capacity);
+                depositCents = Arrays.copyOf(depositCents, capacity);
+                type = Arrays.copyOf(type, capacity);
+                status = Arrays.copyOf(status, capacity);
+                currencyNames = Arrays.copyOf(currencyNames, capacity);
+                branchId = Arrays.copyOf(branchId, capacity);
+            }
+            openedAt[rows] = opened;
+            depositCents[rows] = account.getInitialDeposit().movePointRight(2).longValue();
+            type[rows] = (byte) account.getAccType().ordinal();
+            status[rows] = (byte) account.getAccStatus().ordinal();
+            // Intern so each distinct currency string is held once
+            currencyNames[rows] = currencyCodes.computeIfAbsent(account.getCurrency(), code -> code);
+            branchId[rows] = account.getBranchId();
+            branchIds.add(account.getBranchId());
+            rows++;
+            return this;
+        }
+
+        public AccountColumns build() {
+            return new AccountColumns(this);
+        }
+    }
+}
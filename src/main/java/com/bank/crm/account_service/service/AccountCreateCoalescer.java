@@ -0,0 +1,232 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.Account;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for single-account creates.
+ *
+ * <p>When enabled, concurrent {@code createAccount} calls are queued and a
+ * background writer collects them for up to {@code window-us} microseconds
+ * or {@code max-batch} accounts. It then inserts them with one batched
+ * statement, which the driver rewrites into a multi-row INSERT, in a single
+ * transaction. Each caller's audit callback runs in that transaction too, so
+ * its outbox row commits with the account. Each caller waits for its own
+ * account.
+ *
+ * <p>If the batch fails, every account in it is retried in its own
+ * transaction, so one bad row only fails its own caller. When the queue is
+ * full, or the writer is stopped, the caller writes its account itself.
+ * Callers give up after {@code wait-timeout-ms}; their account may still
+ * commit afterwards.
+ */
+@Component
+public class AccountCreateCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountCreateCoalescer.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final AccountBulkService accountBulkService;
+    private final TransactionTemplate batchTransaction;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final long waitTimeoutMillis;
+    private final BlockingQueue<PendingCreate> queue;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccountCreateCoalescer(AccountBulkService accountBulkService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${accounts.create.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${accounts.create.group-commit.window-us:500}") long windowMicros,
+                                  @Value("${accounts.create.group-commit.max-batch:64}") int maxBatch,
+                                  @Value("${accounts.create.group-commit.queue-capacity:4096}") int queueCapacity,
+                                  @Value("${accounts.create.group-commit.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("accounts.create.group-commit.max-batch must be positive");
+        }
+        this.accountBulkService = accountBulkService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = maxBatch;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "account-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Account group commit started with window {} us and max batch {}",
+                TimeUnit.NANOSECONDS.toMicros(windowNanos), maxBatch);
+    }
+
+    /**
+     * Stop accepting new accounts and write everything already queued,
+     * including anything that slipped in after the writer's last poll.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(IDLE_POLL_MILLIS * 10);
+        }
+        List<PendingCreate> leftover = new ArrayList<>();
+        while (queue.drainTo(leftover, maxBatch) > 0) {
+            write(leftover);
+            leftover.clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Insert an account as part of the next group commit and wait until it
+     * has committed. Must not be called inside a transaction, which would
+     * hold a pooled connection while the writer needs one.
+     *
+     * @param audit records the create; runs inside the inserting transaction
+     * @return the saved account, with its ID
+     */
+    public Account create(Account account, Runnable audit) {
+        if (account.getId() == null) {
+            account.setId(UUID.randomUUID());
+        }
+        PendingCreate pending = new PendingCreate(account, audit, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            write(List.of(pending));
+        } else if (!running && queue.remove(pending)) {
+            // Stopped while offering, possibly after the final drain
+            write(List.of(pending));
+        }
+        try {
+            return pending.saved().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out after " + waitTimeoutMillis
+                    + " ms waiting for the group commit of account " + account.getId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the group commit of account " + account.getId());
+        }
+    }
+
+    /**
+     * Number of accounts waiting for the writer.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                write(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<PendingCreate> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatch) {
+            queue.drainTo(batch, maxBatch - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatch || remaining <= 0 || !running) {
+                return;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Commit a batch and complete each caller; on failure retry each account
+     * alone so only the bad ones fail.
+     */
+    void write(List<PendingCreate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            commit(batch);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).saved().completeExceptionally(e);
+                return;
+            }
+            logger.warn("Group commit of {} accounts failed, retrying each alone: {}", batch.size(), e.getMessage());
+        }
+        for (PendingCreate pending : batch) {
+            try {
+                commit(List.of(pending));
+            } catch (RuntimeException e) {
+                logger.error("Failed to create account for client {}: {}",
+                        pending.account().getClientId(), e.getMessage());
+                pending.saved().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void commit(List<PendingCreate> batch) {
+        List<Account> accounts = new ArrayList<>(batch.size());
+        batch.forEach(pending -> accounts.add(pending.account()));
+        batchTransaction.executeWithoutResult(status -> {
+            accountBulkService.insertAccounts(accounts);
+            batch.forEach(pending -> pending.audit().run());
+        });
+        logger.debug("Group committed {} accounts", accounts.size());
+        batch.forEach(pending -> pending.saved().complete(pending.account()));
+    }
+
+    record PendingCreate(Account account, Runnable audit, CompletableFuture<Account> saved) {
+    }
+}
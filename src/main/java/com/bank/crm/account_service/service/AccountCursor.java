@@ -0,0 +1,44 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.Account;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the accounts listing, ordered by opening date then account ID.
+ * Clients see it only as an opaque URL-safe token.
+ */
+public record AccountCursor(LocalDateTime openingDate, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static AccountCursor after(Account account) {
+        return new AccountCursor(account.getOpeningDate(), account.getId());
+    }
+
+    public String encode() {
+        String raw = openingDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static AccountCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new AccountCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.AccountStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional export filters; a null field matches every account. The opening
+ * date range includes {@code openedFrom} and excludes {@code openedTo}.
+ */
+public record AccountExportFilter(Integer branchId,
+                                  AccountStatus status,
+                                  LocalDateTime openedFrom,
+                                  LocalDateTime openedTo) {
+}
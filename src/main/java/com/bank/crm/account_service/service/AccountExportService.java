@@ -0,0 +1,166 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.repository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Streams accounts to an output stream as NDJSON or CSV.
+ *
+ * <p>Rows are read through a database cursor and each entity is detached once
+ * written, so memory use does not grow with the size of the table. The export
+ * runs in one read-only, repeatable-read transaction, so every row comes from
+ * the same snapshot. That transaction holds a pooled connection for the whole
+ * download, so at most {@code accounts.export.max-concurrent} exports run at
+ * once; callers take a slot with {@link #tryStartExport()} and return it with
+ * {@link #finishExport()}.
+ */
+@Service
+public class AccountExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountExportService.class);
+    private static final String CSV_HEADER =
+            "id,client_id,account_type,account_status,opening_date,initial_deposit,currency,branch_id";
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+    private final long timeoutMillis;
+
+    public AccountExportService(AccountRepository accountRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                @Value("${accounts.export.max-concurrent:2}") int maxConcurrent,
+                                @Value("${accounts.export.timeout-ms:1800000}") long timeoutMillis) {
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Take an export slot if one is free.
+     *
+     * @return false when {@code max-concurrent} exports are already running
+     */
+    public boolean tryStartExport() {
+        return slots.tryAcquire();
+    }
+
+    /**
+     * Return the slot taken by {@link #tryStartExport()}.
+     */
+    public void finishExport() {
+        slots.release();
+    }
+
+    /**
+     * How long an export request may stream before the container times it out.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Write every account matching {@code filter} to {@code out}.
+     *
+     * @return the number of accounts written
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long export(AccountExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        logger.info("Exporting accounts as {} with filter {}", format, filter);
+
+        long exported;
+        try (Stream<Account> accounts = accountRepository.streamForExport(
+                filter.branchId(), filter.status(), filter.openedFrom(), filter.openedTo())) {
+            exported = format == ExportFormat.CSV
+                    ? writeCsv(accounts.iterator(), out)
+                    : writeNdjson(accounts.iterator(), out);
+        }
+
+        logger.info("Exported {} accounts as {}", exported, format);
+        return exported;
+    }
+
+    private long writeNdjson(Iterator<Account> accounts, OutputStream out) throws IOException {
+        long count = 0;
+        SequenceWriter writer = objectMapper.writerFor(AccountResponse.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(out);
+        while (accounts.hasNext()) {
+            Account account = accounts.next();
+            writer.write(AccountResponse.from(account));
+            entityManager.detach(account);
+            count++;
+        }
+        // Flushes without closing the response stream
+        writer.flush();
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Account> accounts, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (accounts.hasNext()) {
+            Account account = accounts.next();
+            writer.write(String.valueOf(account.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(account.getClientId()));
+            writer.write(',');
+            writer.write(String.valueOf(account.getAccType()));
+            writer.write(',');
+            writer.write(String.valueOf(account.getAccStatus()));
+            writer.write(',');
+            ISO_FORMATTER.formatTo(account.getOpeningDate(), writer);
+            writer.write(',');
+            writer.write(account.getInitialDeposit().toPlainString());
+            writer.write(',');
+            writer.write(csvField(account.getCurrency()));
+            writer.write(',');
+            writer.write(String.valueOf(account.getBranchId()));
+            writer.write('\n');
+            entityManager.detach(account);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,374 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Negative cache of account IDs: a {@link ScalableBloomFilter} of every
+ * existing account, so lookups of IDs that definitely do not exist can be
+ * answered without a query.
+ *
+ * <p>The filter is built from a key-only scan once the application is ready.
+ * Creates add their ID locally and, through {@link AccountInvalidationBus},
+ * on every other replica. The bus is the only way other replicas' creates
+ * get in, so the filter stays off when cross-replica invalidation is
+ * disabled, and answers "maybe" for every ID until a build has completed
+ * that started while the bus was listening, e.g. after a reconnect.
+ * A miss is still not proof: a remote create's notification may be in
+ * flight, or the row may have been written outside the service. Callers
+ * confirm misses with {@link #existsDespiteMiss} before reporting an account
+ * missing, which costs a key-only probe instead of a full lookup.
+ * Deleted IDs cannot be removed from a Bloom filter, so the filter is rebuilt
+ * in the background once local deletes pass {@code rebuild.deleted-ratio} of
+ * its size, or once the observed false-positive rate is twice the target,
+ * which also catches deletes made on other replicas.
+ */
+@Component
+public class AccountIdFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountIdFilter.class);
+    // Observed false-positive rate is only trusted after this many absent-ID lookups
+    private static final long MIN_ABSENT_SAMPLES = 1000;
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final double rebuildDeletedRatio;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildAgain = new AtomicBoolean();
+    private volatile boolean started;
+    private volatile boolean listening;
+    // Whether notifications may have been missed since the current filter's scan started
+    private volatile boolean stale = true;
+    private final AtomicLong disconnects = new AtomicLong();
+    private volatile ScalableBloomFilter current;
+    private volatile ScalableBloomFilter building;
+    private final AtomicLong deletesSinceBuild = new AtomicLong();
+    private final AtomicLong negativesSinceBuild = new AtomicLong();
+    private final AtomicLong falsePositivesSinceBuild = new AtomicLong();
+    private volatile long lastBuildIds;
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+    private final Counter falseNegatives;
+    private final MeterRegistry meterRegistry;
+
+    public AccountIdFilter(AccountRepository accountRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${accounts.id-filter.enabled:true}") boolean enabled,
+                           @Value("${accounts.id-filter.initial-capacity:1000000}") long initialCapacity,
+                           @Value("${accounts.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${accounts.id-filter.rebuild.deleted-ratio:0.1}") double rebuildDeletedRatio,
+                           @Value("${accounts.cache.invalidation.enabled:true}") boolean invalidationEnabled) {
+        if (enabled && !invalidationEnabled) {
+            logger.warn("Account ID filter disabled: it needs accounts.cache.invalidation.enabled "
+                    + "to learn about accounts created on other replicas");
+        }
+        this.accountRepository = accountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled && invalidationEnabled;
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildDeletedRatio = rebuildDeletedRatio;
+
+        this.negatives = Counter.builder("account.id.filter.lookups").tag("result", "absent")
+                .description("Lookups answered as absent without a query").register(meterRegistry);
+        this.positives = Counter.builder("account.id.filter.lookups").tag("result", "maybe")
+                .description("Lookups that had to go to the database").register(meterRegistry);
+        this.falsePositives = Counter.builder("account.id.filter.false.positives")
+                .description("Lookups the filter let through for IDs that did not exist").register(meterRegistry);
+        this.falseNegatives = Counter.builder("account.id.filter.false.negatives")
+                .description("Filter misses the database showed to exist").register(meterRegistry);
+        Gauge.builder("account.id.filter.size", this, filter -> filter.ready() ? filter.current.size() : 0)
+                .register(meterRegistry);
+        Gauge.builder("account.id.filter.stages", this, filter -> filter.ready() ? filter.current.stageCount() : 0)
+                .register(meterRegistry);
+        Gauge.builder("account.id.filter.bits", this, filter -> filter.ready() ? filter.current.bitSize() : 0)
+                .register(meterRegistry);
+        Gauge.builder("account.id.filter.fpp.expected", this,
+                        filter -> filter.ready() ? filter.current.expectedFalsePositiveRate() : 0)
+                .description("False-positive rate implied by the filter's fill").register(meterRegistry);
+        Gauge.builder("account.id.filter.fpp.observed", this, AccountIdFilter::observedFalsePositiveRate)
+                .description("Share of absent-ID lookups the filter let through since the last build")
+                .register(meterRegistry);
+        Gauge.builder("account.id.filter.rebuild.ids", this, filter -> filter.lastBuildIds)
+                .description("IDs loaded by the last rebuild").register(meterRegistry);
+        Gauge.builder("account.id.filter.deletes", this, filter -> filter.deletesSinceBuild.get())
+                .description("Local deletes since the last rebuild").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean ready() {
+        return current != null;
+    }
+
+    /**
+     * Whether misses are currently answered from the filter rather than
+     * treated as "maybe".
+     */
+    public boolean trusted() {
+        return enabled && current != null && !stale;
+    }
+
+    /**
+     * @return false if the filter has no record of the account; confirm with
+     * {@link #existsDespiteMiss} before treating it as missing
+     */
+    public boolean mightExist(UUID accountId) {
+        ScalableBloomFilter filter = current;
+        if (!enabled || filter == null || stale) {
+            return true;
+        }
+        if (filter.mightContain(accountId)) {
+            positives.increment();
+            return true;
+        }
+        negatives.increment();
+        negativesSinceBuild.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Check an ID the filter ruled out against the database. An account that
+     * exists after all is added to the filter.
+     *
+     * @return whether the account exists
+     */
+    public boolean existsDespiteMiss(UUID accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            return false;
+        }
+        recordFalseNegative(accountId);
+        return true;
+    }
+
+    /**
+     * {@link #existsDespiteMiss} for many IDs, with one query.
+     *
+     * @return the IDs that exist
+     */
+    public List<UUID> findExistingDespiteMiss(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> existing = accountRepository.findExistingIds(accountIds);
+        existing.forEach(this::recordFalseNegative);
+        return existing;
+    }
+
+    private void recordFalseNegative(UUID accountId) {
+        logger.debug("Account {} exists but was missing from the ID filter", accountId);
+        falseNegatives.increment();
+        addLocal(accountId);
+    }
+
+    /**
+     * Record that an ID the filter let through did not exist.
+     */
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.increment();
+            falsePositivesSinceBuild.incrementAndGet();
+        }
+    }
+
+    /**
+     * Add a created account. The ID is added right away and again once the
+     * surrounding transaction commits, so a rebuild scanning concurrently
+     * cannot miss it.
+     */
+    public void add(UUID accountId) {
+        addLocal(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addLocal(accountId);
+                }
+            });
+        }
+    }
+
+    /**
+     * {@link #add} for many IDs, with one commit callback.
+     */
+    public void addAll(Collection<UUID> accountIds) {
+        accountIds.forEach(this::addLocal);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accountIds.forEach(AccountIdFilter.this::addLocal);
+                }
+            });
+        }
+    }
+
+    /**
+     * Add an account created on this or another replica.
+     */
+    public void addLocal(UUID accountId) {
+        // Read building before current: rebuild publishes current before clearing building
+        ScalableBloomFilter next = building;
+        ScalableBloomFilter filter = current;
+        if (filter != null) {
+            filter.add(accountId);
+        }
+        if (next != null) {
+            next.add(accountId);
+        }
+    }
+
+    public void recordDelete() {
+        deletesSinceBuild.incrementAndGet();
+    }
+
+    /**
+     * The invalidation listener is connected: rebuild so the filter covers
+     * anything created while notifications could not arrive.
+     */
+    public void listenerConnected() {
+        listening = true;
+        if (started) {
+            requestRebuild("reconnect");
+        }
+    }
+
+    /**
+     * The invalidation listener lost its connection: answer "maybe" until
+     * the rebuild after it reconnects completes.
+     */
+    public void listenerDisconnected() {
+        listening = false;
+        disconnects.incrementAndGet();
+        if (enabled && !stale) {
+            logger.warn("Account ID filter suspended until the invalidation listener reconnects");
+        }
+        stale = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        started = true;
+        requestRebuild("startup");
+    }
+
+    /**
+     * Rebuild when deletes or the observed false-positive rate show the
+     * filter has gone stale.
+     */
+    @Scheduled(fixedDelayString = "${accounts.id-filter.check-interval-ms:60000}")
+    public void checkStaleness() {
+        ScalableBloomFilter filter = current;
+        if (filter == null || rebuilding.get()) {
+            return;
+        }
+        if (deletesSinceBuild.get() > filter.size() * rebuildDeletedRatio) {
+            requestRebuild("deletes");
+        } else if (negativesSinceBuild.get() + falsePositivesSinceBuild.get() >= MIN_ABSENT_SAMPLES
+                && observedFalsePositiveRate() > 2 * falsePositiveRate) {
+            requestRebuild("false-positives");
+        }
+    }
+
+    /**
+     * Start a background rebuild. If one is already running, another runs
+     * after it, since the running scan may predate the reason for this one.
+     *
+     * @return whether a rebuild was started now
+     */
+    public boolean requestRebuild(String reason) {
+        if (!enabled) {
+            return false;
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            rebuildAgain.set(true);
+            return false;
+        }
+        rebuildAgain.set(false);
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild(reason);
+            } catch (RuntimeException e) {
+                logger.error("Account ID filter rebuild ({}) failed: {}", reason, e.getMessage(), e);
+            } finally {
+                rebuilding.set(false);
+            }
+            if (rebuildAgain.get()) {
+                requestRebuild(reason);
+            }
+        }, "account-id-filter-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    void rebuild(String reason) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ScalableBloomFilter next = new ScalableBloomFilter(
+                Math.max(initialCapacity, ready() ? current.size() : 0), falsePositiveRate);
+        // Publish before the scan so creates committing during it reach the new filter
+        building = next;
+        long deletesBefore = deletesSinceBuild.get();
+        // Only a scan started while listening can be trusted: creates committed after it arrive as notifications
+        boolean listeningBefore = listening;
+        long disconnectsBefore = disconnects.get();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UUID> ids = accountRepository.streamAllIds()) {
+                    ids.forEach(next::add);
+                }
+            });
+            current = next;
+            stale = !listeningBefore || disconnects.get() != disconnectsBefore;
+        } finally {
+            building = null;
+        }
+        deletesSinceBuild.addAndGet(-deletesBefore);
+        negativesSinceBuild.set(0);
+        falsePositivesSinceBuild.set(0);
+        lastBuildIds = next.size();
+        long nanos = sample.stop(Timer.builder("account.id.filter.rebuild").tag("reason", reason)
+                .description("Time to rebuild the account ID filter").register(meterRegistry));
+        logger.info("Rebuilt account ID filter ({}) with {} IDs in {} ms, {} stages, expected false-positive rate {}",
+                reason, next.size(), nanos / 1_000_000, next.stageCount(),
+                String.format("%.5f", next.expectedFalsePositiveRate()));
+    }
+
+    private double observedFalsePositiveRate() {
+        long falsePositive = falsePositivesSinceBuild.get();
+        long absent = negativesSinceBuild.get() + falsePositive;
+        return absent == 0 ? 0 : (double) falsePositive / absent;
+    }
+}
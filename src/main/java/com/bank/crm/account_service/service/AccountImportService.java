@@ -0,0 +1,263 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountImportResponse;
+import com.bank.crm.account_service.dto.ImportRejection;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Imports accounts from CSV, e.g. for branch migrations.
+ *
+ * <p>The file is streamed with {@code COPY} into a temporary staging table
+ * whose columns are all text, so malformed values never abort the load.
+ * Every row is then validated with one {@code UPDATE}, and the valid rows
+ * are inserted into {@code account} and added to {@code account_summary}
+ * with one statement each. All of this runs in one transaction.
+ *
+ * <p>The ID filter, read model, caches and other replicas are then updated
+ * from the staging table in chunks, ordered by client. Each client gets one
+ * CREATE audit event per chunk.
+ */
+@Service
+public class AccountImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImportService.class);
+
+    static final String CSV_HEADER = "client_id,account_type,account_status,opening_date,initial_deposit,currency,branch_id";
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMPORARY TABLE account_import (
+                row_no BIGINT GENERATED ALWAYS AS IDENTITY,
+                client_id TEXT,
+                account_type TEXT,
+                account_status TEXT,
+                opening_date TEXT,
+                initial_deposit TEXT,
+                currency TEXT,
+                branch_id TEXT,
+                account_id UUID NOT NULL DEFAULT gen_random_uuid(),
+                errors TEXT[]
+            ) ON COMMIT DROP""";
+    // HEADER MATCH makes Postgres reject a file whose header names other columns
+    private static final String COPY_SQL = "COPY account_import (" + CSV_HEADER + ")"
+            + " FROM STDIN WITH (FORMAT csv, HEADER MATCH)";
+    // The same rules as CreateAccountRequest; CASE guarantees a cast only runs on valid input
+    private static final String VALIDATE_SQL = """
+            UPDATE account_import SET errors = NULLIF(array_remove(ARRAY[
+                CASE WHEN client_id IS NULL OR NOT pg_input_is_valid(client_id, 'uuid')
+                     THEN 'client_id: must be a UUID' END,
+                CASE WHEN account_type IS NULL OR NOT account_type = ANY (?)
+                     THEN 'account_type: must be one of ' || array_to_string(?, ', ') END,
+                CASE WHEN account_status IS NULL OR NOT account_status = ANY (?)
+                     THEN 'account_status: must be one of ' || array_to_string(?, ', ') END,
+                CASE WHEN opening_date IS NOT NULL AND NOT pg_input_is_valid(opening_date, 'timestamp')
+                     THEN 'opening_date: must be a timestamp' END,
+                CASE WHEN initial_deposit IS NULL OR initial_deposit !~ '^\\s*-?[0-9]+(\\.[0-9]*)?\\s*$'
+                          OR NOT pg_input_is_valid(initial_deposit, 'numeric(10,2)')
+                     THEN 'initial_deposit: must be a number with at most 8 digits before the point'
+                     WHEN initial_deposit::numeric <= 0
+                     THEN 'initial_deposit: must be positive' END,
+                CASE WHEN currency IS NULL OR btrim(currency) = '' OR char_length(currency) <> 3
+                     THEN 'currency: must be 3 characters' END,
+                CASE WHEN branch_id IS NULL OR NOT pg_input_is_valid(branch_id, 'integer')
+                     THEN 'branch_id: must be an integer'
+                     WHEN branch_id::integer <= 0
+                     THEN 'branch_id: must be positive' END
+            ], NULL), '{}')""";
+    // %s are the column types of account_type and account_status: enums in production,
+    // varchar under Hibernate's generated schema, and text has no assignment cast to an enum
+    private static final String MERGE_SQL = """
+            INSERT INTO account (account_id, client_id, account_type, account_status, opening_date,
+                                 initial_deposit, currency, branch_id, last_modified)
+            SELECT account_id, client_id::uuid, account_type::%s, account_status::%s,
+                   COALESCE(opening_date::timestamp, localtimestamp), initial_deposit::numeric(10,2),
+                   currency, branch_id::integer, now()
+            FROM account_import WHERE errors IS NULL ORDER BY row_no""";
+    // Same upsert as AccountSummaryRepository.applyDelta, with groups in AccountSummaryKey order
+    // so concurrent summary writers lock them in the same order
+    private static final String SUMMARY_SQL = """
+            INSERT INTO account_summary (branch_id, currency, account_type, account_status, account_count, total_deposit)
+            SELECT branch_id::integer, currency, account_type, account_status, COUNT(*),
+                   SUM(initial_deposit::numeric(10,2))
+            FROM account_import WHERE errors IS NULL
+            GROUP BY 1, 2, 3, 4
+            ORDER BY 1, currency COLLATE "C", array_position(?, account_type), array_position(?, account_status)
+            ON CONFLICT (branch_id, currency, account_type, account_status) DO UPDATE
+            SET account_count = account_summary.account_count + EXCLUDED.account_count,
+                total_deposit = account_summary.total_deposit + EXCLUDED.total_deposit""";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FILTER (WHERE errors IS NULL),"
+            + " COUNT(*) FILTER (WHERE errors IS NOT NULL) FROM account_import";
+    private static final String REJECTIONS_SQL = "SELECT row_no, errors FROM account_import"
+            + " WHERE errors IS NOT NULL ORDER BY row_no LIMIT ?";
+    private static final String IMPORTED_SQL = """
+            SELECT i.account_id, i.client_id, a.account_type::text, a.account_status::text, a.opening_date,
+                   a.initial_deposit, a.currency, a.branch_id
+            FROM account_import i JOIN account a ON a.account_id = i.account_id
+            WHERE i.errors IS NULL ORDER BY i.client_id, i.row_no""";
+    private static final String COLUMN_TYPE_SQL = "SELECT udt_name FROM information_schema.columns"
+            + " WHERE table_schema = current_schema() AND table_name = 'account' AND column_name = ?";
+
+    private static final String[] TYPES = Arrays.stream(AccountType.values()).map(Enum::name).toArray(String[]::new);
+    private static final String[] STATUSES = Arrays.stream(AccountStatus.values()).map(Enum::name).toArray(String[]::new);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountIdFilter accountIdFilter;
+    private final AccountReadModel accountReadModel;
+    private final AccountLookupService accountLookupService;
+    private final AccountInvalidationBus accountInvalidationBus;
+    private final LoggingService loggingService;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public AccountImportService(JdbcTemplate jdbcTemplate,
+                                AccountIdFilter accountIdFilter,
+                                AccountReadModel accountReadModel,
+                                AccountLookupService accountLookupService,
+                                AccountInvalidationBus accountInvalidationBus,
+                                LoggingService loggingService,
+                                @Value("${accounts.import.chunk-size:1000}") int chunkSize,
+                                @Value("${accounts.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountIdFilter = accountIdFilter;
+        this.accountReadModel = accountReadModel;
+        this.accountLookupService = accountLookupService;
+        this.accountInvalidationBus = accountInvalidationBus;
+        this.loggingService = loggingService;
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * Import every valid row of a CSV file whose header is {@value #CSV_HEADER}.
+     * An empty opening_date means now.
+     *
+     * @throws IllegalArgumentException if the file is not well-formed CSV with that header
+     */
+    @Transactional
+    public AccountImportResponse importCsv(InputStream csv, String userId) {
+        logger.info("Importing accounts from CSV for user: {}", userId);
+
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        long staged = copy(csv);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(VALIDATE_SQL);
+            Array types = connection.createArrayOf("text", TYPES);
+            Array statuses = connection.createArrayOf("text", STATUSES);
+            statement.setArray(1, types);
+            statement.setArray(2, types);
+            statement.setArray(3, statuses);
+            statement.setArray(4, statuses);
+            return statement;
+        });
+
+        int merged = jdbcTemplate.update(MERGE_SQL.formatted(columnType("account_type"), columnType("account_status")));
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SUMMARY_SQL);
+            statement.setArray(1, connection.createArrayOf("text", TYPES));
+            statement.setArray(2, connection.createArrayOf("text", STATUSES));
+            return statement;
+        });
+        publishImported(userId);
+
+        long[] counts = jdbcTemplate.queryForObject(COUNT_SQL, (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        List<ImportRejection> rejections = jdbcTemplate.query(REJECTIONS_SQL,
+                (rs, i) -> new ImportRejection(rs.getLong(1), Arrays.asList((String[]) rs.getArray(2).getArray())),
+                maxReportedRejections);
+
+        logger.info("Imported {} of {} CSV rows, rejected {}", merged, staged, counts[1]);
+        return new AccountImportResponse(counts[0], counts[1], rejections);
+    }
+
+    private long copy(InputStream csv) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, csv);
+            } catch (SQLException e) {
+                // Class 22 is a data exception: a malformed row or a header that does not match
+                if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                    throw new IllegalArgumentException("Invalid CSV: " + e.getMessage(), e);
+                }
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read CSV upload", e);
+            }
+        });
+    }
+
+    private String columnType(String column) {
+        String type = jdbcTemplate.queryForObject(COLUMN_TYPE_SQL, String.class, column);
+        return '"' + type.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Update the ID filter, read model, caches and other replicas, and send
+     * the audit events, a chunk of imported accounts at a time.
+     */
+    private void publishImported(String userId) {
+        List<Account> chunk = new ArrayList<>(chunkSize);
+        List<Account> clientAccounts = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(IMPORTED_SQL);
+            statement.setFetchSize(chunkSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            Account account = new Account(UUID.fromString(rs.getString(2)), AccountType.valueOf(rs.getString(3)),
+                    AccountStatus.valueOf(rs.getString(4)), rs.getTimestamp(5).toLocalDateTime(),
+                    rs.getBigDecimal(6), rs.getString(7), rs.getInt(8));
+            account.setId(rs.getObject(1, UUID.class));
+            if (!clientAccounts.isEmpty() && !clientAccounts.get(0).getClientId().equals(account.getClientId())) {
+                audit(clientAccounts, userId);
+            }
+            clientAccounts.add(account);
+            chunk.add(account);
+            if (chunk.size() == chunkSize) {
+                audit(clientAccounts, userId);
+                publish(chunk);
+            }
+        });
+        audit(clientAccounts, userId);
+        publish(chunk);
+    }
+
+    private void audit(List<Account> clientAccounts, String userId) {
+        if (clientAccounts.isEmpty()) {
+            return;
+        }
+        UUID clientId = clientAccounts.get(0).getClientId();
+        accountLookupService.evict(null, clientId);
+        loggingService.sendCreateLog(userId, clientId.toString(),
+                AccountBulkService.createRemarks("Imported", clientAccounts));
+        clientAccounts.clear();
+    }
+
+    private void publish(List<Account> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        accountIdFilter.addAll(chunk.stream().map(Account::getId).toList());
+        accountReadModel.putAll(chunk);
+        accountInvalidationBus.publishAll(chunk);
+        chunk.clear();
+    }
+}
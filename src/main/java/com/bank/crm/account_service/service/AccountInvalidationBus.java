@@ -0,0 +1,225 @@
+package com.bank.crm.account_service.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.account_service.model.Account;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps account caches consistent across replicas with Postgres
+ * {@code LISTEN/NOTIFY}.
+ *
+ * <p>Mutations call {@link #publish} inside their transaction. Postgres only
+ * delivers the notification if that transaction commits. Every replica holds
+ * one dedicated connection, outside the pool, that listens on the channel
+ * and evicts the affected entries locally. Payloads carry the sending
+ * replica's ID, and a replica skips its own: the write path has already
+ * applied the change locally. Accounts changed elsewhere are re-read into the
+ * {@link AccountReadModel} with one query per poll. While the listener is
+ * disconnected the {@link AccountIdFilter} and read model stop answering.
+ * After reconnecting it clears both caches and both are rebuilt, because
+ * notifications may have been missed.
+ */
+@Component
+public class AccountInvalidationBus {
+
+    static final String CHANNEL = "account_invalidation";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountInvalidationBus.class);
+    private static final ResultSetExtractor<Void> IGNORE_RESULT = rs -> null;
+
+    private final AccountLookupService accountLookupService;
+    private final AccountIdFilter accountIdFilter;
+    private final AccountReadModel accountReadModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcConnectionDetails connectionDetails;
+    private final boolean enabled;
+    private final int pollMillis;
+    private final long reconnectDelayMillis;
+    // Tags this replica's notifications so its own listener can skip them
+    private final String replicaId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public AccountInvalidationBus(AccountLookupService accountLookupService,
+                                  AccountIdFilter accountIdFilter,
+                                  AccountReadModel accountReadModel,
+                                  JdbcTemplate jdbcTemplate,
+                                  JdbcConnectionDetails connectionDetails,
+                                  @Value("${accounts.cache.invalidation.enabled:true}") boolean enabled,
+                                  @Value("${accounts.cache.invalidation.poll-ms:500}") int pollMillis,
+                                  @Value("${accounts.cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+        this.accountLookupService = accountLookupService;
+        this.accountIdFilter = accountIdFilter;
+        this.accountReadModel = accountReadModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.connectionDetails = connectionDetails;
+        this.enabled = enabled;
+        this.pollMillis = pollMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Cross-replica account cache invalidation is disabled");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "account-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(pollMillis * 2L);
+        }
+    }
+
+    /**
+     * Whether the listener is connected and registered for notifications.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Tell every replica to evict the given account and client entries once
+     * the current transaction commits.
+     *
+     * @param accountId the changed account, or null when only the client's list changed
+     */
+    public void publish(UUID accountId, UUID clientId) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", IGNORE_RESULT, CHANNEL, encode(replicaId, accountId, clientId));
+    }
+
+    /**
+     * {@link #publish} for many accounts with one statement, e.g. after a bulk insert.
+     */
+    public void publishAll(Collection<Account> accounts) {
+        if (!enabled || accounts.isEmpty()) {
+            return;
+        }
+        String[] payloads = accounts.stream()
+                .map(account -> encode(replicaId, account.getId(), account.getClientId()))
+                .toArray(String[]::new);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, payload) FROM unnest(?) AS payload");
+            statement.setString(1, CHANNEL);
+            statement.setArray(2, connection.createArrayOf("text", payloads));
+            return statement;
+        }, IGNORE_RESULT);
+    }
+
+    private void listenLoop() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listening = true;
+                accountIdFilter.listenerConnected();
+                accountReadModel.listenerConnected();
+                if (connectedBefore) {
+                    accountLookupService.evictAll();
+                    logger.info("Account invalidation listener reconnected, cleared account caches");
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null && notifications.length > 0) {
+                        List<String> payloads = new ArrayList<>(notifications.length);
+                        for (PGNotification notification : notifications) {
+                            payloads.add(notification.getParameter());
+                        }
+                        handle(payloads);
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                accountIdFilter.listenerDisconnected();
+                accountReadModel.listenerDisconnected();
+                if (!running) {
+                    return;
+                }
+                logger.warn("Account invalidation listener lost its connection, retrying in {} ms: {}",
+                        reconnectDelayMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply one poll's notifications from other replicas.
+     */
+    void handle(List<String> payloads) {
+        List<UUID> changed = new ArrayList<>();
+        for (String payload : payloads) {
+            String[] parts = payload.split(",", -1);
+            if (parts.length != 3) {
+                logger.warn("Ignoring malformed account invalidation: {}", payload);
+                continue;
+            }
+            if (parts[0].equals(replicaId)) {
+                continue;
+            }
+            try {
+                UUID account = parts[1].isEmpty() ? null : UUID.fromString(parts[1]);
+                accountLookupService.evictLocal(account, parts[2].isEmpty() ? null : UUID.fromString(parts[2]));
+                if (account != null) {
+                    // The account may have just been created on another replica
+                    accountIdFilter.addLocal(account);
+                    changed.add(account);
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed account invalidation: {}", payload);
+            }
+        }
+        accountReadModel.refreshAll(changed);
+    }
+
+    String replicaId() {
+        return replicaId;
+    }
+
+    static String encode(String replicaId, UUID accountId, UUID clientId) {
+        return replicaId + "," + (accountId != null ? accountId.toString() : "")
+                + "," + (clientId != null ? clientId.toString() : "");
+    }
+}
@@ -0,0 +1,196 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache in front of {@link AccountRepository} for lookups by
+ * account ID and by client ID.
+ *
+ * <p>Cached values are {@link AccountResponse} snapshots rather than managed
+ * entities and must not be modified by callers. Size, TTL and statistics come
+ * from {@code spring.cache.caffeine.spec}. Audit logging stays in
+ * {@link AccountService}, so it happens on hits and misses alike.
+ */
+@Service
+public class AccountLookupService {
+
+    public static final String ACCOUNTS_BY_ID = "accountsById";
+    public static final String ACCOUNTS_BY_CLIENT = "accountsByClient";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountLookupService.class);
+
+    private final AccountRepository accountRepository;
+    private final CacheManager cacheManager;
+
+    public AccountLookupService(AccountRepository accountRepository, CacheManager cacheManager) {
+        this.accountRepository = accountRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Absent accounts are not cached, so a later create is visible immediately.
+     */
+    @Cacheable(cacheNames = ACCOUNTS_BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<AccountResponse> findById(UUID accountId) {
+        logger.debug("Cache miss for account ID: {}", accountId);
+        return accountRepository.findById(accountId).map(AccountResponse::from);
+    }
+
+    @Cacheable(cacheNames = ACCOUNTS_BY_CLIENT)
+    @Transactional(readOnly = true)
+    public List<AccountResponse> findByClientId(UUID clientId) {
+        logger.debug("Cache miss for client ID: {}", clientId);
+        List<AccountResponse> accounts = new ArrayList<>();
+        accountRepository.findByClientId(clientId).forEach(account -> accounts.add(AccountResponse.from(account)));
+        return List.copyOf(accounts);
+    }
+
+    /**
+     * Load an account and replace its cache entry, resetting its TTL.
+     */
+    @CachePut(cacheNames = ACCOUNTS_BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<AccountResponse> reloadById(UUID accountId) {
+        return accountRepository.findById(accountId).map(AccountResponse::from);
+    }
+
+    /**
+     * Load a client's accounts and replace the cache entry, resetting its TTL.
+     */
+    @CachePut(cacheNames = ACCOUNTS_BY_CLIENT)
+    @Transactional(readOnly = true)
+    public List<AccountResponse> reloadByClientId(UUID clientId) {
+        List<AccountResponse> accounts = new ArrayList<>();
+        accountRepository.findByClientId(clientId).forEach(account -> accounts.add(AccountResponse.from(account)));
+        return List.copyOf(accounts);
+    }
+
+    /**
+     * Drop cached entries affected by a change to an account. Entries are
+     * evicted right away and again once the surrounding transaction commits,
+     * so a read that raced with the change cannot leave the old row cached.
+     *
+     * @param accountId the changed account, or null when only the client's list changed
+     */
+    public void evict(UUID accountId, UUID clientId) {
+        evictLocal(accountId, clientId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(accountId, clientId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evict immediately, without waiting for a transaction. Used for
+     * invalidations received from other replicas.
+     */
+    public void evictLocal(UUID accountId, UUID clientId) {
+        if (accountId != null) {
+            evict(ACCOUNTS_BY_ID, accountId);
+        }
+        if (clientId != null) {
+            evict(ACCOUNTS_BY_CLIENT, clientId);
+        }
+    }
+
+    /**
+     * Clear both caches, e.g. after invalidations may have been missed.
+     */
+    public void evictAll() {
+        for (String cacheName : List.of(ACCOUNTS_BY_ID, ACCOUNTS_BY_CLIENT)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Accounts currently cached by ID, for snapshotting.
+     */
+    public List<AccountResponse> cachedAccounts() {
+        List<AccountResponse> accounts = new ArrayList<>();
+        for (Object value : entries(ACCOUNTS_BY_ID).values()) {
+            // Optional results are cached unwrapped
+            if (value instanceof AccountResponse account) {
+                accounts.add(account);
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * Account lists currently cached by client, for snapshotting.
+     */
+    public Map<UUID, List<AccountResponse>> cachedClientLists() {
+        Map<UUID, List<AccountResponse>> lists = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : entries(ACCOUNTS_BY_CLIENT).entrySet()) {
+            if (entry.getKey() instanceof UUID clientId && entry.getValue() instanceof List<?> list) {
+                List<AccountResponse> accounts = new ArrayList<>(list.size());
+                for (Object account : list) {
+                    accounts.add((AccountResponse) account);
+                }
+                lists.put(clientId, accounts);
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * Pre-populate both caches, e.g. from a snapshot on startup.
+     */
+    public void seed(Collection<AccountResponse> accounts, Map<UUID, List<AccountResponse>> clientLists) {
+        Cache byId = cacheManager.getCache(ACCOUNTS_BY_ID);
+        Cache byClient = cacheManager.getCache(ACCOUNTS_BY_CLIENT);
+        if (byId != null) {
+            accounts.forEach(account -> byId.put(account.getId(), account));
+        }
+        if (byClient != null) {
+            clientLists.forEach((clientId, list) -> byClient.put(clientId, List.copyOf(list)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> entries(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Object nativeCache = cache != null ? cache.getNativeCache() : null;
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (Map<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return (Map<Object, Object>) map;
+        }
+        return Map.of();
+    }
+
+    private void evict(String cacheName, UUID key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Optional read model holding every account in an {@link OffHeapAccountStore},
+ * so lookups by account or client ID touch neither JDBC nor Hibernate.
+ *
+ * <p>Enabled with {@code accounts.read-model.enabled}. The store is loaded in
+ * the background once the application is ready; until then
+ * {@link AccountService} keeps reading through {@link AccountLookupService}.
+ * Local mutations are applied after commit, and changes on other replicas
+ * arrive through {@link AccountInvalidationBus} and are re-read by ID, one
+ * query per batch of notifications. Since the bus is how the store hears of
+ * other replicas' changes, the model stops serving while the bus is
+ * disconnected and until a load that started while it was listening has
+ * completed.
+ * Size direct memory for roughly 64 bytes per account plus 16 bytes of index
+ * ({@code -XX:MaxDirectMemorySize}).
+ */
+@Component
+public class AccountReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountReadModel.class);
+    // Accounts re-read per query, well under the driver's bind parameter limit
+    private static final int REFRESH_CHUNK = 1000;
+
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final boolean invalidationEnabled;
+    private final int recordsPerChunk;
+    private final int initialIndexCapacity;
+
+    private volatile OffHeapAccountStore store;
+    private volatile boolean loading;
+    // IDs changed while a load was scanning; re-read once the new store is live
+    private final Set<UUID> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean loadRunning = new AtomicBoolean();
+    private final AtomicBoolean loadAgain = new AtomicBoolean();
+    private volatile boolean started;
+    private volatile boolean listening;
+    // Whether changes on other replicas may have been missed since the current store's scan started
+    private volatile boolean stale;
+    private final AtomicLong disconnects = new AtomicLong();
+
+    public AccountReadModel(AccountRepository accountRepository,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${accounts.read-model.enabled:false}") boolean enabled,
+                            @Value("${accounts.read-model.records-per-chunk:1048576}") int recordsPerChunk,
+                            @Value("${accounts.read-model.initial-index-capacity:1048576}") int initialIndexCapacity,
+                            @Value("${accounts.cache.invalidation.enabled:true}") boolean invalidationEnabled) {
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.invalidationEnabled = invalidationEnabled;
+        // Without the bus there is nothing to wait for
+        this.stale = invalidationEnabled;
+        this.recordsPerChunk = recordsPerChunk;
+        this.initialIndexCapacity = initialIndexCapacity;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean ready() {
+        return store != null && !stale;
+    }
+
+    public Optional<AccountResponse> findById(UUID accountId) {
+        return Optional.ofNullable(store.get(accountId));
+    }
+
+    public List<AccountResponse> findByClientId(UUID clientId) {
+        return store.getByClient(clientId);
+    }
+
+    /**
+     * Apply a created or updated account once the surrounding transaction commits.
+     */
+    public void put(Account account) {
+        if (!enabled) {
+            return;
+        }
+        // Copy now: the entity may change or be detached before commit
+        Account snapshot = copy(account);
+        afterCommit(() -> apply(snapshot.getId(), snapshot));
+    }
+
+    /**
+     * {@link #put} for many accounts, with one commit callback.
+     */
+    public void putAll(Collection<Account> accounts) {
+        if (!enabled) {
+            return;
+        }
+        List<Account> snapshots = accounts.stream().map(AccountReadModel::copy).toList();
+        afterCommit(() -> snapshots.forEach(snapshot -> apply(snapshot.getId(), snapshot)));
+    }
+
+    /**
+     * Apply a delete once the surrounding transaction commits.
+     */
+    public void remove(UUID accountId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(accountId, null));
+    }
+
+    /**
+     * Re-read accounts after they changed on another replica, with one query
+     * per {@value #REFRESH_CHUNK} accounts.
+     */
+    public void refreshAll(Collection<UUID> accountIds) {
+        if (!enabled || (store == null && !loading) || accountIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(accountIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + REFRESH_CHUNK));
+            Map<UUID, Account> found = new HashMap<>();
+            accountRepository.findAllById(chunk).forEach(account -> found.put(account.getId(), account));
+            chunk.forEach(accountId -> apply(accountId, found.get(accountId)));
+        }
+    }
+
+    /**
+     * The invalidation listener is connected: reload so the store covers
+     * anything changed while notifications could not arrive.
+     */
+    public void listenerConnected() {
+        listening = true;
+        if (started) {
+            reload("reconnect");
+        }
+    }
+
+    /**
+     * The invalidation listener lost its connection: stop serving until the
+     * reload after it reconnects completes.
+     */
+    public void listenerDisconnected() {
+        listening = false;
+        disconnects.incrementAndGet();
+        if (enabled && ready()) {
+            logger.warn("Account read model suspended until the invalidation listener reconnects");
+        }
+        stale = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        started = true;
+        reload("startup");
+    }
+
+    /**
+     * Start loading a fresh store in the background. If a load is already
+     * running, another runs after it, since the running scan may predate the
+     * reason for this one. The current store keeps serving until it is
+     * replaced.
+     *
+     * @return whether a load was started now
+     */
+    public boolean reload(String reason) {
+        if (!enabled) {
+            return false;
+        }
+        if (!loadRunning.compareAndSet(false, true)) {
+            loadAgain.set(true);
+            return false;
+        }
+        loadAgain.set(false);
+        Thread thread = new Thread(() -> {
+            try {
+                load(reason);
+            } catch (RuntimeException e) {
+                logger.error("Loading the account read model ({}) failed: {}", reason, e.getMessage(), e);
+            } finally {
+                loading = false;
+                loadRunning.set(false);
+            }
+            if (loadAgain.get()) {
+                reload(reason);
+            }
+        }, "account-read-model-load");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    void load(String reason) {
+        long startedNanos = System.nanoTime();
+        // Only a scan started while listening can be trusted: later changes arrive as notifications
+        boolean listeningBefore = listening || !invalidationEnabled;
+        long disconnectsBefore = disconnects.get();
+        changedDuringLoad.clear();
+        loading = true;
+        OffHeapAccountStore next = new OffHeapAccountStore(recordsPerChunk, initialIndexCapacity);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Account> accounts = accountRepository.streamAll()) {
+                accounts.forEach(account -> {
+                    next.put(account);
+                    entityManager.detach(account);
+                });
+            }
+        });
+        // Publish the store before clearing the flag so no change falls between the two
+        store = next;
+        loading = false;
+        refreshAll(changedDuringLoad);
+        changedDuringLoad.clear();
+        stale = !listeningBefore || disconnects.get() != disconnectsBefore;
+        logger.info("Loaded account read model ({}) with {} accounts, {} MB off-heap, in {} ms",
+                reason, next.size(), next.offHeapBytes() >> 20, (System.nanoTime() - startedNanos) / 1_000_000);
+    }
+
+    private void apply(UUID accountId, Account account) {
+        if (loading) {
+            changedDuringLoad.add(accountId);
+        }
+        OffHeapAccountStore current = store;
+        if (current == null) {
+            return;
+        }
+        if (account == null) {
+            current.remove(accountId);
+        } else {
+            current.put(account);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Account copy(Account account) {
+        Account copy = new Account(account.getClientId(), account.getAccType(), account.getAccStatus(),
+                account.getOpeningDate(), account.getInitialDeposit(), account.getCurrency(), account.getBranchId());
+        copy.setId(account.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional search filters; a null field matches every account. The opening
+ * date range includes {@code openedFrom} and excludes {@code openedTo}.
+ */
+public record AccountSearchCriteria(Integer branchId,
+                                    AccountStatus status,
+                                    AccountType type,
+                                    String currency,
+                                    LocalDateTime openedFrom,
+                                    LocalDateTime openedTo) {
+}
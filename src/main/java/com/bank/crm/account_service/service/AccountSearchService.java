@@ -0,0 +1,118 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountPageResponse;
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.bank.crm.account_service.repository.AccountSpecifications.*;
+
+/**
+ * Filtered account search with keyset pagination.
+ *
+ * <p>Each page is read in two steps. The first selects only the account ID
+ * and opening date, which the composite search indexes cover, so Postgres can
+ * answer it with an index-only scan. The second loads the page's rows by
+ * primary key.
+ */
+@Service
+public class AccountSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSearchService.class);
+
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final int maxPageSize;
+
+    public AccountSearchService(AccountRepository accountRepository,
+                                EntityManager entityManager,
+                                @Value("${accounts.page.max-size:500}") int maxPageSize) {
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public AccountPageResponse search(AccountSearchCriteria criteria, String cursor, int limit, Sort.Direction direction) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (criteria.currency() != null && criteria.currency().length() != 3) {
+            throw new IllegalArgumentException("Currency must be 3 characters");
+        }
+        logger.info("Searching accounts with {} and limit {}", criteria, limit);
+
+        Specification<Account> spec = Specification.where(inBranch(criteria.branchId()))
+                .and(hasStatus(criteria.status()))
+                .and(hasType(criteria.type()))
+                .and(hasCurrency(criteria.currency()))
+                .and(openedFrom(criteria.openedFrom()))
+                .and(openedBefore(criteria.openedTo()));
+        if (cursor != null && !cursor.isEmpty()) {
+            AccountCursor position = AccountCursor.decode(cursor);
+            spec = spec.and(beyond(position.openingDate(), position.id(), direction.isAscending()));
+        }
+
+        // Fetch one extra key to learn whether another page follows
+        List<Tuple> keys = findKeys(spec, limit + 1, direction);
+        String nextCursor = null;
+        if (keys.size() > limit) {
+            keys = keys.subList(0, limit);
+            Tuple last = keys.get(limit - 1);
+            nextCursor = new AccountCursor(last.get(1, LocalDateTime.class), last.get(0, UUID.class)).encode();
+        }
+
+        List<UUID> ids = new ArrayList<>(keys.size());
+        keys.forEach(key -> ids.add(key.get(0, UUID.class)));
+        Map<UUID, Account> rows = new HashMap<>();
+        if (!ids.isEmpty()) {
+            accountRepository.findAllById(ids).forEach(account -> rows.put(account.getId(), account));
+        }
+        List<AccountResponse> items = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Account account = rows.get(id);
+            // Skip rows deleted between the two reads
+            if (account != null) {
+                items.add(AccountResponse.from(account));
+            }
+        }
+
+        logger.info("Search found {} accounts", items.size());
+        return new AccountPageResponse(items, nextCursor);
+    }
+
+    private List<Tuple> findKeys(Specification<Account> spec, int limit, Sort.Direction direction) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Account> root = query.from(Account.class);
+        query.multiselect(root.get("id"), root.get("openingDate"));
+        Predicate restriction = spec.toPredicate(root, query, cb);
+        if (restriction != null) {
+            query.where(restriction);
+        }
+        query.orderBy(direction.isAscending()
+                ? List.of(cb.asc(root.get("openingDate")), cb.asc(root.get("id")))
+                : List.of(cb.desc(root.get("openingDate")), cb.desc(root.get("id"))));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -1,23 +1,38 @@
 package com.bank.crm.account_service.service;
 
+import com.bank.crm.account_service.dto.AccountPageResponse;
 import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.dto.BatchGetRequest;
+import com.bank.crm.account_service.dto.BatchGetResponse;
 import com.bank.crm.account_service.dto.CreateAccountRequest;
 import com.bank.crm.account_service.dto.UpdateAccountRequest;
 import com.bank.crm.account_service.exception.AccountNotFoundException;
 import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountSummaryKey;
 import com.bank.crm.account_service.repository.AccountRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -31,6 +46,37 @@ public class AccountService {
     @Autowired
     private LoggingService loggingService;
 
+    @Autowired
+    private AccountLookupService accountLookupService;
+
+    @Autowired
+    private AccountInvalidationBus accountInvalidationBus;
+
+    @Autowired
+    private AccountIdFilter accountIdFilter;
+
+    @Autowired
+    private AccountReadModel accountReadModel;
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private AccountSummaryService accountSummaryService;
+
+    @Autowired
+    private AccountCreateCoalescer accountCreateCoalescer;
+
+    @Value("${accounts.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${accounts.batch-get.max-ids:200}")
+    private int maxBatchIds;
+
+    // Concurrent identical lookups share one query; each caller still gets its own audit event
+    private final SingleFlight<UUID, Optional<AccountResponse>> accountLookups = new SingleFlight<>();
+    private final SingleFlight<UUID, List<AccountResponse>> clientLookups = new SingleFlight<>();
+
     /**
      * Create a new account
      */
@@ -50,30 +96,62 @@ public class AccountService {
 
         // Save to database
         Account savedAccount = accountRepository.save(account);
+        accountSummaryService.recordCreated(savedAccount);
 
         logger.info("Account created successfully with ID: {}", savedAccount.getId());
+        accountIdFilter.add(savedAccount.getId());
+        accountReadModel.put(savedAccount);
+        accountLookupService.evict(null, savedAccount.getClientId());
+        // Carries the new ID so other replicas add it to their ID filter
+        accountInvalidationBus.publish(savedAccount.getId(), savedAccount.getClientId());
 
-        //Create remarks for logging
-        String remarks = String.format(
-                "Account created with type: %s, initial deposit: %.2f %s, at branch ID: %d",
-                request.getAccType(),
-                request.getInitialDeposit(),
-                request.getCurrency(),
-                request.getBranchId()
-        );
+        loggingService.sendCreateLog(userId, request.getClientId().toString(), createRemarks(request));
+
+        return convertToResponse(savedAccount);
+    }
 
-        loggingService.sendCreateLog(userId, request.getClientId().toString(), remarks);
+    /**
+     * Create a new account as part of a group commit with other concurrent
+     * creates, when {@link AccountCreateCoalescer#isEnabled()}. Runs outside a transaction so waiting callers don't hold
+     * pooled connections; the coalescer's transaction does the insert, the
+     * audit outbox write and the summary, filter, read model and cache updates.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AccountResponse createAccountGroupCommit(CreateAccountRequest request, String userId) {
+        logger.info("Creating new account for client ID: {} with group commit", request.getClientId());
+
+        Account account = new Account(
+            request.getClientId(),
+            request.getAccType(),
+            request.getAccStatus(),
+            LocalDateTime.now(),
+            request.getInitialDeposit(),
+            request.getCurrency(),
+            request.getBranchId()
+        );
+        String clientId = request.getClientId().toString();
+        String remarks = createRemarks(request);
+        Account savedAccount = accountCreateCoalescer.create(account,
+                () -> loggingService.sendCreateLog(userId, clientId, remarks));
+        logger.info("Account created successfully with ID: {}", savedAccount.getId());
 
         return convertToResponse(savedAccount);
     }
 
+    private static String createRemarks(CreateAccountRequest request) {
+        return "Account created with type: " + request.getAccType()
+                + ", initial deposit: " + request.getInitialDeposit().setScale(2, RoundingMode.HALF_UP).toPlainString()
+                + " " + request.getCurrency()
+                + ", at branch ID: " + request.getBranchId();
+    }
+
     /**
      * Delete an account by ID
      */
     public void deleteAccount(UUID accountId, String userId) {
         logger.info("Attempting to delete account with ID: {}", accountId);
 
-        Optional<Account> optionalAccount = accountRepository.findById(accountId);
+        Optional<Account> optionalAccount = findExisting(accountId);
         if (optionalAccount.isEmpty()) {
             logger.warn("Account with ID {} not found for deletion", accountId);
             throw new AccountNotFoundException("Account not found with ID: " + accountId);
@@ -83,76 +161,182 @@ public class AccountService {
         String clientId = account.getClientId().toString();
 
         accountRepository.deleteById(accountId);
+        accountSummaryService.recordDeleted(account);
+        accountIdFilter.recordDelete();
+        accountReadModel.remove(accountId);
+        accountLookupService.evict(accountId, account.getClientId());
+        accountInvalidationBus.publish(accountId, account.getClientId());
         logger.info("Account with ID {} deleted successfully", accountId);
 
-        String remarks = String.format(
-                "Account for %s with ID %s deleted.",
-                clientId,
-                accountId
-        );
+        String remarks = "Account for " + clientId + " with ID " + accountId + " deleted.";
         loggingService.sendDeleteLog(userId, clientId, remarks);
     }
 
     /**
-     * Get all accounts for a specific client
+     * Get all accounts for a specific client. Runs without its own transaction
+     * so cache hits and callers waiting on an in-flight lookup hold no connection.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AccountResponse> getAccountsByClientId(UUID clientId, String userId) {
         logger.info("Retrieving accounts for client ID: {}", clientId);
+        hotKeyTracker.recordClient(clientId);
 
-        List<Account> accounts = accountRepository.findByClientId(clientId);
+        List<AccountResponse> accounts = accountReadModel.ready()
+                ? accountReadModel.findByClientId(clientId)
+                : clientLookups.execute(clientId, () -> accountLookupService.findByClientId(clientId));
 
         logger.info("Found {} accounts for client ID: {}", accounts.size(), clientId);
 
-        String remarks = String.format(
-                "Retrieved %d accounts for client %s by agent %s.",
-                accounts.size(),
-                clientId,
-                userId
-        );
+        String remarks = "Retrieved " + accounts.size() + " accounts for client " + clientId
+                + " by agent " + userId + ".";
         loggingService.sendReadLog(userId, clientId.toString(), remarks);
 
-        return accounts.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return accounts;
     }
 
     /**
-     * Get all accounts
+     * Resolve many accounts and clients at once, with one query per kind of
+     * ID. Reads are audited once per client, covering every account of that
+     * client in the batch.
      */
     @Transactional(readOnly = true)
-    public List<AccountResponse> getAllAccounts() {
-        logger.info("Retrieving all accounts");
-
-        List<Account> accounts = accountRepository.findAll();
+    public BatchGetResponse batchGet(BatchGetRequest request, String userId) {
+        Set<UUID> accountIds = request.getAccountIds() == null ? Set.of() : new LinkedHashSet<>(request.getAccountIds());
+        Set<UUID> clientIds = request.getClientIds() == null ? Set.of() : new LinkedHashSet<>(request.getClientIds());
+        if (accountIds.contains(null) || clientIds.contains(null)) {
+            throw new IllegalArgumentException("Batch IDs must not be null");
+        }
+        int requested = accountIds.size() + clientIds.size();
+        if (requested == 0 || requested > maxBatchIds) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + maxBatchIds + " IDs");
+        }
+        logger.info("Batch retrieving {} accounts and {} clients", accountIds.size(), clientIds.size());
+
+        Map<UUID, AccountResponse> accounts = new LinkedHashMap<>();
+        List<UUID> notFound = new ArrayList<>();
+        if (!accountIds.isEmpty()) {
+            Map<UUID, AccountResponse> found = new HashMap<>();
+            List<UUID> toQuery = new ArrayList<>(accountIds.size());
+            List<UUID> filterMisses = new ArrayList<>();
+            for (UUID accountId : accountIds) {
+                hotKeyTracker.recordAccount(accountId);
+                if (accountIdFilter.mightExist(accountId)) {
+                    toQuery.add(accountId);
+                } else {
+                    filterMisses.add(accountId);
+                }
+            }
+            toQuery.addAll(accountIdFilter.findExistingDespiteMiss(filterMisses));
+            if (accountReadModel.ready()) {
+                toQuery.forEach(id -> accountReadModel.findById(id).ifPresent(account -> found.put(id, account)));
+            } else if (!toQuery.isEmpty()) {
+                accountRepository.findAllById(toQuery).forEach(account -> found.put(account.getId(), convertToResponse(account)));
+            }
+            for (UUID accountId : accountIds) {
+                AccountResponse account = found.get(accountId);
+                if (account != null) {
+                    accounts.put(accountId, account);
+                } else {
+                    notFound.add(accountId);
+                }
+            }
+        }
 
-        logger.info("Found {} total accounts", accounts.size());
+        Map<UUID, List<AccountResponse>> clients = new LinkedHashMap<>();
+        if (!clientIds.isEmpty()) {
+            for (UUID clientId : clientIds) {
+                hotKeyTracker.recordClient(clientId);
+                clients.put(clientId, new ArrayList<>());
+            }
+            if (accountReadModel.ready()) {
+                clientIds.forEach(id -> clients.get(id).addAll(accountReadModel.findByClientId(id)));
+            } else {
+                accountRepository.findByClientIdIn(clientIds)
+                        .forEach(account -> clients.get(account.getClientId()).add(convertToResponse(account)));
+            }
+        }
 
-        return accounts.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        // One audit record per client, however many of its accounts were read
+        Map<UUID, Set<UUID>> readByClient = new LinkedHashMap<>();
+        accounts.values().forEach(account ->
+                readByClient.computeIfAbsent(account.getClientId(), id -> new LinkedHashSet<>()).add(account.getId()));
+        clients.forEach((clientId, list) -> {
+            Set<UUID> read = readByClient.computeIfAbsent(clientId, id -> new LinkedHashSet<>());
+            list.forEach(account -> read.add(account.getId()));
+        });
+        readByClient.forEach((clientId, read) -> {
+            String remarks = "Batch retrieved " + read.size() + " accounts for client " + clientId
+                    + " by agent " + userId + ": " + read + ".";
+            loggingService.sendReadLog(userId, clientId.toString(), remarks);
+        });
+
+        logger.info("Batch found {} accounts, {} not found, and {} clients", accounts.size(), notFound.size(), clients.size());
+        return new BatchGetResponse(accounts, clients, notFound);
     }
 
     /**
-     * Get account by ID
+     * Get one page of accounts ordered by opening date, then account ID. Each
+     * page is a range scan from the cursor, and no total count is computed.
      */
     @Transactional(readOnly = true)
+    public AccountPageResponse getAccounts(String cursor, int limit, Sort.Direction direction) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        logger.info("Retrieving up to {} accounts {} cursor", limit, cursor == null ? "without" : "after");
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable page = PageRequest.of(0, limit + 1, Sort.by(direction, "openingDate", "id"));
+        List<Account> accounts;
+        if (cursor == null || cursor.isEmpty()) {
+            accounts = accountRepository.findPage(page);
+        } else {
+            AccountCursor position = AccountCursor.decode(cursor);
+            accounts = direction.isAscending()
+                    ? accountRepository.findPageAfter(position.openingDate(), position.id(), page)
+                    : accountRepository.findPageBefore(position.openingDate(), position.id(), page);
+        }
+
+        String nextCursor = null;
+        if (accounts.size() > limit) {
+            accounts = accounts.subList(0, limit);
+            nextCursor = AccountCursor.after(accounts.get(limit - 1)).encode();
+        }
+
+        logger.info("Found {} accounts", accounts.size());
+
+        List<AccountResponse> items = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            items.add(convertToResponse(account));
+        }
+        return new AccountPageResponse(items, nextCursor);
+    }
+
+    /**
+     * Get account by ID. Runs without its own transaction so cache hits and
+     * callers waiting on an in-flight lookup hold no connection.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<AccountResponse> getAccountById(UUID accountId, String userId) {
         logger.info("Retrieving account with ID: {}", accountId);
+        hotKeyTracker.recordAccount(accountId);
 
-        Optional<Account> account = accountRepository.findById(accountId);
+        if (!accountIdFilter.mightExist(accountId) && !accountIdFilter.existsDespiteMiss(accountId)) {
+            logger.warn("Account not found with ID: {} (absent from ID filter)", accountId);
+            return Optional.empty();
+        }
+        Optional<AccountResponse> account = accountReadModel.ready()
+                ? accountReadModel.findById(accountId)
+                : accountLookups.execute(accountId, () -> accountLookupService.findById(accountId));
 
         if (account.isPresent()) {
             logger.info("Account found with ID: {}", accountId);
-            String remarks = String.format(
-                    "Account for %s with ID %s accessed.",
-                    account.get().getClientId().toString(),
-                    accountId
-            );
+            String remarks = "Account for " + account.get().getClientId() + " with ID " + accountId + " accessed.";
             loggingService.sendReadLog(userId, account.get().getClientId().toString(), remarks);
-            return Optional.of(convertToResponse(account.get()));
+            return account;
         } else {
             logger.warn("Account not found with ID: {}", accountId);
+            accountIdFilter.recordFalsePositive();
             return Optional.empty();
         }
     }
@@ -163,7 +347,7 @@ public class AccountService {
     public AccountResponse updateAccount(UUID accountId, UpdateAccountRequest request, String userId) {
         logger.info("Updating account with ID: {}", accountId);
 
-        Optional<Account> optionalAccount = accountRepository.findById(accountId);
+        Optional<Account> optionalAccount = findExisting(accountId);
         if (optionalAccount.isEmpty()) {
             logger.warn("Account with ID {} not found for update", accountId);
             throw new AccountNotFoundException("Account not found with ID: " + accountId);
@@ -171,6 +355,8 @@ public class AccountService {
 
         Account account = optionalAccount.get();
         String clientId = account.getClientId().toString();
+        AccountSummaryKey summaryBefore = AccountSummaryKey.of(account);
+        BigDecimal depositBefore = account.getInitialDeposit();
 
         List<String> attributeNames = new ArrayList<>();
         List<String> beforeValues = new ArrayList<>();
@@ -225,42 +411,50 @@ public class AccountService {
             afterValues.add(afterValue);
         }
 
+        // Save the updated account
+        Account updatedAccount = accountRepository.save(account);
+        accountSummaryService.recordUpdated(summaryBefore, depositBefore, updatedAccount);
+        accountReadModel.put(updatedAccount);
+        accountLookupService.evict(accountId, account.getClientId());
+        accountInvalidationBus.publish(accountId, account.getClientId());
+
+        logger.info("Account with ID {} updated successfully", accountId);
+
         if (!attributeNames.isEmpty()) {
             String consolidatedAttributes = String.join(" | ", attributeNames);
             String consolidatedBeforeValues = String.join(" | ", beforeValues);
             String consolidatedAfterValues = String.join(" | ", afterValues);
-            String consolidatedRemarks = String.format(
-                    "Updated attributes for account ID %s: %s",
-                    accountId,
-                    attributeNames
-            );
+            String consolidatedRemarks = "Updated attributes for account ID " + accountId + ": " + attributeNames;
 
             loggingService.sendUpdateLog(userId, clientId, consolidatedAttributes,
                     consolidatedBeforeValues, consolidatedAfterValues,
                     consolidatedRemarks);
         }
 
-        // Save the updated account
-        Account updatedAccount = accountRepository.save(account);
-
-        logger.info("Account with ID {} updated successfully", accountId);
-
         return convertToResponse(updatedAccount);
     }
 
+    /**
+     * Load and lock an account for modification, skipping the load when the
+     * ID filter and a key-only probe agree it does not exist. The row lock
+     * keeps concurrent changes from computing summary deltas off the same
+     * stale state.
+     */
+    private Optional<Account> findExisting(UUID accountId) {
+        if (!accountIdFilter.mightExist(accountId) && !accountIdFilter.existsDespiteMiss(accountId)) {
+            return Optional.empty();
+        }
+        Optional<Account> account = accountRepository.findByIdForUpdate(accountId);
+        if (account.isEmpty()) {
+            accountIdFilter.recordFalsePositive();
+        }
+        return account;
+    }
+
     /**
      * Convert Account entity to AccountResponse DTO
      */
     private AccountResponse convertToResponse(Account account) {
-        return new AccountResponse(
-            account.getId(),
-            account.getClientId(),
-            account.getAccType(),
-            account.getAccStatus(),
-            account.getOpeningDate(),
-            account.getInitialDeposit(),
-            account.getCurrency(),
-            account.getBranchId()
-        );
+        return AccountResponse.from(account);
     }
 }
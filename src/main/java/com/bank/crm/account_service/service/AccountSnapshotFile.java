@@ -0,0 +1,217 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of the account lookup caches.
+ *
+ * <p>Layout, big-endian: a 32-byte header (magic, format version, watermark
+ * in epoch microseconds, creation time in epoch milliseconds, record count,
+ * client count), one 64-byte record per distinct account, one 16-byte ID per
+ * cached client list, then a CRC32C of everything before it. A record's flag
+ * byte says whether the account was cached by ID; a client's cached list is
+ * every record with that client ID, in file order.
+ *
+ * <p>Files are written to a temporary name and moved into place, and read
+ * through a read-only memory mapping.
+ */
+public final class AccountSnapshotFile {
+
+    static final int MAGIC = 0x41434353; // "ACCS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 64;
+    static final int CLIENT_BYTES = 16;
+    static final int CHECKSUM_BYTES = 4;
+
+    private static final int DEPOSIT_SCALE = 2;
+    private static final int CURRENCY_BYTES = 3;
+    private static final byte CACHED_BY_ID = 1;
+    private static final AccountType[] TYPES = AccountType.values();
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+
+    /**
+     * Snapshot contents.
+     *
+     * @param watermark database time taken before the caches were read
+     */
+    public record Snapshot(LocalDateTime watermark,
+                           Instant createdAt,
+                           List<AccountResponse> accounts,
+                           Map<UUID, List<AccountResponse>> clientLists) {
+    }
+
+    private AccountSnapshotFile() {
+    }
+
+    public static void write(Path file, LocalDateTime watermark, Collection<AccountResponse> accounts,
+                             Map<UUID, List<AccountResponse>> clientLists) throws IOException {
+        // Each account is stored once, flagged if it was also cached by ID
+        Map<UUID, AccountResponse> records = new LinkedHashMap<>();
+        Map<UUID, Boolean> byId = new HashMap<>();
+        for (List<AccountResponse> list : clientLists.values()) {
+            list.forEach(account -> records.put(account.getId(), account));
+        }
+        for (AccountResponse account : accounts) {
+            records.put(account.getId(), account);
+            byId.put(account.getId(), Boolean.TRUE);
+        }
+        long size = HEADER_BYTES + (long) records.size() * RECORD_BYTES
+                + (long) clientLists.size() * CLIENT_BYTES + CHECKSUM_BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Account snapshot too large: " + size + " bytes");
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putLong(toMicros(watermark));
+            buffer.putLong(System.currentTimeMillis());
+            buffer.putInt(records.size());
+            buffer.putInt(clientLists.size());
+            for (AccountResponse account : records.values()) {
+                writeRecord(buffer, account, byId.containsKey(account.getId()));
+            }
+            for (UUID clientId : clientLists.keySet()) {
+                buffer.putLong(clientId.getMostSignificantBits());
+                buffer.putLong(clientId.getLeastSignificantBits());
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().flip());
+            buffer.putInt((int) crc.getValue());
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @throws IOException if the file is truncated, corrupt or of another format version
+     */
+    public static Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Account snapshot has invalid size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported account snapshot version " + version);
+            }
+            int recordCount = buffer.getInt(24);
+            int clientCount = buffer.getInt(28);
+            long expected = HEADER_BYTES + (long) recordCount * RECORD_BYTES
+                    + (long) clientCount * CLIENT_BYTES + CHECKSUM_BYTES;
+            if (recordCount < 0 || clientCount < 0 || expected != size) {
+                throw new IOException("Account snapshot is truncated");
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().limit((int) size - CHECKSUM_BYTES));
+            if ((int) crc.getValue() != buffer.getInt((int) size - CHECKSUM_BYTES)) {
+                throw new IOException("Account snapshot checksum mismatch");
+            }
+
+            LocalDateTime watermark = fromMicros(buffer.getLong(8));
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong(16));
+            List<AccountResponse> accounts = new ArrayList<>();
+            List<AccountResponse> all = new ArrayList<>(recordCount);
+            for (int i = 0; i < recordCount; i++) {
+                int base = HEADER_BYTES + i * RECORD_BYTES;
+                AccountResponse account = readRecord(buffer, base);
+                all.add(account);
+                if ((buffer.get(base + 63) & CACHED_BY_ID) != 0) {
+                    accounts.add(account);
+                }
+            }
+            Map<UUID, List<AccountResponse>> clientLists = new HashMap<>(clientCount * 2);
+            int clientBase = HEADER_BYTES + recordCount * RECORD_BYTES;
+            for (int i = 0; i < clientCount; i++) {
+                int base = clientBase + i * CLIENT_BYTES;
+                clientLists.put(new UUID(buffer.getLong(base), buffer.getLong(base + 8)), new ArrayList<>());
+            }
+            for (AccountResponse account : all) {
+                List<AccountResponse> list = clientLists.get(account.getClientId());
+                if (list != null) {
+                    list.add(account);
+                }
+            }
+            return new Snapshot(watermark, createdAt, accounts, clientLists);
+        }
+    }
+
+    private static void writeRecord(MappedByteBuffer buffer, AccountResponse account, boolean cachedById) {
+        int start = buffer.position();
+        buffer.putLong(account.getId().getMostSignificantBits());
+        buffer.putLong(account.getId().getLeastSignificantBits());
+        buffer.putLong(account.getClientId().getMostSignificantBits());
+        buffer.putLong(account.getClientId().getLeastSignificantBits());
+        buffer.putLong(toMicros(account.getOpeningDate()));
+        buffer.putLong(account.getInitialDeposit().setScale(DEPOSIT_SCALE).unscaledValue().longValueExact());
+        buffer.putInt(account.getBranchId());
+        buffer.put((byte) account.getAccType().ordinal());
+        buffer.put((byte) account.getAccStatus().ordinal());
+        String currency = account.getCurrency();
+        for (int i = 0; i < CURRENCY_BYTES; i++) {
+            buffer.put(i < currency.length() ? (byte) currency.charAt(i) : (byte) ' ');
+        }
+        buffer.position(start + RECORD_BYTES - 1);
+        buffer.put(cachedById ? CACHED_BY_ID : 0);
+    }
+
+    private static AccountResponse readRecord(MappedByteBuffer buffer, int base) {
+        char[] currency = new char[CURRENCY_BYTES];
+        for (int i = 0; i < CURRENCY_BYTES; i++) {
+            currency[i] = (char) (buffer.get(base + 54 + i) & 0xff);
+        }
+        return new AccountResponse(
+                new UUID(buffer.getLong(base), buffer.getLong(base + 8)),
+                new UUID(buffer.getLong(base + 16), buffer.getLong(base + 24)),
+                TYPES[buffer.get(base + 52)],
+                STATUSES[buffer.get(base + 53)],
+                fromMicros(buffer.getLong(base + 32)),
+                BigDecimal.valueOf(buffer.getLong(base + 40), DEPOSIT_SCALE),
+                String.valueOf(currency).stripTrailing(),
+                buffer.getInt(base + 48));
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
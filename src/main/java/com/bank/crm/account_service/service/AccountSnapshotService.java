@@ -0,0 +1,173 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.repository.AccountRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Warm restart for the account lookup caches.
+ *
+ * <p>The cached accounts are written to an {@link AccountSnapshotFile}
+ * periodically and on shutdown. On startup the file is memory-mapped and
+ * used to seed the caches, then entries modified since the snapshot's
+ * watermark, or deleted since, are evicted. This runs as an
+ * {@link ApplicationRunner}, so the readiness probe reports the application
+ * ready only once catch-up has finished. A missing, stale or corrupt
+ * snapshot is skipped and the caches start cold.
+ */
+@Component
+public class AccountSnapshotService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSnapshotService.class);
+    private static final int EXISTENCE_CHECK_BATCH = 1000;
+
+    private final AccountLookupService accountLookupService;
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path file;
+    private final Duration maxAge;
+    private final Duration catchUpOverlap;
+
+    public AccountSnapshotService(AccountLookupService accountLookupService,
+                                  AccountRepository accountRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${accounts.snapshot.enabled:true}") boolean enabled,
+                                  @Value("${accounts.snapshot.file:./data/account-snapshot/accounts.snap}") String file,
+                                  @Value("${accounts.snapshot.max-age-ms:86400000}") long maxAgeMillis,
+                                  @Value("${accounts.snapshot.catch-up-overlap-ms:60000}") long catchUpOverlapMillis) {
+        this.accountLookupService = accountLookupService;
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.file = Paths.get(file);
+        this.maxAge = Duration.ofMillis(maxAgeMillis);
+        this.catchUpOverlap = Duration.ofMillis(catchUpOverlapMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            restore();
+        }
+    }
+
+    /**
+     * Seed the caches from the snapshot and catch up.
+     *
+     * @return the number of accounts seeded
+     */
+    public int restore() {
+        long started = System.nanoTime();
+        AccountSnapshotFile.Snapshot snapshot;
+        try {
+            snapshot = AccountSnapshotFile.read(file);
+        } catch (NoSuchFileException e) {
+            logger.info("No account snapshot at {}, starting with cold caches", file.toAbsolutePath());
+            return 0;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable account snapshot {}: {}", file.toAbsolutePath(), e.getMessage());
+            return 0;
+        }
+        if (snapshot.createdAt().isBefore(Instant.now().minus(maxAge))) {
+            logger.info("Account snapshot from {} is older than {}, starting with cold caches",
+                    snapshot.createdAt(), maxAge);
+            return 0;
+        }
+
+        accountLookupService.seed(snapshot.accounts(), snapshot.clientLists());
+
+        // Transactions stamp rows with their start time, so look back past the watermark
+        LocalDateTime since = snapshot.watermark().minus(catchUpOverlap);
+        List<AccountRepository.AccountKey> modified = accountRepository.findKeysModifiedSince(since);
+        for (AccountRepository.AccountKey key : modified) {
+            accountLookupService.evictLocal(key.getId(), key.getClientId());
+        }
+        int deleted = evictDeleted(snapshot);
+
+        logger.info("Seeded {} accounts and {} client lists from snapshot taken at {}; evicted {} modified and {} deleted in {} ms",
+                snapshot.accounts().size(), snapshot.clientLists().size(), snapshot.watermark(),
+                modified.size(), deleted, (System.nanoTime() - started) / 1_000_000);
+        return snapshot.accounts().size();
+    }
+
+    /**
+     * Write the current cache contents to the snapshot file.
+     */
+    @Scheduled(fixedDelayString = "${accounts.snapshot.interval-ms:300000}",
+            initialDelayString = "${accounts.snapshot.interval-ms:300000}")
+    public void write() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Taken before reading the caches, so anything changed later is caught up on restore
+            LocalDateTime watermark = jdbcTemplate.queryForObject("SELECT localtimestamp", LocalDateTime.class);
+            List<AccountResponse> accounts = accountLookupService.cachedAccounts();
+            Map<UUID, List<AccountResponse>> clientLists = accountLookupService.cachedClientLists();
+            AccountSnapshotFile.write(file, watermark, accounts, clientLists);
+            logger.debug("Wrote account snapshot with {} accounts and {} client lists to {}",
+                    accounts.size(), clientLists.size(), file);
+        } catch (Exception e) {
+            logger.warn("Failed to write account snapshot to {}: {}", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        write();
+    }
+
+    /**
+     * Deletes leave no row to find by modification time, so check which
+     * snapshot accounts still exist.
+     */
+    private int evictDeleted(AccountSnapshotFile.Snapshot snapshot) {
+        Map<UUID, UUID> clientByAccount = new HashMap<>();
+        snapshot.accounts().forEach(account -> clientByAccount.put(account.getId(), account.getClientId()));
+        snapshot.clientLists().values().forEach(list ->
+                list.forEach(account -> clientByAccount.put(account.getId(), account.getClientId())));
+
+        List<UUID> ids = new ArrayList<>(clientByAccount.keySet());
+        Set<UUID> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += EXISTENCE_CHECK_BATCH) {
+            existing.addAll(accountRepository.findExistingIds(
+                    ids.subList(from, Math.min(from + EXISTENCE_CHECK_BATCH, ids.size()))));
+        }
+        int deleted = 0;
+        for (UUID id : ids) {
+            if (!existing.contains(id)) {
+                accountLookupService.evictLocal(id, clientByAccount.get(id));
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
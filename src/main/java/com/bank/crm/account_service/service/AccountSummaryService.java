@@ -0,0 +1,148 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountSummaryResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountSummaryKey;
+import com.bank.crm.account_service.repository.AccountSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maintains the {@code account_summary} table of per-group account counts and
+ * deposit totals.
+ *
+ * <p>Account mutations call the {@code record*} methods inside their own
+ * transaction, which upsert a delta into each affected group. Reads then cost
+ * one row per group rather than a scan of the account table. Each delta holds
+ * a row lock on its group until commit; when an update moves an account
+ * between groups, both rows are locked in key order so concurrent moves
+ * cannot deadlock.
+ */
+@Service
+public class AccountSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSummaryService.class);
+
+    private final AccountSummaryRepository accountSummaryRepository;
+
+    public AccountSummaryService(AccountSummaryRepository accountSummaryRepository) {
+        this.accountSummaryRepository = accountSummaryRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Account account) {
+        apply(AccountSummaryKey.of(account), 1, account.getInitialDeposit());
+    }
+
+    /**
+     * Add many new accounts with one delta per group, applied in key order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Account> accounts) {
+        Map<AccountSummaryKey, BigDecimal> deposits = new TreeMap<>();
+        Map<AccountSummaryKey, Long> counts = new HashMap<>();
+        for (Account account : accounts) {
+            AccountSummaryKey key = AccountSummaryKey.of(account);
+            deposits.merge(key, account.getInitialDeposit(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        deposits.forEach((key, deposit) -> apply(key, counts.get(key), deposit));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Account account) {
+        apply(AccountSummaryKey.of(account), -1, account.getInitialDeposit().negate());
+    }
+
+    /**
+     * Move an account's contribution from its previous group and deposit to
+     * its current ones.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(AccountSummaryKey before, BigDecimal depositBefore, Account after) {
+        AccountSummaryKey current = AccountSummaryKey.of(after);
+        if (before.equals(current)) {
+            BigDecimal change = after.getInitialDeposit().subtract(depositBefore);
+            if (change.signum() != 0) {
+                apply(current, 0, change);
+            }
+        } else if (before.compareTo(current) < 0) {
+            apply(before, -1, depositBefore.negate());
+            apply(current, 1, after.getInitialDeposit());
+        } else {
+            apply(current, 1, after.getInitialDeposit());
+            apply(before, -1, depositBefore.negate());
+        }
+    }
+
+    /**
+     * Move accounts whose status changed from their previous status group to
+     * their current one, with one delta per group applied in key order.
+     *
+     * @param previousStatuses each account's status before the change, by account ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanged(Collection<Account> accounts, Map<UUID, AccountStatus> previousStatuses) {
+        Map<AccountSummaryKey, BigDecimal> deposits = new TreeMap<>();
+        Map<AccountSummaryKey, Long> counts = new HashMap<>();
+        for (Account account : accounts) {
+            AccountSummaryKey current = AccountSummaryKey.of(account);
+            AccountSummaryKey before = new AccountSummaryKey(current.getBranchId(), current.getCurrency(),
+                    current.getAccType(), previousStatuses.get(account.getId()));
+            deposits.merge(before, account.getInitialDeposit().negate(), BigDecimal::add);
+            counts.merge(before, -1L, Long::sum);
+            deposits.merge(current, account.getInitialDeposit(), BigDecimal::add);
+            counts.merge(current, 1L, Long::sum);
+        }
+        deposits.forEach((key, deposit) -> {
+            long count = counts.get(key);
+            if (count != 0 || deposit.signum() != 0) {
+                apply(key, count, deposit);
+            }
+        });
+    }
+
+    /**
+     * Non-empty groups, optionally limited to one branch or currency
+     */
+    @Transactional(readOnly = true)
+    public List<AccountSummaryResponse> summarize(Integer branchId, String currency) {
+        return accountSummaryRepository.findGroups(branchId, currency).stream()
+                .map(AccountSummaryResponse::from)
+                .toList();
+    }
+
+    /**
+     * Recompute the whole table from the account table, for recovery after
+     * manual data fixes. Account writes wait on the table lock until the
+     * rebuild commits, so no delta is lost or counted twice.
+     *
+     * @return the number of groups written
+     */
+    @Transactional
+    public int rebuild() {
+        logger.info("Rebuilding account summary");
+        accountSummaryRepository.lockForRebuild();
+        int removed = accountSummaryRepository.deleteAllGroups();
+        int groups = accountSummaryRepository.insertGroupsFromAccounts();
+        logger.info("Rebuilt account summary: replaced {} groups with {}", removed, groups);
+        return groups;
+    }
+
+    private void apply(AccountSummaryKey key, long countDelta, BigDecimal depositDelta) {
+        accountSummaryRepository.applyDelta(key.getBranchId(), key.getCurrency(),
+                key.getAccType().name(), key.getAccStatus().name(), countDelta, depositDelta);
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.crm.account_service.service;
+
+/**
+ * Account attributes that analytics queries can group by.
+ */
+public enum AnalyticsDimension {
+    TYPE,
+    STATUS,
+    CURRENCY,
+    BRANCH,
+    OPENING_MONTH
+}
@@ -0,0 +1,32 @@
+package com.bank.crm.account_service.service;
+
+import java.util.Locale;
+
+/**
+ * Output formats supported by the account export.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unsupported format
+     */
+    public static ExportFormat fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value + ". Expected ndjson or csv");
+        }
+    }
+}
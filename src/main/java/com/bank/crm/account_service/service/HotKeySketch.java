@@ -0,0 +1,181 @@
+package com.bank.crm.account_service.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate access counts per UUID with a count-min sketch, plus the K
+ * most frequent keys.
+ *
+ * <p>{@link #record} is lock-free: it increments one counter per sketch row
+ * and, if the key's estimate beats the smallest top-K count, drops the key
+ * into a fixed-size ring. {@link #drain} folds the ring into the top-K heap
+ * on a single background thread. Memory is fixed by the sketch width, the
+ * ring size and K, however many distinct keys are seen.
+ */
+public class HotKeySketch {
+
+    private static final int DEPTH = 4;
+
+    /**
+     * A key and its estimated access count.
+     */
+    public record HotKey(UUID key, long estimate) {
+    }
+
+    private final int topK;
+    private final AtomicLongArray counters;
+    private final int widthMask;
+    private final AtomicReferenceArray<UUID> candidates;
+    private final int candidateMask;
+    private final AtomicLong candidateSequence = new AtomicLong();
+    private long drainedSequence;
+
+    private volatile long admissionThreshold;
+    private volatile List<HotKey> top = List.of();
+
+    // Guarded by this; touched only by drain and decay
+    private final Map<UUID, long[]> topCounts = new HashMap<>();
+    private final PriorityQueue<UUID> topHeap;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param candidateBuffer ring size for top-K candidates, rounded up to a power of two
+     */
+    public HotKeySketch(int topK, int width, int candidateBuffer) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be positive");
+        }
+        this.topK = topK;
+        int rowWidth = powerOfTwo(width);
+        this.counters = new AtomicLongArray(DEPTH * rowWidth);
+        this.widthMask = rowWidth - 1;
+        int ringSize = powerOfTwo(candidateBuffer);
+        this.candidates = new AtomicReferenceArray<>(ringSize);
+        this.candidateMask = ringSize - 1;
+        this.topHeap = new PriorityQueue<>(topK + 1, Comparator.comparingLong(key -> topCounts.get(key)[0]));
+    }
+
+    public void record(UUID key) {
+        long h1 = mix(key.getMostSignificantBits() ^ Long.rotateLeft(key.getLeastSignificantBits(), 17));
+        long h2 = mix(key.getLeastSignificantBits() + h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        long hash = h1;
+        for (int row = 0; row < DEPTH; row++, hash += h2) {
+            int index = row * (widthMask + 1) + (int) (hash & widthMask);
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+        if (estimate > admissionThreshold) {
+            // Lossy under contention by design: a hot key will be offered again
+            candidates.set((int) (candidateSequence.getAndIncrement() & candidateMask), key);
+        }
+    }
+
+    public long estimate(UUID key) {
+        long h1 = mix(key.getMostSignificantBits() ^ Long.rotateLeft(key.getLeastSignificantBits(), 17));
+        long h2 = mix(key.getLeastSignificantBits() + h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        long hash = h1;
+        for (int row = 0; row < DEPTH; row++, hash += h2) {
+            estimate = Math.min(estimate, counters.get(row * (widthMask + 1) + (int) (hash & widthMask)));
+        }
+        return estimate;
+    }
+
+    /**
+     * The current top-K, most frequent first, as of the last drain.
+     */
+    public List<HotKey> top() {
+        return top;
+    }
+
+    /**
+     * Fold candidates recorded since the last call into the top-K.
+     */
+    public synchronized void drain() {
+        long end = candidateSequence.get();
+        long start = Math.max(drainedSequence, end - candidates.length());
+        for (long position = start; position < end; position++) {
+            UUID key = candidates.getAndSet((int) (position & candidateMask), null);
+            if (key != null) {
+                offer(key, estimate(key));
+            }
+        }
+        drainedSequence = end;
+        publish();
+    }
+
+    /**
+     * Halve every count so the top-K follows recent traffic rather than all
+     * traffic since startup.
+     */
+    public synchronized void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, count -> count >>> 1);
+        }
+        List<UUID> keys = new ArrayList<>(topHeap);
+        topHeap.clear();
+        for (UUID key : keys) {
+            long[] count = topCounts.get(key);
+            count[0] >>>= 1;
+            if (count[0] == 0) {
+                topCounts.remove(key);
+            } else {
+                topHeap.add(key);
+            }
+        }
+        publish();
+    }
+
+    private void offer(UUID key, long estimate) {
+        long[] count = topCounts.get(key);
+        if (count != null) {
+            // Re-insert so the heap sees the new count
+            topHeap.remove(key);
+            count[0] = estimate;
+            topHeap.add(key);
+            return;
+        }
+        if (topCounts.size() < topK) {
+            topCounts.put(key, new long[] {estimate});
+            topHeap.add(key);
+            return;
+        }
+        UUID smallest = topHeap.peek();
+        if (estimate > topCounts.get(smallest)[0]) {
+            topHeap.poll();
+            topCounts.remove(smallest);
+            topCounts.put(key, new long[] {estimate});
+            topHeap.add(key);
+        }
+    }
+
+    private void publish() {
+        List<HotKey> snapshot = new ArrayList<>(topCounts.size());
+        topCounts.forEach((key, count) -> snapshot.add(new HotKey(key, count[0])));
+        snapshot.sort(Comparator.comparingLong(HotKey::estimate).reversed());
+        top = List.copyOf(snapshot);
+        admissionThreshold = topCounts.size() < topK ? 0 : topCounts.get(topHeap.peek())[0];
+    }
+
+    private static int powerOfTwo(int value) {
+        if (value < 1 || value > 1 << 28) {
+            throw new IllegalArgumentException("Size must be between 1 and " + (1 << 28));
+        }
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
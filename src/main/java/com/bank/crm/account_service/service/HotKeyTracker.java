@@ -0,0 +1,112 @@
+package com.bank.crm.account_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks which accounts and clients dominate read traffic, using one
+ * {@link HotKeySketch} per key kind. The top-K is exposed through the
+ * {@code hotkeys} actuator endpoint.
+ *
+ * <p>With {@code accounts.hot-keys.pin.enabled}, the hottest entries are
+ * reloaded into the lookup caches on a fixed interval, so they are never
+ * left to expire and stampede the database.
+ */
+@Component
+public class HotKeyTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyTracker.class);
+
+    private final AccountLookupService accountLookupService;
+    private final boolean enabled;
+    private final boolean pinEnabled;
+    private final HotKeySketch accounts;
+    private final HotKeySketch clients;
+
+    public HotKeyTracker(AccountLookupService accountLookupService,
+                         @Value("${accounts.hot-keys.enabled:true}") boolean enabled,
+                         @Value("${accounts.hot-keys.top-k:100}") int topK,
+                         @Value("${accounts.hot-keys.sketch-width:65536}") int sketchWidth,
+                         @Value("${accounts.hot-keys.candidate-buffer:4096}") int candidateBuffer,
+                         @Value("${accounts.hot-keys.pin.enabled:false}") boolean pinEnabled) {
+        this.accountLookupService = accountLookupService;
+        this.enabled = enabled;
+        this.pinEnabled = pinEnabled;
+        this.accounts = new HotKeySketch(topK, sketchWidth, candidateBuffer);
+        this.clients = new HotKeySketch(topK, sketchWidth, candidateBuffer);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void recordAccount(UUID accountId) {
+        if (enabled) {
+            accounts.record(accountId);
+        }
+    }
+
+    public void recordClient(UUID clientId) {
+        if (enabled) {
+            clients.record(clientId);
+        }
+    }
+
+    public List<HotKeySketch.HotKey> topAccounts() {
+        return accounts.top();
+    }
+
+    public List<HotKeySketch.HotKey> topClients() {
+        return clients.top();
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.hot-keys.drain-interval-ms:1000}")
+    public void drain() {
+        if (enabled) {
+            accounts.drain();
+            clients.drain();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${accounts.hot-keys.decay-interval-ms:60000}",
+            initialDelayString = "${accounts.hot-keys.decay-interval-ms:60000}")
+    public void decay() {
+        if (enabled) {
+            accounts.decay();
+            clients.decay();
+        }
+    }
+
+    /**
+     * Reload the hottest entries into the lookup caches. Runs more often
+     * than the cache TTL, so pinned entries never expire.
+     */
+    @Scheduled(fixedDelayString = "${accounts.hot-keys.pin.interval-ms:240000}",
+            initialDelayString = "${accounts.hot-keys.pin.interval-ms:240000}")
+    public void pin() {
+        if (!enabled || !pinEnabled) {
+            return;
+        }
+        int reloaded = 0;
+        try {
+            for (HotKeySketch.HotKey hot : accounts.top()) {
+                accountLookupService.reloadById(hot.key());
+                reloaded++;
+            }
+            for (HotKeySketch.HotKey hot : clients.top()) {
+                accountLookupService.reloadByClientId(hot.key());
+                reloaded++;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Stopped pinning hot accounts after {} reloads: {}", reloaded, e.getMessage());
+            return;
+        }
+        logger.debug("Reloaded {} hot entries into the account caches", reloaded);
+    }
+}
@@ -1,115 +1,133 @@
 package com.bank.crm.account_service.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bank.crm.account_service.audit.AuditEvent;
+import com.bank.crm.account_service.audit.AuditEventSerializer;
+import com.bank.crm.account_service.audit.AuditPublisher;
+import com.bank.crm.account_service.audit.CrudOperation;
+import com.bank.crm.account_service.audit.ReadAuditAggregator;
+import com.bank.crm.account_service.model.AuditOutboxEntry;
+import com.bank.crm.account_service.repository.AuditOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LoggingService {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingService.class);
-    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
 
-    private final SqsClient sqsClient;
-    private final ObjectMapper objectMapper;
-
-    @Value("${aws.sqs.logging-queue-url}")
-    private String queueUrl;
-
-    public LoggingService(SqsClient sqsClient, ObjectMapper objectMapper) {
-        this.sqsClient = sqsClient;
-        this.objectMapper = objectMapper;
+    private final AuditPublisher auditPublisher;
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final AuditEventSerializer auditEventSerializer;
+    private final ReadAuditAggregator readAuditAggregator;
+    private final boolean outboxEnabled;
+
+    public LoggingService(AuditPublisher auditPublisher,
+                          AuditOutboxRepository auditOutboxRepository,
+                          AuditEventSerializer auditEventSerializer,
+                          ReadAuditAggregator readAuditAggregator,
+                          @Value("${audit.outbox.enabled:true}") boolean outboxEnabled) {
+        this.auditPublisher = auditPublisher;
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.auditEventSerializer = auditEventSerializer;
+        this.readAuditAggregator = readAuditAggregator;
+        this.outboxEnabled = outboxEnabled;
     }
 
-    public void sendCreateLog(String agentId, String clientId, String remarks) {
+    public CompletableFuture<Void> sendCreateLog(String agentId, String clientId, String remarks) {
         logger.info("Preparing to send CREATE log for clientId: {}, agentId: {}", clientId, agentId);
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Create");
-        messageBody.put("attribute_name", "");
-        messageBody.put("before_value", "");
-        messageBody.put("after_value", "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+        return send(AuditEvent.of(CrudOperation.CREATE, agentId, clientId, remarks));
     }
 
-    public void sendReadLog(String agentId, String clientId, String remarks) {
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Read");
-        messageBody.put("attribute_name", "");
-        messageBody.put("before_value", "");
-        messageBody.put("after_value", "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+    /**
+     * In aggregate mode, repeated reads of a client by the same agent are
+     * coalesced into one message per window; otherwise each read is sent.
+     */
+    public CompletableFuture<Void> sendReadLog(String agentId, String clientId, String remarks) {
+        AuditEvent event = AuditEvent.of(CrudOperation.READ, agentId, clientId, remarks);
+        if (readAuditAggregator.isEnabled()) {
+            CompletableFuture<Void> aggregated = readAuditAggregator.record(event);
+            if (aggregated != null) {
+                return aggregated;
+            }
+        }
+        return send(event);
     }
 
-    public void sendUpdateLog(String agentId, String clientId, String attributeName, String beforeValue, String afterValue, String remarks) {
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Update");
-        messageBody.put("attribute_name", attributeName);
-        messageBody.put("before_value", beforeValue != null ? beforeValue : "");
-        messageBody.put("after_value", afterValue != null ? afterValue : "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+    public CompletableFuture<Void> sendUpdateLog(String agentId, String clientId, String attributeName, String beforeValue, String afterValue, String remarks) {
+        return send(AuditEvent.update(agentId, clientId, attributeName, beforeValue, afterValue, remarks));
     }
 
-    public void sendDeleteLog(String agentId, String clientId, String remarks) {
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Delete");
-        messageBody.put("attribute_name", "");
-        messageBody.put("before_value", "");
-        messageBody.put("after_value", "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+    public CompletableFuture<Void> sendDeleteLog(String agentId, String clientId, String remarks) {
+        return send(AuditEvent.of(CrudOperation.DELETE, agentId, clientId, remarks));
     }
 
-    private void sendMessage(Map<String, Object> messageBody) {
+    /**
+     * Serialize and dispatch an audit event. Mutation events are written to
+     * the outbox when a writable transaction is active, so they commit or roll
+     * back with the change they describe. Without the outbox they are held until
+     * the surrounding transaction commits and are dropped if it rolls back.
+     *
+     * @return a future completed once the message is durably recorded: stored in
+     *         the outbox or accepted by SQS. It is cancelled if the transaction
+     *         rolls back.
+     */
+    public CompletableFuture<Void> send(AuditEvent event) {
+        logger.debug("Audit event: {}", event);
+
+        String jsonMessage;
         try {
-            logger.info("Attempting to send message to SQS queue: {}", queueUrl);
-            logger.debug("Message body: {}", messageBody);
-
-            String jsonMessage = objectMapper.writeValueAsString(messageBody);
+            jsonMessage = auditEventSerializer.toJson(event);
             logger.debug("JSON message: {}", jsonMessage);
+        } catch (Exception e) {
+            logger.error("Failed to serialize log message. Error: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
 
-            SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(jsonMessage)
-                    .build();
+        if (event.operation().isMutation() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (outboxEnabled && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                // Failures here must propagate so the account change rolls back too
+                auditOutboxRepository.save(new AuditOutboxEntry(jsonMessage));
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> delivered = new CompletableFuture<>();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event.agentId(), jsonMessage).whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            delivered.completeExceptionally(error);
+                        } else {
+                            delivered.complete(null);
+                        }
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        delivered.cancel(false);
+                    }
+                }
+            });
+            return delivered;
+        }
 
-            SendMessageResponse response = sqsClient.sendMessage(sendMessageRequest);
-            logger.info("Successfully sent log message to SQS. MessageId: {}, Queue: {}",
-                    response.messageId(), queueUrl);
+        return publish(event.agentId(), jsonMessage);
+    }
 
+    private CompletableFuture<Void> publish(String agentId, String jsonMessage) {
+        try {
+            // Delivery to SQS happens in batches on the publisher's worker thread
+            return auditPublisher.publish(agentId, jsonMessage);
         } catch (Exception e) {
-            logger.error("Failed to send log message to SQS. Queue: {}, Error: {}",
-                    queueUrl, e.getMessage(), e);
-            // Print stack trace for debugging
-            e.printStackTrace();
+            logger.error("Failed to queue log message for SQS. Error: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
@@ -0,0 +1,426 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Accounts packed into fixed-width 64-byte records in direct memory.
+ *
+ * <p>UUIDs are stored as two longs, enums as ordinal bytes, the opening date
+ * as epoch microseconds and the deposit as long minor units (the column has
+ * scale 2). Records live in fixed-size direct chunks; both indexes are
+ * linear-probing tables of slot numbers, also in direct memory, so the heap
+ * only holds a handful of buffer references however many accounts are
+ * stored. The client index points at the newest record of each client, and
+ * each record links to the client's next one.
+ *
+ * <p>Writers take an exclusive lock; readers share a read lock and allocate
+ * nothing beyond the returned DTOs.
+ */
+public class OffHeapAccountStore {
+
+    static final int RECORD_BYTES = 64;
+    private static final int DEPOSIT_SCALE = 2;
+    private static final int NO_SLOT = -1;
+
+    private static final int ID_MSB = 0;
+    private static final int ID_LSB = 8;
+    private static final int CLIENT_MSB = 16;
+    private static final int CLIENT_LSB = 24;
+    private static final int OPENING_MICROS = 32;
+    private static final int DEPOSIT_MINOR = 40;
+    private static final int BRANCH_ID = 48;
+    private static final int NEXT_FOR_CLIENT = 52;
+    private static final int TYPE = 56;
+    private static final int STATUS = 57;
+    private static final int CURRENCY = 58;
+    private static final int CURRENCY_BYTES = 3;
+
+    private static final AccountType[] TYPES = AccountType.values();
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private final StampedLock lock = new StampedLock();
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int highWater;
+    private int freeHead = NO_SLOT;
+    private int size;
+    private final SlotTable byId;
+    private final SlotTable byClient;
+
+    /**
+     * @param recordsPerChunk records per direct chunk, rounded up to a power of two
+     * @param initialIndexCapacity starting slots per index, rounded up to a power of two
+     */
+    public OffHeapAccountStore(int recordsPerChunk, int initialIndexCapacity) {
+        int perChunk = powerOfTwo(recordsPerChunk);
+        if ((long) perChunk * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("recordsPerChunk too large: " + recordsPerChunk);
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(perChunk);
+        this.chunkMask = perChunk - 1;
+        this.byId = new SlotTable(powerOfTwo(initialIndexCapacity), false);
+        this.byClient = new SlotTable(powerOfTwo(initialIndexCapacity), true);
+    }
+
+    /**
+     * Insert or replace an account.
+     */
+    public void put(Account account) {
+        UUID id = account.getId();
+        long stamp = lock.writeLock();
+        try {
+            int slot = byId.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot != NO_SLOT && !sameClient(slot, account.getClientId())) {
+                removeSlot(slot);
+                slot = NO_SLOT;
+            }
+            if (slot == NO_SLOT) {
+                slot = allocate();
+                write(slot, account);
+                byId.insert(slot);
+                linkToClient(slot);
+                size++;
+            } else {
+                // Same client, so both indexes and the client chain stay valid
+                int next = chunk(slot).getInt(offset(slot) + NEXT_FOR_CLIENT);
+                write(slot, account);
+                chunk(slot).putInt(offset(slot) + NEXT_FOR_CLIENT, next);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return whether the account was present
+     */
+    public boolean remove(UUID id) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = byId.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot == NO_SLOT) {
+                return false;
+            }
+            removeSlot(slot);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the account, or null if absent
+     */
+    public AccountResponse get(UUID id) {
+        long stamp = lock.readLock();
+        try {
+            int slot = byId.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return slot == NO_SLOT ? null : read(slot);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public List<AccountResponse> getByClient(UUID clientId) {
+        long stamp = lock.readLock();
+        try {
+            int slot = byClient.find(clientId.getMostSignificantBits(), clientId.getLeastSignificantBits());
+            if (slot == NO_SLOT) {
+                return List.of();
+            }
+            List<AccountResponse> accounts = new ArrayList<>();
+            for (; slot != NO_SLOT; slot = chunk(slot).getInt(offset(slot) + NEXT_FOR_CLIENT)) {
+                accounts.add(read(slot));
+            }
+            return accounts;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Direct memory held by records and both indexes.
+     */
+    public long offHeapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) chunks.length * (chunkMask + 1) * RECORD_BYTES + byId.bytes() + byClient.bytes();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean sameClient(int slot, UUID clientId) {
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        return chunk.getLong(base + CLIENT_MSB) == clientId.getMostSignificantBits()
+                && chunk.getLong(base + CLIENT_LSB) == clientId.getLeastSignificantBits();
+    }
+
+    private void removeSlot(int slot) {
+        byId.delete(slot);
+        unlinkFromClient(slot);
+        ByteBuffer chunk = chunk(slot);
+        chunk.putInt(offset(slot) + NEXT_FOR_CLIENT, freeHead);
+        freeHead = slot;
+        size--;
+    }
+
+    private void linkToClient(int slot) {
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        int head = byClient.find(chunk.getLong(base + CLIENT_MSB), chunk.getLong(base + CLIENT_LSB));
+        chunk.putInt(base + NEXT_FOR_CLIENT, head);
+        if (head == NO_SLOT) {
+            byClient.insert(slot);
+        } else {
+            byClient.replace(head, slot);
+        }
+    }
+
+    private void unlinkFromClient(int slot) {
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        int next = chunk.getInt(base + NEXT_FOR_CLIENT);
+        int head = byClient.find(chunk.getLong(base + CLIENT_MSB), chunk.getLong(base + CLIENT_LSB));
+        if (head == slot) {
+            if (next == NO_SLOT) {
+                byClient.delete(slot);
+            } else {
+                byClient.replace(slot, next);
+            }
+            return;
+        }
+        int previous = head;
+        while (previous != NO_SLOT) {
+            int candidate = chunk(previous).getInt(offset(previous) + NEXT_FOR_CLIENT);
+            if (candidate == slot) {
+                chunk(previous).putInt(offset(previous) + NEXT_FOR_CLIENT, next);
+                return;
+            }
+            previous = candidate;
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NO_SLOT) {
+            int slot = freeHead;
+            freeHead = chunk(slot).getInt(offset(slot) + NEXT_FOR_CLIENT);
+            return slot;
+        }
+        int slot = highWater++;
+        if ((slot >>> chunkShift) == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunks.length - 1] = ByteBuffer.allocateDirect((chunkMask + 1) * RECORD_BYTES)
+                    .order(ByteOrder.nativeOrder());
+        }
+        return slot;
+    }
+
+    private void write(int slot, Account account) {
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        chunk.putLong(base + ID_MSB, account.getId().getMostSignificantBits());
+        chunk.putLong(base + ID_LSB, account.getId().getLeastSignificantBits());
+        chunk.putLong(base + CLIENT_MSB, account.getClientId().getMostSignificantBits());
+        chunk.putLong(base + CLIENT_LSB, account.getClientId().getLeastSignificantBits());
+        LocalDateTime opened = account.getOpeningDate();
+        chunk.putLong(base + OPENING_MICROS,
+                opened.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + opened.getNano() / 1_000);
+        chunk.putLong(base + DEPOSIT_MINOR,
+                account.getInitialDeposit().setScale(DEPOSIT_SCALE).unscaledValue().longValueExact());
+        chunk.putInt(base + BRANCH_ID, account.getBranchId());
+        chunk.putInt(base + NEXT_FOR_CLIENT, NO_SLOT);
+        chunk.put(base + TYPE, (byte) account.getAccType().ordinal());
+        chunk.put(base + STATUS, (byte) account.getAccStatus().ordinal());
+        String currency = account.getCurrency();
+        for (int i = 0; i < CURRENCY_BYTES; i++) {
+            chunk.put(base + CURRENCY + i, i < currency.length() ? (byte) currency.charAt(i) : (byte) ' ');
+        }
+    }
+
+    private AccountResponse read(int slot) {
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        long micros = chunk.getLong(base + OPENING_MICROS);
+        char[] currency = new char[CURRENCY_BYTES];
+        for (int i = 0; i < CURRENCY_BYTES; i++) {
+            currency[i] = (char) (chunk.get(base + CURRENCY + i) & 0xff);
+        }
+        return new AccountResponse(
+                new UUID(chunk.getLong(base + ID_MSB), chunk.getLong(base + ID_LSB)),
+                new UUID(chunk.getLong(base + CLIENT_MSB), chunk.getLong(base + CLIENT_LSB)),
+                TYPES[chunk.get(base + TYPE)],
+                STATUSES[chunk.get(base + STATUS)],
+                LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC),
+                BigDecimal.valueOf(chunk.getLong(base + DEPOSIT_MINOR), DEPOSIT_SCALE),
+                String.valueOf(currency).stripTrailing(),
+                chunk.getInt(base + BRANCH_ID));
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot >>> chunkShift];
+    }
+
+    private int offset(int slot) {
+        return (slot & chunkMask) * RECORD_BYTES;
+    }
+
+    private static int powerOfTwo(int value) {
+        if (value < 1 || value > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 30));
+        }
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long z = msb ^ Long.rotateLeft(lsb, 29);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    /**
+     * Linear-probing table of slot numbers keyed by a UUID read from the
+     * record itself, so the table stores only an int per entry. Kept at most
+     * half full; deletes shift later entries back instead of leaving
+     * tombstones.
+     */
+    private final class SlotTable {
+        private static final int EMPTY = 0;
+
+        private final boolean clientKey;
+        private ByteBuffer table;
+        private int mask;
+        private int entries;
+
+        private SlotTable(int capacity, boolean clientKey) {
+            this.clientKey = clientKey;
+            allocateTable(Math.max(capacity, 2));
+        }
+
+        private int find(long msb, long lsb) {
+            for (int i = hash(msb, lsb) & mask; ; i = (i + 1) & mask) {
+                int stored = table.getInt(i << 2);
+                if (stored == EMPTY) {
+                    return NO_SLOT;
+                }
+                int slot = stored - 1;
+                if (keyMsb(slot) == msb && keyLsb(slot) == lsb) {
+                    return slot;
+                }
+            }
+        }
+
+        private void insert(int slot) {
+            if ((entries + 1) * 2L > mask + 1L) {
+                grow();
+            }
+            put(slot);
+            entries++;
+        }
+
+        private void replace(int oldSlot, int newSlot) {
+            table.putInt(position(oldSlot) << 2, newSlot + 1);
+        }
+
+        private void delete(int slot) {
+            int hole = position(slot);
+            table.putInt(hole << 2, EMPTY);
+            entries--;
+            for (int i = (hole + 1) & mask; ; i = (i + 1) & mask) {
+                int stored = table.getInt(i << 2);
+                if (stored == EMPTY) {
+                    return;
+                }
+                int home = hash(keyMsb(stored - 1), keyLsb(stored - 1)) & mask;
+                // Move the entry into the hole unless its home lies cyclically in (hole, i]
+                boolean homeBetween = hole <= i ? (home > hole && home <= i) : (home > hole || home <= i);
+                if (!homeBetween) {
+                    table.putInt(hole << 2, stored);
+                    table.putInt(i << 2, EMPTY);
+                    hole = i;
+                }
+            }
+        }
+
+        private int position(int slot) {
+            for (int i = hash(keyMsb(slot), keyLsb(slot)) & mask; ; i = (i + 1) & mask) {
+                int stored = table.getInt(i << 2);
+                if (stored == slot + 1) {
+                    return i;
+                }
+                if (stored == EMPTY) {
+                    throw new IllegalStateException("Slot " + slot + " is not indexed");
+                }
+            }
+        }
+
+        private void put(int slot) {
+            int i = hash(keyMsb(slot), keyLsb(slot)) & mask;
+            while (table.getInt(i << 2) != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table.putInt(i << 2, slot + 1);
+        }
+
+        private void grow() {
+            ByteBuffer old = table;
+            int oldCapacity = mask + 1;
+            if (oldCapacity >= 1 << 29) {
+                throw new IllegalStateException("Account index is full");
+            }
+            allocateTable(oldCapacity * 2);
+            for (int i = 0; i < oldCapacity; i++) {
+                int stored = old.getInt(i << 2);
+                if (stored != EMPTY) {
+                    put(stored - 1);
+                }
+            }
+        }
+
+        private void allocateTable(int capacity) {
+            // Direct buffers start zeroed, i.e. all EMPTY
+            table = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder());
+            mask = capacity - 1;
+        }
+
+        private long keyMsb(int slot) {
+            return chunk(slot).getLong(offset(slot) + (clientKey ? CLIENT_MSB : ID_MSB));
+        }
+
+        private long keyLsb(int slot) {
+            return chunk(slot).getLong(offset(slot) + (clientKey ? CLIENT_LSB : ID_LSB));
+        }
+
+        private long bytes() {
+            return (long) (mask + 1) * Integer.BYTES;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.bank.crm.account_service.service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable compressed set of row numbers, laid out like a roaring bitmap.
+ *
+ * <p>Rows are split into chunks of 65536 by their high 16 bits. A chunk with
+ * at most {@value #ARRAY_MAX} rows stores its low bits as a sorted
+ * {@code char[]}; a denser chunk stores a 1024-word bitset. Intersections and
+ * unions work chunk by chunk and pick the cheapest loop for each pair of
+ * containers, so sparse values such as a single branch cost little to
+ * combine with dense ones such as a status.
+ */
+public final class RowBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    public static final RowBitmap EMPTY = new RowBitmap(new char[0], new Container[0], 0);
+
+    private final char[] keys;
+    private final Container[] containers;
+    private final int size;
+
+    private RowBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Every row in {@code [0, rows)}.
+     */
+    public static RowBitmap range(int rows) {
+        int chunks = (rows + 0xFFFF) >>> 16;
+        char[] keys = new char[chunks];
+        Container[] containers = new Container[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            keys[chunk] = (char) chunk;
+            int inChunk = Math.min(rows - (chunk << 16), 1 << 16);
+            long[] words = new long[WORDS];
+            Arrays.fill(words, 0, inChunk >>> 6, -1L);
+            if ((inChunk & 63) != 0) {
+                words[inChunk >>> 6] = (1L << inChunk) - 1;
+            }
+            containers[chunk] = new BitsetContainer(words, inChunk).shrink();
+        }
+        return new RowBitmap(keys, containers, chunks);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int row) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (row >>> 16));
+        return index >= 0 && containers[index].contains((char) row);
+    }
+
+    public RowBitmap and(RowBitmap other) {
+        int capacity = Math.min(size, other.size);
+        char[] outKeys = new char[capacity];
+        Container[] outContainers = new Container[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container joined = containers[i].and(other.containers[j]);
+                if (joined.cardinality() > 0) {
+                    outKeys[count] = keys[i];
+                    outContainers[count++] = joined;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new RowBitmap(outKeys, outContainers, count);
+    }
+
+    public RowBitmap or(RowBitmap other) {
+        int capacity = size + other.size;
+        char[] outKeys = new char[capacity];
+        Container[] outContainers = new Container[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                outKeys[count] = keys[i];
+                outContainers[count++] = containers[i++];
+            } else if (i == size || keys[i] > other.keys[j]) {
+                outKeys[count] = other.keys[j];
+                outContainers[count++] = other.containers[j++];
+            } else {
+                outKeys[count] = keys[i];
+                outContainers[count++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return new RowBitmap(outKeys, outContainers, count);
+    }
+
+    /**
+     * The rows of this bitmap that fall in {@code [from, to)}.
+     */
+    public RowBitmap limit(int from, int to) {
+        if (from >= to || size == 0) {
+            return EMPTY;
+        }
+        int firstChunk = from >>> 16;
+        int lastChunk = (to - 1) >>> 16;
+        char[] outKeys = new char[size];
+        Container[] outContainers = new Container[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int chunk = keys[i];
+            if (chunk < firstChunk || chunk > lastChunk) {
+                continue;
+            }
+            int low = chunk == firstChunk ? from & 0xFFFF : 0;
+            int high = chunk == lastChunk ? ((to - 1) & 0xFFFF) + 1 : 1 << 16;
+            Container limited = low == 0 && high == 1 << 16 ? containers[i] : containers[i].limit(low, high);
+            if (limited.cardinality() > 0) {
+                outKeys[count] = keys[i];
+                outContainers[count++] = limited;
+            }
+        }
+        return new RowBitmap(outKeys, outContainers, count);
+    }
+
+    /**
+     * Call {@code action} with every row in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Sum of {@code column[row]} over every row.
+     */
+    public long sum(long[] column) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += containers[i].sum(keys[i] << 16, column);
+        }
+        return sum;
+    }
+
+    /**
+     * Bytes held by the containers, ignoring object headers.
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Collects rows added in ascending order.
+     */
+    public static final class Builder {
+
+        private char[] keys = new char[4];
+        private Container[] containers = new Container[4];
+        private int size;
+        private char[] pending = new char[16];
+        private long[] pendingWords;
+        private int pendingCount;
+        private int pendingKey = -1;
+
+        public void add(int row) {
+            int key = row >>> 16;
+            if (key != pendingKey) {
+                flush();
+                pendingKey = key;
+            }
+            char low = (char) row;
+            if (pendingWords != null) {
+                pendingWords[low >>> 6] |= 1L << low;
+                pendingCount++;
+                return;
+            }
+            if (pendingCount == ARRAY_MAX) {
+                pendingWords = new long[WORDS];
+                for (int i = 0; i < pendingCount; i++) {
+                    pendingWords[pending[i] >>> 6] |= 1L << pending[i];
+                }
+                pendingWords[low >>> 6] |= 1L << low;
+                pendingCount++;
+                return;
+            }
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pendingCount * 2);
+            }
+            pending[pendingCount++] = low;
+        }
+
+        public RowBitmap build() {
+            flush();
+            return new RowBitmap(keys, containers, size);
+        }
+
+        private void flush() {
+            if (pendingCount == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = (char) pendingKey;
+            containers[size++] = pendingWords != null
+                    ? new BitsetContainer(pendingWords, pendingCount)
+                    : new ArrayContainer(Arrays.copyOf(pending, pendingCount));
+            pendingWords = null;
+            pendingCount = 0;
+        }
+    }
+
+    private abstract static sealed class Container permits ArrayContainer, BitsetContainer {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container limit(int from, int to);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        abstract long sum(int base, long[] column);
+
+        abstract long sizeInBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private final char[] values;
+
+        ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] out = new char[values.length];
+            int count = 0;
+            if (other instanceof BitsetContainer bitset) {
+                for (char value : values) {
+                    if (bitset.contains(value)) {
+                        out[count++] = value;
+                    }
+                }
+            } else {
+                char[] others = ((ArrayContainer) other).values;
+                int i = 0;
+                int j = 0;
+                while (i < values.length && j < others.length) {
+                    if (values[i] < others[j]) {
+                        i++;
+                    } else if (values[i] > others[j]) {
+                        j++;
+                    } else {
+                        out[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return new ArrayContainer(Arrays.copyOf(out, count));
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitsetContainer) {
+                return other.or(this);
+            }
+            char[] others = ((ArrayContainer) other).values;
+            char[] out = new char[values.length + others.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < values.length || j < others.length) {
+                if (j == others.length || (i < values.length && values[i] < others[j])) {
+                    out[count++] = values[i++];
+                } else if (i == values.length || values[i] > others[j]) {
+                    out[count++] = others[j++];
+                } else {
+                    out[count++] = values[i++];
+                    j++;
+                }
+            }
+            if (count > ARRAY_MAX) {
+                long[] words = new long[WORDS];
+                for (int k = 0; k < count; k++) {
+                    words[out[k] >>> 6] |= 1L << out[k];
+                }
+                return new BitsetContainer(words, count);
+            }
+            return new ArrayContainer(Arrays.copyOf(out, count));
+        }
+
+        @Override
+        Container limit(int from, int to) {
+            int start = lowerBound(from);
+            int end = lowerBound(to);
+            return new ArrayContainer(Arrays.copyOfRange(values, start, end));
+        }
+
+        private int lowerBound(int low) {
+            if (low > 0xFFFF) {
+                return values.length;
+            }
+            int index = Arrays.binarySearch(values, (char) low);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (char value : values) {
+                action.accept(base | value);
+            }
+        }
+
+        @Override
+        long sum(int base, long[] column) {
+            long sum = 0;
+            for (char value : values) {
+                sum += column[base | value];
+            }
+            return sum;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return values.length * 2L;
+        }
+    }
+
+    private static final class BitsetContainer extends Container {
+
+        private final long[] words;
+        private final int cardinality;
+
+        BitsetContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] others = ((BitsetContainer) other).words;
+            long[] out = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                out[i] = words[i] & others[i];
+                count += Long.bitCount(out[i]);
+            }
+            return new BitsetContainer(out, count).shrink();
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] out = words.clone();
+            int count = cardinality;
+            if (other instanceof ArrayContainer array) {
+                for (char value : array.values) {
+                    long bit = 1L << value;
+                    if ((out[value >>> 6] & bit) == 0) {
+                        out[value >>> 6] |= bit;
+                        count++;
+                    }
+                }
+            } else {
+                long[] others = ((BitsetContainer) other).words;
+                count = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    out[i] |= others[i];
+                    count += Long.bitCount(out[i]);
+                }
+            }
+            return new BitsetContainer(out, count);
+        }
+
+        @Override
+        Container limit(int from, int to) {
+            long[] out = words.clone();
+            for (int i = 0; i < from >>> 6; i++) {
+                out[i] = 0;
+            }
+            out[from >>> 6] &= -1L << from;
+            if (to < 1 << 16) {
+                out[to >>> 6] &= (1L << to) - 1;
+                for (int i = (to >>> 6) + 1; i < WORDS; i++) {
+                    out[i] = 0;
+                }
+            }
+            int count = 0;
+            for (long word : out) {
+                count += Long.bitCount(word);
+            }
+            return new BitsetContainer(out, count).shrink();
+        }
+
+        /**
+         * Convert to an array container once sparse enough to be smaller.
+         */
+        Container shrink() {
+            if (cardinality > ARRAY_MAX) {
+                return this;
+            }
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base + (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long sum(int base, long[] column) {
+            long sum = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    sum += column[base + (i << 6) + Long.numberOfTrailingZeros(word)];
+                    word &= word - 1;
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return WORDS * 8L;
+        }
+    }
+}
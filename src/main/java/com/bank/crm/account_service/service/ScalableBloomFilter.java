@@ -0,0 +1,188 @@
+package com.bank.crm.account_service.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over UUIDs that grows by adding stages instead of degrading.
+ *
+ * <p>Each stage holds up to its capacity; when full, a new stage twice the
+ * size with half the false-positive rate is added, so the compound rate stays
+ * below the configured target however many keys arrive. Adds and lookups are
+ * lock-free apart from the brief lock taken to add a stage.
+ */
+public class ScalableBloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final double falsePositiveRate;
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // The first stage gets (1 - r) of the budget so the geometric series sums to the target
+        stages.add(new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 31));
+        long h2 = mix(id.getLeastSignificantBits() + h1) | 1;
+        for (Stage stage : stages) {
+            if (stage.contains(h1, h2)) {
+                return;
+            }
+        }
+        Stage last = stages.get(stages.size() - 1);
+        if (last.isFull()) {
+            last = grow(last);
+        }
+        last.put(h1, h2);
+    }
+
+    /**
+     * @return false if the ID was definitely never added, true if it may have been
+     */
+    public boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 31));
+        long h2 = mix(id.getLeastSignificantBits() + h1) | 1;
+        for (Stage stage : stages) {
+            if (stage.contains(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of distinct IDs added, give or take IDs that collided with an
+     * existing entry.
+     */
+    public long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count.get();
+        }
+        return size;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    public long bitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    /**
+     * False-positive rate expected from how full each stage actually is,
+     * which can differ from the configured target once IDs are deleted.
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Stage stage : stages) {
+            allNegative *= 1.0 - stage.expectedFalsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    public double targetFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage last = stages.get(stages.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        Stage next = new Stage(full.capacity * GROWTH_FACTOR, full.falsePositiveRate * TIGHTENING_RATIO);
+        stages.add(next);
+        return next;
+    }
+
+    /**
+     * Stafford variant 13 of the splitmix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stage {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong setBits = new AtomicLong();
+
+        private Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            // Round up to whole words
+            long words = Math.max(1, (optimalBits + 63) >>> 6);
+            if (words > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter stage too large: " + optimalBits + " bits");
+            }
+            this.words = new AtomicLongArray((int) words);
+            this.bits = words << 6;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        }
+
+        private boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        private boolean contains(long h1, long h2) {
+            long hash = h1;
+            for (int i = 0; i < hashes; i++, hash += h2) {
+                long bit = Long.remainderUnsigned(hash, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long h1, long h2) {
+            long hash = h1;
+            for (int i = 0; i < hashes; i++, hash += h2) {
+                long bit = Long.remainderUnsigned(hash, bits);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+                if ((word & mask) == 0) {
+                    setBits.incrementAndGet();
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        private double expectedFalsePositiveRate() {
+            return Math.pow((double) setBits.get() / bits, hashes);
+        }
+    }
+}
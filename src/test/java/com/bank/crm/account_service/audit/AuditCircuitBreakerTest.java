@@ -0,0 +1,78 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AuditCircuitBreaker breaker = new AuditCircuitBreaker(3, 1000, now::get);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+
+        assertEquals(AuditCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void shouldAllowOneTrialAfterOpenDuration() {
+        openBreaker();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+        assertEquals(AuditCircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    @Test
+    void shouldCloseWhenTrialSucceeds() {
+        openBreaker();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        breaker.allowRequest();
+
+        breaker.recordSuccess();
+
+        assertEquals(AuditCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void shouldReopenWhenTrialFails() {
+        openBreaker();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        breaker.allowRequest();
+
+        breaker.recordFailure();
+
+        assertEquals(AuditCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void isCallPermitted_shouldNotTakeTheTrial() {
+        openBreaker();
+        assertFalse(breaker.isCallPermitted());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(breaker.isCallPermitted());
+        assertEquals(AuditCircuitBreaker.State.OPEN, breaker.state());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.crm.account_service.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEventSerializer serializer = new AuditEventSerializer(objectMapper);
+
+    @Test
+    void toJson_shouldWriteTheLoggingQueueFields() throws Exception {
+        AuditEvent event = new AuditEvent(CrudOperation.UPDATE, "Currency", "USD", "EUR",
+                "agent-1", "client-1", LocalDateTime.of(2024, 3, 1, 9, 30, 0), "Updated \"currency\"");
+
+        Map<String, Object> json = objectMapper.readValue(serializer.toJson(event), new TypeReference<>() { });
+
+        assertEquals("Update", json.get("crud_operation"));
+        assertEquals("Currency", json.get("attribute_name"));
+        assertEquals("USD", json.get("before_value"));
+        assertEquals("EUR", json.get("after_value"));
+        assertEquals("agent-1", json.get("agent_id"));
+        assertEquals("client-1", json.get("client_id"));
+        assertEquals("2024-03-01T09:30:00", json.get("date_time"));
+        assertEquals("Updated \"currency\"", json.get("remarks"));
+        assertEquals(8, json.size());
+    }
+
+    @Test
+    void toJson_shouldWriteEmptyStringsForUnusedFields() throws Exception {
+        AuditEvent event = AuditEvent.of(CrudOperation.READ, "agent-1", "client-1", "read");
+
+        Map<String, Object> json = objectMapper.readValue(serializer.toJson(event), new TypeReference<>() { });
+
+        assertEquals("Read", json.get("crud_operation"));
+        assertEquals("", json.get("attribute_name"));
+        assertEquals("", json.get("before_value"));
+        assertEquals("", json.get("after_value"));
+    }
+
+    @Test
+    void toJson_shouldNotLeakStateBetweenCalls() {
+        AuditEvent longEvent = AuditEvent.of(CrudOperation.CREATE, "agent-1", "client-1", "x".repeat(20_000));
+        AuditEvent shortEvent = AuditEvent.of(CrudOperation.DELETE, "agent-2", "client-2", "deleted");
+
+        serializer.toJson(longEvent);
+        String json = serializer.toJson(shortEvent);
+
+        assertTrue(json.startsWith("{\"crud_operation\":\"Delete\""));
+        assertFalse(json.contains("xxx"));
+    }
+}
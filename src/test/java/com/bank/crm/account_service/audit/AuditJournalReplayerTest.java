@@ -0,0 +1,75 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditJournalReplayerTest {
+
+    @Mock
+    private AuditSink sink;
+
+    @TempDir
+    Path journalDir;
+
+    private AuditJournal journal;
+    private final AuditCircuitBreaker circuitBreaker = new AuditCircuitBreaker(1, 30000);
+    private AuditJournalReplayer replayer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new AuditJournal(journalDir.toString(), 4096);
+        journal.open();
+        replayer = new AuditJournalReplayer(journal, sink, circuitBreaker);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void replay_shouldDrainTheJournal() {
+        journal.append(List.of("first", "second"));
+        when(sink.send(List.of("first", "second"))).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        replayer.replay();
+
+        assertTrue(journal.isEmpty());
+    }
+
+    @Test
+    void replay_shouldKeepRejectedEntriesForTheNextRun() {
+        journal.append(List.of("first", "second", "third"));
+        when(sink.send(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(1)));
+
+        replayer.replay();
+
+        verify(sink, times(1)).send(anyList());
+        assertEquals(List.of("second"), journal.read(10).bodies());
+    }
+
+    @Test
+    void replay_shouldKeepEverythingWhenSqsIsUnavailable() {
+        journal.append(List.of("first"));
+        when(sink.send(anyList())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("down")));
+
+        replayer.replay();
+
+        assertEquals(List.of("first"), journal.read(10).bodies());
+        assertEquals(AuditCircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldReturnRecordsInAppendOrder() throws Exception {
+        AuditJournal journal = new AuditJournal(directory.toString(), 1024);
+        journal.open();
+
+        journal.append(List.of("first", "second"));
+        journal.append(List.of("third"));
+
+        assertFalse(journal.isEmpty());
+        assertEquals(List.of("first", "second", "third"), journal.read(10).bodies());
+        assertEquals(List.of("first", "second"), journal.read(2).bodies());
+        journal.close();
+    }
+
+    @Test
+    void append_shouldRotateSegmentsAndDeleteThemOnceReplayed() throws Exception {
+        AuditJournal journal = new AuditJournal(directory.toString(), 64);
+        journal.open();
+
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bodies.add("message-" + i);
+        }
+        journal.append(bodies);
+        assertTrue(segmentCount() > 1);
+
+        List<String> replayed = new ArrayList<>();
+        while (!journal.isEmpty()) {
+            AuditJournal.Batch batch = journal.read(3);
+            replayed.addAll(batch.bodies());
+            journal.acknowledge(batch);
+        }
+
+        assertEquals(bodies, replayed);
+        assertEquals(0, segmentCount());
+        journal.close();
+    }
+
+    @Test
+    void open_shouldResumeFromCheckpointAfterRestart() throws Exception {
+        AuditJournal journal = new AuditJournal(directory.toString(), 1024);
+        journal.open();
+        journal.append(List.of("first", "second", "third"));
+        journal.acknowledge(journal.read(1));
+        journal.close();
+
+        AuditJournal reopened = new AuditJournal(directory.toString(), 1024);
+        reopened.open();
+        reopened.append(List.of("fourth"));
+
+        assertEquals(List.of("second", "third", "fourth"), reopened.read(10).bodies());
+        reopened.close();
+    }
+
+    @Test
+    void append_shouldRejectMessagesLargerThanASegment() throws Exception {
+        AuditJournal journal = new AuditJournal(directory.toString(), 16);
+        journal.open();
+
+        assertThrows(IllegalArgumentException.class, () -> journal.append(List.of("this message is too long")));
+        journal.close();
+    }
+
+    private long segmentCount() throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).count();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.crm.account_service.audit;
+
+import com.bank.crm.account_service.model.AuditOutboxEntry;
+import com.bank.crm.account_service.repository.AuditDeadLetterRepository;
+import com.bank.crm.account_service.repository.AuditOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditOutboxRelayTest {
+
+    @Mock
+    private AuditOutboxRepository outboxRepository;
+
+    @Mock
+    private AuditDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private AuditSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AuditCircuitBreaker circuitBreaker = new AuditCircuitBreaker(1, 30000);
+
+    private AuditOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new AuditOutboxRelay(outboxRepository, deadLetterRepository, sink, circuitBreaker, transactionManager,
+                2, 60000, 3, 1000, 300000);
+    }
+
+    private static AuditOutboxEntry entry(long id, String payload) {
+        AuditOutboxEntry entry = new AuditOutboxEntry(payload);
+        entry.setId(id);
+        return entry;
+    }
+
+    private static AuditOutboxEntry entry(long id, String payload, int attempts) {
+        AuditOutboxEntry entry = entry(id, payload);
+        entry.setAttempts(attempts);
+        return entry;
+    }
+
+    @Test
+    void relayBatch_shouldClaimThenDeleteDeliveredEntries() {
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of(entry(1, "first"), entry(2, "second")));
+        when(sink.send(List.of("first", "second"))).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(2, relayed);
+        InOrder order = inOrder(outboxRepository, transactionManager, sink);
+        order.verify(outboxRepository).claim(List.of(1L, 2L), 60000);
+        order.verify(transactionManager).commit(any());
+        order.verify(sink).send(anyList());
+        order.verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository, never()).release(anyCollection());
+        verify(outboxRepository, never()).reject(anyCollection(), anyLong(), anyLong());
+    }
+
+    @Test
+    void relayBatch_shouldBackOffRejectedEntries() {
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of(entry(1, "first"), entry(2, "second")));
+        when(sink.send(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(1)));
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxRepository).reject(List.of(2L), 1000, 300000);
+        verify(outboxRepository, never()).release(anyCollection());
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void relayBatch_shouldDeadLetterEntriesOutOfAttempts() {
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of(entry(1, "poison", 2), entry(2, "retried", 1)));
+        when(sink.send(anyList())).thenReturn(CompletableFuture.completedFuture(List.of(0, 1)));
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(0, relayed);
+        InOrder order = inOrder(deadLetterRepository, outboxRepository);
+        order.verify(deadLetterRepository).copyFromOutbox(List.of(1L));
+        order.verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxRepository).reject(List.of(2L), 1000, 300000);
+    }
+
+    @Test
+    void relayBatch_shouldReleaseEntriesWhenSqsIsUnavailable() {
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of(entry(1, "payload")));
+        when(sink.send(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("connection refused")));
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(0, relayed);
+        verify(outboxRepository).release(List.of(1L));
+        verify(outboxRepository, never()).reject(anyCollection(), anyLong(), anyLong());
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyIterable());
+        assertEquals(AuditCircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    @Test
+    void relayBatch_shouldNotClaimWhileBreakerIsOpen() {
+        circuitBreaker.recordFailure();
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(0, relayed);
+        verifyNoInteractions(outboxRepository, sink, transactionManager);
+    }
+
+    @Test
+    void relay_shouldStopWhenOutboxIsEmpty() {
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxRepository, times(1)).lockNextBatch(2);
+        verify(outboxRepository, never()).claim(anyCollection(), anyLong());
+        verifyNoInteractions(sink);
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.crm.account_service.audit;
+
+import com.bank.crm.account_service.exception.AuditDeliveryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPublisherTest {
+
+    @Mock
+    private AuditSink sink;
+
+    @TempDir
+    Path journalDir;
+
+    private AuditJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new AuditJournal(journalDir.toString(), 4096);
+        journal.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    private AuditPublisher publisher(int batchSize, long lingerMillis, int perAgentMaxPending) {
+        return new AuditPublisher(sink, new AuditCircuitBreaker(5, 30000), journal,
+                100, batchSize, lingerMillis, perAgentMaxPending, 10, 4, 5000);
+    }
+
+    @Test
+    void publish_shouldDeliverAllMessagesInBatchesOfAtMostTen() throws Exception {
+        when(sink.send(anyList())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        AuditPublisher publisher = publisher(10, 20, 100);
+        publisher.start();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(publisher.publish("agent-1", "message-" + i));
+        }
+        publisher.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sink, atLeast(3)).send(captor.capture());
+
+        List<String> delivered = new ArrayList<>();
+        for (List<String> batch : captor.getAllValues()) {
+            assertTrue(batch.size() <= 10);
+            delivered.addAll(batch);
+        }
+        assertEquals(25, delivered.size());
+        assertEquals("message-0", delivered.get(0));
+        assertEquals(0, publisher.pending());
+        futures.forEach(future -> assertTrue(future.isDone() && !future.isCompletedExceptionally()));
+    }
+
+    @Test
+    void publish_shouldSendOnCallerThreadWhenAgentHasTooManyPending() throws Exception {
+        CountDownLatch workerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sink.send(anyList())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0).equals(List.of("first"))) {
+                workerBlocked.countDown();
+                release.await();
+            }
+            return CompletableFuture.completedFuture(List.of());
+        });
+        AuditPublisher publisher = publisher(1, 0, 1);
+        publisher.start();
+
+        publisher.publish("agent-1", "first");
+        assertTrue(workerBlocked.await(2, TimeUnit.SECONDS));
+        publisher.publish("agent-1", "second");
+        publisher.publish("agent-1", "third");
+
+        // "second" holds the agent's only permit, so "third" is sent by the caller
+        verify(sink).send(List.of("third"));
+        verify(sink, never()).send(List.of("second"));
+
+        release.countDown();
+        publisher.stop();
+        verify(sink).send(List.of("second"));
+    }
+
+    @Test
+    void publish_shouldSendInlineWhenNotRunning() {
+        when(sink.send(anyList())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        AuditPublisher publisher = publisher(10, 20, 100);
+
+        CompletableFuture<Void> delivered = publisher.publish("agent-1", "message");
+
+        verify(sink).send(List.of("message"));
+        assertTrue(delivered.isDone());
+    }
+
+    @Test
+    void publish_shouldRetryRejectedEntriesOnceThenJournalThem() {
+        when(sink.send(List.of("message"))).thenReturn(CompletableFuture.completedFuture(List.of(0)));
+        AuditPublisher publisher = publisher(10, 20, 100);
+
+        CompletableFuture<Void> delivered = publisher.publish("agent-1", "message");
+
+        verify(sink, times(2)).send(List.of("message"));
+        assertTrue(delivered.isDone() && !delivered.isCompletedExceptionally());
+        assertEquals(List.of("message"), journal.read(10).bodies());
+    }
+
+    @Test
+    void publish_shouldFailTheFutureWhenRejectedEntryCannotBeJournaled() {
+        // Larger than a journal segment
+        String message = "x".repeat(5000);
+        when(sink.send(List.of(message))).thenReturn(CompletableFuture.completedFuture(List.of(0)));
+        AuditPublisher publisher = publisher(10, 20, 100);
+
+        CompletableFuture<Void> delivered = publisher.publish("agent-1", message);
+
+        ExecutionException error = assertThrows(ExecutionException.class, delivered::get);
+        assertInstanceOf(AuditDeliveryException.class, error.getCause());
+    }
+
+    @Test
+    void publish_shouldJournalWhenTransportIsUnavailable() {
+        when(sink.send(anyList())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("down")));
+        AuditPublisher publisher = publisher(10, 20, 100);
+
+        CompletableFuture<Void> delivered = publisher.publish("agent-1", "message");
+
+        assertTrue(delivered.isDone() && !delivered.isCompletedExceptionally());
+        assertEquals(List.of("message"), journal.read(10).bodies());
+    }
+
+    @Test
+    void publish_shouldQueueBehindJournalToPreserveOrder() {
+        journal.append(List.of("older"));
+        AuditPublisher publisher = publisher(10, 20, 100);
+
+        publisher.publish("agent-1", "newer");
+
+        verifyNoInteractions(sink);
+        assertEquals(List.of("older", "newer"), journal.read(10).bodies());
+    }
+
+    @Test
+    void constructor_shouldRejectBatchSizeAboveSqsLimit() {
+        assertThrows(IllegalArgumentException.class, () -> publisher(11, 20, 100));
+    }
+}
@@ -0,0 +1,70 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAuditSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void send_shouldAppendOneLinePerMessage() throws Exception {
+        FileAuditSink sink = new FileAuditSink(directory.toString(), 1024 * 1024, 3);
+        sink.open();
+
+        assertEquals(List.of(), sink.send(List.of("{\"a\":1}", "{\"b\":2}")).join());
+        sink.send(List.of("{\"c\":3}")).join();
+        sink.close();
+
+        assertEquals(List.of("{\"a\":1}", "{\"b\":2}", "{\"c\":3}"), Files.readAllLines(directory.resolve("audit.log")));
+    }
+
+    @Test
+    void send_shouldRollAndKeepOnlyTheNewestFiles() throws Exception {
+        FileAuditSink sink = new FileAuditSink(directory.toString(), 10, 2);
+        sink.open();
+
+        for (int i = 0; i < 5; i++) {
+            sink.send(List.of("message-" + i)).join();
+        }
+        sink.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("audit-4.log", "audit-5.log", "audit.log"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+        assertEquals(List.of("message-4"), Files.readAllLines(directory.resolve("audit-5.log")));
+    }
+
+    @Test
+    void open_shouldContinueRollNumberingAfterRestart() throws Exception {
+        FileAuditSink first = new FileAuditSink(directory.toString(), 10, 5);
+        first.open();
+        first.send(List.of("message-0")).join();
+        first.close();
+
+        FileAuditSink second = new FileAuditSink(directory.toString(), 10, 5);
+        second.open();
+        second.send(List.of("message-1")).join();
+        second.close();
+
+        assertEquals(List.of("message-1"), Files.readAllLines(directory.resolve("audit-2.log")));
+    }
+
+    @Test
+    void send_shouldFailAfterClose() throws Exception {
+        FileAuditSink sink = new FileAuditSink(directory.toString(), 1024, 1);
+        sink.open();
+        sink.close();
+
+        assertTrue(sink.send(List.of("late")).isCompletedExceptionally());
+    }
+}
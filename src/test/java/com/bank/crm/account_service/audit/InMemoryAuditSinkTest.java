@@ -0,0 +1,75 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAuditSinkTest {
+
+    @Test
+    void send_shouldRetainMessagesInOrder() {
+        InMemoryAuditSink sink = new InMemoryAuditSink(8);
+
+        assertEquals(List.of(), sink.send(List.of("a", "b")).join());
+        sink.send(List.of("c"));
+
+        assertEquals(List.of("a", "b", "c"), sink.recent());
+        assertEquals(3, sink.count());
+    }
+
+    @Test
+    void send_shouldReturnAFutureCallersCannotShare() {
+        InMemoryAuditSink sink = new InMemoryAuditSink(8);
+
+        CompletableFuture<List<Integer>> first = sink.send(List.of("a"));
+        first.obtrudeValue(List.of(0));
+
+        assertNotSame(first, sink.send(List.of("b")));
+        assertEquals(List.of(), sink.send(List.of("c")).join());
+    }
+
+    @Test
+    void send_shouldOverwriteOldestOnceFull() {
+        // Capacity is rounded up to four slots
+        InMemoryAuditSink sink = new InMemoryAuditSink(3);
+
+        sink.send(List.of("1", "2", "3", "4", "5", "6"));
+
+        assertEquals(List.of("3", "4", "5", "6"), sink.recent());
+        assertEquals(6, sink.count());
+    }
+
+    @Test
+    void send_shouldCountEveryMessageFromConcurrentWriters() throws Exception {
+        InMemoryAuditSink sink = new InMemoryAuditSink(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    sink.send(List.of("message"));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(4000, sink.count());
+        assertEquals(1024, sink.recent().size());
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryAuditSink(0));
+    }
+}
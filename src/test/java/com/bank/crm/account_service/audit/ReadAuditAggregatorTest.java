@@ -0,0 +1,112 @@
+package com.bank.crm.account_service.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadAuditAggregatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0, 0);
+
+    @Mock
+    private AuditPublisher auditPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEventSerializer serializer = new AuditEventSerializer(objectMapper);
+
+    private ReadAuditAggregator aggregatorAt(LocalDateTime now, int maxKeys) {
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+        return new ReadAuditAggregator(auditPublisher, serializer, ReadAuditAggregator.Mode.AGGREGATE,
+                60_000, maxKeys, clock);
+    }
+
+    private static AuditEvent read(String agentId, String clientId, LocalDateTime at) {
+        return new AuditEvent(CrudOperation.READ, "", "", "", agentId, clientId, at, "read " + clientId);
+    }
+
+    @Test
+    void flushExpired_shouldPublishOneMessageWithCountAndFirstAndLastTimes() throws Exception {
+        ReadAuditAggregator aggregator = aggregatorAt(START.plusMinutes(2), 100);
+        when(auditPublisher.publish(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> first = aggregator.record(read("agent-1", "client-1", START));
+        aggregator.record(read("agent-1", "client-1", START.plusSeconds(10)));
+        CompletableFuture<Void> last = aggregator.record(read("agent-1", "client-1", START.plusSeconds(20)));
+        assertSame(first, last);
+        assertFalse(first.isDone());
+
+        aggregator.flushExpired();
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(auditPublisher).publish(eq("agent-1"), json.capture());
+        JsonNode message = objectMapper.readTree(json.getValue());
+        assertEquals("Read", message.get("crud_operation").asText());
+        assertEquals(3, message.get("event_count").asLong());
+        assertEquals("2024-03-01T09:00:00", message.get("first_date_time").asText());
+        assertEquals("2024-03-01T09:00:20", message.get("date_time").asText());
+        assertTrue(first.isDone());
+        assertEquals(0, aggregator.openWindows());
+    }
+
+    @Test
+    void flushExpired_shouldKeepWindowsThatAreStillOpen() {
+        ReadAuditAggregator aggregator = aggregatorAt(START.plusSeconds(30), 100);
+
+        aggregator.record(read("agent-1", "client-1", START));
+        aggregator.flushExpired();
+
+        verifyNoInteractions(auditPublisher);
+        assertEquals(1, aggregator.openWindows());
+    }
+
+    @Test
+    void record_shouldKeepAgentsAndClientsSeparate() {
+        ReadAuditAggregator aggregator = aggregatorAt(START, 100);
+        when(auditPublisher.publish(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        aggregator.record(read("agent-1", "client-1", START));
+        aggregator.record(read("agent-2", "client-1", START));
+        aggregator.record(read("agent-1", "client-2", START));
+        aggregator.flushAll();
+
+        verify(auditPublisher, times(3)).publish(anyString(), anyString());
+    }
+
+    @Test
+    void record_shouldReturnNullWhenTooManyWindowsAreOpen() {
+        ReadAuditAggregator aggregator = aggregatorAt(START, 1);
+
+        assertNotNull(aggregator.record(read("agent-1", "client-1", START)));
+        assertNotNull(aggregator.record(read("agent-1", "client-1", START)));
+        assertNull(aggregator.record(read("agent-1", "client-2", START)));
+    }
+
+    @Test
+    void flushAll_shouldSendSingleReadWithoutAggregateFields() throws Exception {
+        ReadAuditAggregator aggregator = aggregatorAt(START, 100);
+        when(auditPublisher.publish(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        aggregator.record(read("agent-1", "client-1", START));
+        aggregator.flushAll();
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(auditPublisher).publish(eq("agent-1"), json.capture());
+        assertFalse(objectMapper.readTree(json.getValue()).has("event_count"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqsAsyncBatchSenderTest {
+
+    private static final String QUEUE_URL = "https://sqs.test/queue";
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Test
+    void send_shouldIssueAllBatchesWithoutWaiting() {
+        CompletableFuture<SendMessageBatchResponse> first = new CompletableFuture<>();
+        CompletableFuture<SendMessageBatchResponse> second = new CompletableFuture<>();
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(first)
+                .thenReturn(second);
+        SqsAsyncBatchSender sender = new SqsAsyncBatchSender(sqsAsyncClient, QUEUE_URL);
+
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            bodies.add("message-" + i);
+        }
+        CompletableFuture<List<Integer>> result = sender.send(bodies);
+
+        verify(sqsAsyncClient, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+        assertFalse(result.isDone());
+
+        first.complete(SendMessageBatchResponse.builder().build());
+        second.complete(SendMessageBatchResponse.builder()
+                .failed(BatchResultErrorEntry.builder().id("4").code("Throttled").senderFault(false).build())
+                .build());
+
+        assertEquals(List.of(14), result.join());
+    }
+
+    @Test
+    void send_shouldFailWhenAnyBatchFails() {
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("connection reset")));
+        SqsAsyncBatchSender sender = new SqsAsyncBatchSender(sqsAsyncClient, QUEUE_URL);
+
+        assertTrue(sender.send(List.of("message")).isCompletedExceptionally());
+    }
+}
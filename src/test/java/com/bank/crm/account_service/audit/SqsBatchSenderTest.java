@@ -0,0 +1,75 @@
+package com.bank.crm.account_service.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqsBatchSenderTest {
+
+    private static final String QUEUE_URL = "https://sqs.test/queue";
+
+    @Mock
+    private SqsClient sqsClient;
+
+    @Test
+    void send_shouldSplitIntoBatchesOfTen() {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder().build());
+        SqsBatchSender sender = new SqsBatchSender(sqsClient, QUEUE_URL);
+
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            bodies.add("message-" + i);
+        }
+        List<Integer> failed = sender.send(bodies).join();
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(3)).sendMessageBatch(captor.capture());
+        assertEquals(10, captor.getAllValues().get(0).entries().size());
+        assertEquals(10, captor.getAllValues().get(1).entries().size());
+        assertEquals(3, captor.getAllValues().get(2).entries().size());
+        assertEquals(QUEUE_URL, captor.getValue().queueUrl());
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    void send_shouldReturnPositionsOfRejectedBodies() {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder().build())
+                .thenReturn(SendMessageBatchResponse.builder()
+                        .failed(BatchResultErrorEntry.builder().id("1").code("Throttled").senderFault(false).build())
+                        .build());
+        SqsBatchSender sender = new SqsBatchSender(sqsClient, QUEUE_URL);
+
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            bodies.add("message-" + i);
+        }
+        List<Integer> failed = sender.send(bodies).join();
+
+        assertEquals(List.of(11), failed);
+    }
+
+    @Test
+    void send_shouldFailTheFutureWhenSqsIsUnreachable() {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenThrow(new RuntimeException("connection refused"));
+        SqsBatchSender sender = new SqsBatchSender(sqsClient, QUEUE_URL);
+
+        assertTrue(sender.send(List.of("message")).isCompletedExceptionally());
+    }
+}
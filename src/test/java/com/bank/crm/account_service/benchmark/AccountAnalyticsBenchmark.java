@@ -0,0 +1,177 @@
+package com.bank.crm.account_service.benchmark;
+
+import com.bank.crm.account_service.dto.AnalyticsQueryRequest;
+import com.bank.crm.account_service.dto.AnalyticsQueryResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.service.AccountColumns;
+import com.bank.crm.account_service.service.AnalyticsDimension;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.postgresql.PGConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link AccountColumns} with the equivalent SQL on Postgres for a
+ * multi-filter count and sum, and for a grouped count by branch and opening
+ * month.
+ *
+ * <p>Both sides hold the same generated accounts; the Postgres table is
+ * created from {@code db-init/init.sql}, so it has the search indexes. Needs
+ * Docker. Run from the project directory with
+ * {@code mvn -P benchmark test-compile exec:exec -Dbenchmark=AccountAnalytics}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AccountAnalyticsBenchmark {
+
+    private static final String[] CURRENCIES = {"USD", "SGD", "EUR", "GBP", "CAD"};
+    private static final int BRANCHES = 500;
+    private static final LocalDateTime FIRST_OPENING = LocalDateTime.of(2015, 1, 1, 0, 0);
+    private static final LocalDateTime FROM = LocalDateTime.of(2018, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private static final String FILTERED_SQL = """
+            SELECT COUNT(*), COALESCE(SUM(initial_deposit), 0) FROM account
+            WHERE account_type IN ('SAVINGS', 'CHECKING') AND account_status = 'ACTIVE'
+              AND currency IN ('USD', 'SGD') AND branch_id IN (7, 42, 101, 250, 499)
+              AND opening_date >= ? AND opening_date < ?""";
+    private static final String GROUPED_SQL = """
+            SELECT branch_id, date_trunc('month', opening_date), COUNT(*), SUM(initial_deposit) FROM account
+            WHERE account_status = 'ACTIVE' AND opening_date >= ? AND opening_date < ?
+            GROUP BY 1, 2 ORDER BY 1, 2""";
+
+    @Param({"1000000"})
+    public int rows;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement filteredStatement;
+    private PreparedStatement groupedStatement;
+    private AccountColumns columns;
+    private AnalyticsQueryRequest filteredRequest;
+    private AnalyticsQueryRequest groupedRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:17.0");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("db-init/init.sql")));
+            statement.execute("TRUNCATE account");
+        }
+
+        // Opening dates only increase, as AccountColumns.Builder requires
+        Random random = new Random(42);
+        AccountColumns.Builder builder = new AccountColumns.Builder();
+        StringBuilder csv = new StringBuilder(rows * 100);
+        long spacingSeconds = 10L * 365 * 24 * 3600 / rows;
+        for (int i = 0; i < rows; i++) {
+            Account account = new Account(UUID.randomUUID(),
+                    AccountType.values()[random.nextInt(AccountType.values().length)],
+                    AccountStatus.values()[random.nextInt(AccountStatus.values().length)],
+                    FIRST_OPENING.plusSeconds(i * spacingSeconds),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2),
+                    CURRENCIES[random.nextInt(CURRENCIES.length)],
+                    1 + random.nextInt(BRANCHES));
+            builder.add(account);
+            csv.append(account.getClientId()).append(',').append(account.getAccType()).append(',')
+                    .append(account.getAccStatus()).append(',').append(account.getOpeningDate()).append(',')
+                    .append(account.getInitialDeposit().toPlainString()).append(',')
+                    .append(account.getCurrency()).append(',').append(account.getBranchId()).append('\n');
+        }
+        columns = builder.build();
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY account (client_id, account_type, account_status, opening_date, initial_deposit, currency, branch_id)"
+                        + " FROM STDIN WITH (FORMAT csv)", new StringReader(csv.toString()));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE account");
+        }
+
+        filteredRequest = new AnalyticsQueryRequest(List.of(AccountType.SAVINGS, AccountType.CHECKING),
+                List.of(AccountStatus.ACTIVE), List.of("USD", "SGD"), List.of(7, 42, 101, 250, 499), FROM, TO, null);
+        groupedRequest = new AnalyticsQueryRequest(null, List.of(AccountStatus.ACTIVE), null, null, FROM, TO,
+                List.of(AnalyticsDimension.BRANCH, AnalyticsDimension.OPENING_MONTH));
+        filteredStatement = connection.prepareStatement(FILTERED_SQL);
+        groupedStatement = connection.prepareStatement(GROUPED_SQL);
+        bind(filteredStatement);
+        bind(groupedStatement);
+
+        // Both sides must agree before their timings mean anything
+        AnalyticsQueryResponse engine = columns.query(filteredRequest, null);
+        try (ResultSet result = filteredStatement.executeQuery()) {
+            result.next();
+            if (result.getLong(1) != engine.getAccountCount()
+                    || result.getBigDecimal(2).compareTo(engine.getTotalDeposit()) != 0) {
+                throw new IllegalStateException("Engine and SQL disagree: " + engine.getAccountCount()
+                        + " accounts vs " + result.getLong(1));
+            }
+        }
+        System.out.printf("%n%d accounts, analytics columns about %d MB%n", columns.rows(), columns.sizeInBytes() >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public AnalyticsQueryResponse filteredEngine() {
+        return columns.query(filteredRequest, null);
+    }
+
+    @Benchmark
+    public void filteredSql(Blackhole blackhole) throws SQLException {
+        try (ResultSet result = filteredStatement.executeQuery()) {
+            result.next();
+            blackhole.consume(result.getLong(1));
+            blackhole.consume(result.getBigDecimal(2));
+        }
+    }
+
+    @Benchmark
+    public AnalyticsQueryResponse groupedEngine() {
+        return columns.query(groupedRequest, null);
+    }
+
+    @Benchmark
+    public void groupedSql(Blackhole blackhole) throws SQLException {
+        try (ResultSet result = groupedStatement.executeQuery()) {
+            while (result.next()) {
+                blackhole.consume(result.getInt(1));
+                blackhole.consume(result.getTimestamp(2));
+                blackhole.consume(result.getLong(3));
+                blackhole.consume(result.getBigDecimal(4));
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, Timestamp.valueOf(FROM));
+        statement.setTimestamp(2, Timestamp.valueOf(TO));
+    }
+}
@@ -0,0 +1,172 @@
+package com.bank.crm.account_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rows per second for the statements behind {@code POST /accounts}
+ * called once per account with those behind {@code POST /accounts/bulk}.
+ *
+ * <p>The single path runs one transaction per account: insert, summary
+ * upsert and invalidation notify. The bulk path mirrors
+ * {@code AccountBulkService}: a JDBC batch insert per chunk over a connection
+ * with {@code reWriteBatchedInserts}, one summary upsert per group and one
+ * notify statement per chunk. Audit events go to Kafka after commit in both
+ * paths and are left out. Needs Docker. Run from the project directory with
+ * {@code mvn -P benchmark test-compile exec:exec -Dbenchmark=AccountBulkCreate}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountBulkCreateBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1000;
+    private static final String[] CURRENCIES = {"USD", "SGD", "EUR", "GBP"};
+    private static final String[] TYPES = {"SAVINGS", "CHECKING", "INVESTMENT", "BUSINESS"};
+    // Invalidation payloads are tagged with the sending replica
+    private static final String REPLICA_ID = UUID.randomUUID().toString();
+
+    private static final String INSERT_SQL = "INSERT INTO account (account_id, client_id, account_type, account_status,"
+            + " opening_date, initial_deposit, currency, branch_id, last_modified)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())";
+    private static final String SUMMARY_SQL = "INSERT INTO account_summary"
+            + " (branch_id, currency, account_type, account_status, account_count, total_deposit)"
+            + " VALUES (?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (branch_id, currency, account_type, account_status) DO UPDATE"
+            + " SET account_count = account_summary.account_count + EXCLUDED.account_count,"
+            + " total_deposit = account_summary.total_deposit + EXCLUDED.total_deposit";
+
+    @Param({"100", "500"})
+    public int chunkSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection singleConnection;
+    private Connection bulkConnection;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:17.0");
+        postgres.start();
+        singleConnection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        bulkConnection = DriverManager.getConnection(postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = singleConnection.createStatement()) {
+            statement.execute(Files.readString(Path.of("db-init/init.sql")));
+        }
+        singleConnection.setAutoCommit(false);
+        bulkConnection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        singleConnection.close();
+        bulkConnection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void singleCreate() throws SQLException {
+        try (PreparedStatement insert = singleConnection.prepareStatement(INSERT_SQL);
+             PreparedStatement summary = singleConnection.prepareStatement(SUMMARY_SQL);
+             PreparedStatement notify = singleConnection.prepareStatement("SELECT pg_notify('account_invalidation', ?)")) {
+            for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+                Row row = nextRow();
+                row.bindInsert(insert);
+                insert.executeUpdate();
+                row.bindSummary(summary, 1, row.deposit);
+                summary.executeUpdate();
+                notify.setString(1, REPLICA_ID + "," + row.id + "," + row.clientId);
+                notify.executeQuery().close();
+                singleConnection.commit();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void bulkCreate() throws SQLException {
+        try (PreparedStatement insert = bulkConnection.prepareStatement(INSERT_SQL);
+             PreparedStatement summary = bulkConnection.prepareStatement(SUMMARY_SQL);
+             PreparedStatement notify = bulkConnection.prepareStatement(
+                     "SELECT pg_notify('account_invalidation', payload) FROM unnest(?) AS payload")) {
+            for (int start = 0; start < ROWS_PER_INVOCATION; start += chunkSize) {
+                int size = Math.min(chunkSize, ROWS_PER_INVOCATION - start);
+                String[] payloads = new String[size];
+                // Same ordering as AccountSummaryService, so concurrent chunks lock groups in one order
+                Map<String, Row> groups = new TreeMap<>();
+                Map<String, long[]> counts = new TreeMap<>();
+                Map<String, BigDecimal> deposits = new TreeMap<>();
+                for (int i = 0; i < size; i++) {
+                    Row row = nextRow();
+                    row.bindInsert(insert);
+                    insert.addBatch();
+                    payloads[i] = REPLICA_ID + "," + row.id + "," + row.clientId;
+                    String key = row.branchId + row.currency + row.type;
+                    groups.putIfAbsent(key, row);
+                    counts.computeIfAbsent(key, k -> new long[1])[0]++;
+                    deposits.merge(key, row.deposit, BigDecimal::add);
+                }
+                insert.executeBatch();
+                for (Map.Entry<String, Row> group : groups.entrySet()) {
+                    group.getValue().bindSummary(summary, counts.get(group.getKey())[0], deposits.get(group.getKey()));
+                    summary.addBatch();
+                }
+                summary.executeBatch();
+                notify.setArray(1, bulkConnection.createArrayOf("text", payloads));
+                notify.executeQuery().close();
+                bulkConnection.commit();
+            }
+        }
+    }
+
+    private Row nextRow() {
+        return new Row(UUID.randomUUID(), UUID.randomUUID(), TYPES[random.nextInt(TYPES.length)],
+                BigDecimal.valueOf(random.nextInt(10_000_000), 2), CURRENCIES[random.nextInt(CURRENCIES.length)],
+                1 + random.nextInt(50));
+    }
+
+    private record Row(UUID id, UUID clientId, String type, BigDecimal deposit, String currency, int branchId) {
+
+        void bindInsert(PreparedStatement statement) throws SQLException {
+            statement.setObject(1, id);
+            statement.setObject(2, clientId);
+            statement.setObject(3, type, Types.OTHER);
+            statement.setObject(4, "ACTIVE", Types.OTHER);
+            statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setBigDecimal(6, deposit);
+            statement.setString(7, currency);
+            statement.setInt(8, branchId);
+        }
+
+        void bindSummary(PreparedStatement statement, long count, BigDecimal total) throws SQLException {
+            statement.setInt(1, branchId);
+            statement.setString(2, currency);
+            statement.setString(3, type);
+            statement.setString(4, "ACTIVE");
+            statement.setLong(5, count);
+            statement.setBigDecimal(6, total);
+        }
+    }
+}
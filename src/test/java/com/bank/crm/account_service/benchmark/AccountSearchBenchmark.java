@@ -0,0 +1,176 @@
+package com.bank.crm.account_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the key query behind {@code GET /accounts/search} against a large
+ * account table, with and without the composite search indexes.
+ *
+ * <p>The indexed table is created from {@code db-init/init.sql}; the other is
+ * a copy of the same rows with only a primary key. Setup prints the
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} plans, where the indexed queries should
+ * show {@code Index Only Scan} with {@code Heap Fetches: 0}.
+ *
+ * <p>Needs Docker. Run from the project directory with
+ * {@code mvn -P benchmark test-compile exec:exec -Dbenchmark=AccountSearch}
+ * and add {@code -Dbenchmark.args="-p rows=10000000"} for a larger table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountSearchBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int BRANCHES = 500;
+
+    // Mirrors the SQL Hibernate generates for AccountSearchService.findKeys
+    private static final String BRANCH_QUERY = """
+            SELECT account_id, opening_date FROM %s
+            WHERE branch_id = ? AND account_status = 'ACTIVE' AND account_type = 'SAVINGS'
+              AND opening_date >= ? AND (opening_date > ? OR (opening_date = ? AND account_id > ?))
+            ORDER BY opening_date, account_id
+            LIMIT %d""";
+    private static final String STATUS_QUERY = """
+            SELECT account_id, opening_date FROM %s
+            WHERE account_status = 'PENDING' AND account_type = 'BUSINESS' AND currency = 'SGD'
+              AND opening_date >= ? AND (opening_date > ? OR (opening_date = ? AND account_id > ?))
+            ORDER BY opening_date, account_id
+            LIMIT %d""";
+
+    @Param({"1000000"})
+    public int rows;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement branchIndexed;
+    private PreparedStatement branchUnindexed;
+    private PreparedStatement statusIndexed;
+    private PreparedStatement statusUnindexed;
+    private Timestamp cursorDate;
+    private final UUID cursorId = new UUID(0, 0);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:17.0");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("db-init/init.sql")));
+            statement.execute("""
+                    INSERT INTO account (client_id, account_type, account_status, opening_date,
+                                         initial_deposit, currency, branch_id)
+                    SELECT gen_random_uuid(),
+                           (ARRAY['SAVINGS','CHECKING','INVESTMENT','BUSINESS'])[1 + i % 4]::account_type,
+                           (ARRAY['ACTIVE','ACTIVE','ACTIVE','INACTIVE','PENDING'])[1 + i % 5]::account_status,
+                           TIMESTAMP '2015-01-01' + (i * INTERVAL '1 minute') * (5000000.0 / %d),
+                           1000.00,
+                           (ARRAY['USD','SGD','EUR','GBP'])[1 + (i / 7) %% 4],
+                           1 + (i / 3) %% %d
+                    FROM generate_series(1, %d) AS i""".formatted(rows, BRANCHES, rows));
+            statement.execute("CREATE TABLE account_unindexed AS SELECT * FROM account");
+            statement.execute("ALTER TABLE account_unindexed ADD PRIMARY KEY (account_id)");
+            statement.execute("VACUUM ANALYZE account");
+            statement.execute("VACUUM ANALYZE account_unindexed");
+        }
+
+        // Start a third of the way in, as a caller a few pages deep would
+        cursorDate = Timestamp.valueOf(LocalDateTime.of(2018, 3, 1, 0, 0));
+        branchIndexed = connection.prepareStatement(BRANCH_QUERY.formatted("account", PAGE_SIZE + 1));
+        branchUnindexed = connection.prepareStatement(BRANCH_QUERY.formatted("account_unindexed", PAGE_SIZE + 1));
+        statusIndexed = connection.prepareStatement(STATUS_QUERY.formatted("account", PAGE_SIZE + 1));
+        statusUnindexed = connection.prepareStatement(STATUS_QUERY.formatted("account_unindexed", PAGE_SIZE + 1));
+
+        explain(BRANCH_QUERY.formatted("account", PAGE_SIZE + 1), true);
+        explain(BRANCH_QUERY.formatted("account_unindexed", PAGE_SIZE + 1), true);
+        explain(STATUS_QUERY.formatted("account", PAGE_SIZE + 1), false);
+        explain(STATUS_QUERY.formatted("account_unindexed", PAGE_SIZE + 1), false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void branchFilterIndexed(Blackhole blackhole) throws SQLException {
+        read(bindBranch(branchIndexed), blackhole);
+    }
+
+    @Benchmark
+    public void branchFilterUnindexed(Blackhole blackhole) throws SQLException {
+        read(bindBranch(branchUnindexed), blackhole);
+    }
+
+    @Benchmark
+    public void statusFilterIndexed(Blackhole blackhole) throws SQLException {
+        read(bindStatus(statusIndexed), blackhole);
+    }
+
+    @Benchmark
+    public void statusFilterUnindexed(Blackhole blackhole) throws SQLException {
+        read(bindStatus(statusUnindexed), blackhole);
+    }
+
+    private PreparedStatement bindBranch(PreparedStatement statement) throws SQLException {
+        statement.setInt(1, 42);
+        statement.setTimestamp(2, cursorDate);
+        statement.setTimestamp(3, cursorDate);
+        statement.setTimestamp(4, cursorDate);
+        statement.setObject(5, cursorId);
+        return statement;
+    }
+
+    private PreparedStatement bindStatus(PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, cursorDate);
+        statement.setTimestamp(2, cursorDate);
+        statement.setTimestamp(3, cursorDate);
+        statement.setObject(4, cursorId);
+        return statement;
+    }
+
+    private static void read(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet keys = statement.executeQuery()) {
+            while (keys.next()) {
+                blackhole.consume(keys.getObject(1));
+                blackhole.consume(keys.getTimestamp(2));
+            }
+        }
+    }
+
+    private void explain(String query, boolean branch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + query)) {
+            if (branch) {
+                bindBranch(statement);
+            } else {
+                bindStatus(statement);
+            }
+            StringBuilder plan = new StringBuilder(query).append('\n');
+            try (ResultSet lines = statement.executeQuery()) {
+                while (lines.next()) {
+                    plan.append("  ").append(lines.getString(1)).append('\n');
+                }
+            }
+            System.out.println(plan);
+        }
+    }
+}
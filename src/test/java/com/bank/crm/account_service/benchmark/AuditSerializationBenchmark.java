@@ -0,0 +1,76 @@
+package com.bank.crm.account_service.benchmark;
+
+import com.bank.crm.account_service.audit.AuditEvent;
+import com.bank.crm.account_service.audit.AuditEventSerializer;
+import com.bank.crm.account_service.audit.CrudOperation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original map-based audit serialization with the streaming
+ * {@link AuditEventSerializer}, including remarks formatting.
+ *
+ * <p>Run with {@code mvn -P benchmark test-compile exec:exec -Dbenchmark=AuditSerialization}
+ * and add {@code -Dbenchmark.args="-prof gc"} to report bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditSerializationBenchmark {
+
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEventSerializer serializer = new AuditEventSerializer(objectMapper);
+
+    private String agentId;
+    private String clientId;
+    private BigDecimal deposit;
+
+    @Setup
+    public void setUp() {
+        agentId = "agent-" + UUID.randomUUID();
+        clientId = UUID.randomUUID().toString();
+        deposit = new BigDecimal("1500.00");
+    }
+
+    @Benchmark
+    public String mapBased() throws JsonProcessingException {
+        String remarks = String.format(
+                "Account created with type: %s, initial deposit: %.2f %s, at branch ID: %d",
+                "SAVINGS", deposit, "USD", 101);
+
+        Map<String, Object> messageBody = new HashMap<>();
+        messageBody.put("crud_operation", "Create");
+        messageBody.put("attribute_name", "");
+        messageBody.put("before_value", "");
+        messageBody.put("after_value", "");
+        messageBody.put("agent_id", agentId);
+        messageBody.put("client_id", clientId);
+        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
+        messageBody.put("remarks", remarks);
+        return objectMapper.writeValueAsString(messageBody);
+    }
+
+    @Benchmark
+    public String streaming() {
+        String remarks = "Account created with type: " + "SAVINGS"
+                + ", initial deposit: " + deposit.setScale(2, RoundingMode.HALF_UP).toPlainString()
+                + " " + "USD"
+                + ", at branch ID: " + 101;
+        return serializer.toJson(AuditEvent.of(CrudOperation.CREATE, agentId, clientId, remarks));
+    }
+}
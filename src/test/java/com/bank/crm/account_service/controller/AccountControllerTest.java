@@ -1,29 +1,56 @@
 package com.bank.crm.account_service.controller;
 
+import com.bank.crm.account_service.dto.AccountPageResponse;
 import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.dto.AccountSummaryResponse;
+import com.bank.crm.account_service.dto.AnalyticsQueryRequest;
+import com.bank.crm.account_service.dto.AnalyticsQueryResponse;
+import com.bank.crm.account_service.dto.BatchGetRequest;
+import com.bank.crm.account_service.dto.AccountImportResponse;
+import com.bank.crm.account_service.dto.BatchGetResponse;
+import com.bank.crm.account_service.dto.ImportRejection;
+import com.bank.crm.account_service.dto.BulkCreateResponse;
+import com.bank.crm.account_service.dto.BulkCreateResult;
+import com.bank.crm.account_service.dto.BulkStatusChangeRequest;
+import com.bank.crm.account_service.dto.BulkStatusChangeResponse;
 import com.bank.crm.account_service.dto.CreateAccountRequest;
 import com.bank.crm.account_service.dto.UpdateAccountRequest;
 import com.bank.crm.account_service.exception.AccountNotFoundException;
 import com.bank.crm.account_service.model.AccountStatus;
 import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.service.AccountAnalyticsEngine;
+import com.bank.crm.account_service.service.AccountBulkService;
+import com.bank.crm.account_service.service.AccountCreateCoalescer;
+import com.bank.crm.account_service.service.AccountImportService;
+import com.bank.crm.account_service.service.AccountExportFilter;
+import com.bank.crm.account_service.service.AccountExportService;
+import com.bank.crm.account_service.service.AccountSearchCriteria;
+import com.bank.crm.account_service.service.AccountSearchService;
+import com.bank.crm.account_service.service.AccountSummaryService;
 import com.bank.crm.account_service.service.AccountService;
+import com.bank.crm.account_service.service.ExportFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -44,6 +71,27 @@ public class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private AccountExportService accountExportService;
+
+    @MockBean
+    private AccountSearchService accountSearchService;
+
+    @MockBean
+    private AccountSummaryService accountSummaryService;
+
+    @MockBean
+    private AccountAnalyticsEngine accountAnalyticsEngine;
+
+    @MockBean
+    private AccountBulkService accountBulkService;
+
+    @MockBean
+    private AccountImportService accountImportService;
+
+    @MockBean
+    private AccountCreateCoalescer accountCreateCoalescer;
+
     private UUID testAccountId;
     private UUID testClientId;
     private CreateAccountRequest createRequest;
@@ -128,6 +176,23 @@ public class AccountControllerTest {
     }
 
 
+    @Test
+    void createAccount_UsesGroupCommitWhenEnabled() throws Exception {
+        when(accountCreateCoalescer.isEnabled()).thenReturn(true);
+        when(accountService.createAccountGroupCommit(any(CreateAccountRequest.class), anyString()))
+                .thenReturn(accountResponse);
+
+        mockMvc.perform(post("/accounts")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(testAccountId.toString()));
+
+        verify(accountService, never()).createAccount(any(CreateAccountRequest.class), anyString());
+    }
+
     @Test
     void createAccount_ValidationFails_NullClientId() throws Exception {
         CreateAccountRequest invalidRequest = new CreateAccountRequest(
@@ -247,28 +312,299 @@ public class AccountControllerTest {
     }
 
     @Test
-    void getAllAccounts_Success() throws Exception {
-        List<AccountResponse> accounts = Arrays.asList(accountResponse);
-        when(accountService.getAllAccounts()).thenReturn(accounts);
+    void getAccounts_Success() throws Exception {
+        when(accountService.getAccounts(null, 50, Sort.Direction.ASC))
+                .thenReturn(new AccountPageResponse(Arrays.asList(accountResponse), "next-page"));
 
         mockMvc.perform(get("/accounts"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(testAccountId.toString()));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items[0].id").value(testAccountId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
 
-        verify(accountService, times(1)).getAllAccounts();
+        verify(accountService, times(1)).getAccounts(null, 50, Sort.Direction.ASC);
     }
 
     @Test
-    void getAllAccounts_EmptyList() throws Exception {
-        when(accountService.getAllAccounts()).thenReturn(Arrays.asList());
+    void getAccounts_PassesCursorLimitAndDirection() throws Exception {
+        when(accountService.getAccounts("abc", 10, Sort.Direction.DESC))
+                .thenReturn(new AccountPageResponse(Arrays.asList(), null));
+
+        mockMvc.perform(get("/accounts")
+                        .param("cursor", "abc")
+                        .param("limit", "10")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        mockMvc.perform(get("/accounts"))
+        verify(accountService, times(1)).getAccounts("abc", 10, Sort.Direction.DESC);
+    }
+
+    @Test
+    void getAccounts_InvalidDirection() throws Exception {
+        mockMvc.perform(get("/accounts").param("direction", "sideways"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void getAccountSummary_ReturnsGroups() throws Exception {
+        when(accountSummaryService.summarize(101, "USD")).thenReturn(List.of(new AccountSummaryResponse(
+                101, "USD", AccountType.SAVINGS, AccountStatus.ACTIVE, 3, new BigDecimal("750.00"))));
+
+        mockMvc.perform(get("/accounts/summary").param("branchId", "101").param("currency", "USD"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$[0].accType").value("SAVINGS"))
+                .andExpect(jsonPath("$[0].accountCount").value(3))
+                .andExpect(jsonPath("$[0].totalDeposit").value(750.00));
+
+        verify(accountSummaryService, times(1)).summarize(101, "USD");
+    }
+
+    @Test
+    void queryAnalytics_ReturnsCounts() throws Exception {
+        when(accountAnalyticsEngine.ready()).thenReturn(true);
+        when(accountAnalyticsEngine.query(any(AnalyticsQueryRequest.class))).thenReturn(new AnalyticsQueryResponse(
+                2, new BigDecimal("600.50"),
+                List.of(new AnalyticsQueryResponse.Group(Map.of("BRANCH", 101), 2, new BigDecimal("600.50"))),
+                LocalDateTime.of(2024, 1, 1, 0, 0)));
+
+        mockMvc.perform(post("/accounts/analytics")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"statuses\":[\"ACTIVE\"],\"groupBy\":[\"BRANCH\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountCount").value(2))
+                .andExpect(jsonPath("$.groups[0].key.BRANCH").value(101));
+    }
+
+    @Test
+    void queryAnalytics_UnavailableUntilLoaded() throws Exception {
+        when(accountAnalyticsEngine.ready()).thenReturn(false);
+
+        mockMvc.perform(post("/accounts/analytics")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isServiceUnavailable());
+
+        verify(accountAnalyticsEngine, never()).query(any());
+    }
+
+    @Test
+    void searchAccounts_PassesFilters() throws Exception {
+        AccountSearchCriteria criteria = new AccountSearchCriteria(7, AccountStatus.ACTIVE, AccountType.SAVINGS, "SGD",
+                LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        when(accountSearchService.search(criteria, "abc", 20, Sort.Direction.DESC))
+                .thenReturn(new AccountPageResponse(Arrays.asList(accountResponse), "next-page"));
+
+        mockMvc.perform(get("/accounts/search")
+                        .param("branchId", "7")
+                        .param("status", "ACTIVE")
+                        .param("type", "SAVINGS")
+                        .param("currency", "SGD")
+                        .param("openedFrom", "2024-01-01T00:00:00")
+                        .param("cursor", "abc")
+                        .param("limit", "20")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(testAccountId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+
+        verify(accountSearchService, times(1)).search(criteria, "abc", 20, Sort.Direction.DESC);
+    }
+
+    @Test
+    void searchAccounts_InvalidStatus() throws Exception {
+        mockMvc.perform(get("/accounts/search").param("status", "DORMANT"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(accountSearchService);
+    }
+
+    @Test
+    void createAccounts_AllCreated() throws Exception {
+        when(accountBulkService.createAccounts(anyList(), eq("test-user-123"))).thenReturn(new BulkCreateResponse(1, 0, 0,
+                List.of(new BulkCreateResult(0, BulkCreateResult.Status.CREATED, testAccountId, List.of()))));
+
+        mockMvc.perform(post("/accounts/bulk")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(createRequest))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].accountId").value(testAccountId.toString()));
+    }
+
+    @Test
+    void createAccounts_PartialSuccessIsMultiStatus() throws Exception {
+        when(accountBulkService.createAccounts(anyList(), eq("test-user-123"))).thenReturn(new BulkCreateResponse(1, 1, 0,
+                List.of(new BulkCreateResult(0, BulkCreateResult.Status.CREATED, testAccountId, List.of()),
+                        new BulkCreateResult(1, BulkCreateResult.Status.INVALID, null, List.of("currency: Currency must be 3 characters")))));
+
+        mockMvc.perform(post("/accounts/bulk")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(createRequest, createRequest))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+    }
+
+    @Test
+    void changeStatus_ReturnsUpdatedCount() throws Exception {
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest(null, 7, AccountStatus.PENDING, null, AccountStatus.ACTIVE);
+        when(accountBulkService.changeStatus(any(BulkStatusChangeRequest.class), eq("test-user-123")))
+                .thenReturn(new BulkStatusChangeResponse(1200, 3, AccountStatus.ACTIVE, null));
+
+        mockMvc.perform(post("/accounts/bulk/status")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1200))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        verify(accountBulkService).changeStatus(request, "test-user-123");
+    }
+
+    @Test
+    void changeStatus_ReportsPartialProgressWhenAChunkFails() throws Exception {
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest(null, 7, AccountStatus.PENDING, null, AccountStatus.ACTIVE);
+        when(accountBulkService.changeStatus(any(BulkStatusChangeRequest.class), eq("test-user-123")))
+                .thenReturn(new BulkStatusChangeResponse(500, 1, AccountStatus.ACTIVE, "Stopped after a chunk rolled back"));
+
+        mockMvc.perform(post("/accounts/bulk/status")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.updated").value(500))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void changeStatus_MissingNewStatus() throws Exception {
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest(null, 7, AccountStatus.PENDING, null, null);
+
+        mockMvc.perform(post("/accounts/bulk/status")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(accountBulkService, never()).changeStatus(any(), anyString());
+    }
+
+    @Test
+    void importAccounts_ReportsRejectedRows() throws Exception {
+        when(accountImportService.importCsv(any(), eq("test-user-123"))).thenReturn(new AccountImportResponse(1, 1,
+                List.of(new ImportRejection(2, List.of("currency: must be 3 characters")))));
+
+        mockMvc.perform(post("/accounts/import")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType("text/csv")
+                        .content("client_id,account_type,account_status,opening_date,initial_deposit,currency,branch_id\n"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejections[0].row").value(2))
+                .andExpect(jsonPath("$.rejections[0].errors[0]").value("currency: must be 3 characters"));
+    }
+
+    @Test
+    void importAccounts_MalformedCsv() throws Exception {
+        when(accountImportService.importCsv(any(), eq("test-user-123")))
+                .thenThrow(new IllegalArgumentException("Invalid CSV: missing data for column \"branch_id\""));
+
+        mockMvc.perform(post("/accounts/import")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType("text/csv")
+                        .content("client_id\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batchGet_ReturnsResultsKeyedById() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        BatchGetRequest request = new BatchGetRequest(List.of(testAccountId, missingId), List.of(testClientId));
+        when(accountService.batchGet(any(BatchGetRequest.class), eq("test-user-123"))).thenReturn(new BatchGetResponse(
+                Map.of(testAccountId, accountResponse), Map.of(testClientId, List.of(accountResponse)), List.of(missingId)));
+
+        mockMvc.perform(post("/accounts/batch-get")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts['" + testAccountId + "'].clientId").value(testClientId.toString()))
+                .andExpect(jsonPath("$.clients['" + testClientId + "'][0].id").value(testAccountId.toString()))
+                .andExpect(jsonPath("$.notFoundAccountIds[0]").value(missingId.toString()));
+    }
+
+    @Test
+    void batchGet_TooManyIds() throws Exception {
+        when(accountService.batchGet(any(BatchGetRequest.class), anyString()))
+                .thenThrow(new IllegalArgumentException("Batch must contain between 1 and 200 IDs"));
+
+        mockMvc.perform(post("/accounts/batch-get")
+                        .with(csrf())
+                        .param("userId", "test-user-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportAccounts_StreamsCsvWithFilters() throws Exception {
+        AccountExportFilter filter = new AccountExportFilter(
+                101, AccountStatus.ACTIVE, LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        when(accountExportService.tryStartExport()).thenReturn(true);
+        when(accountExportService.getTimeoutMillis()).thenReturn(1800000L);
+        when(accountExportService.export(eq(filter), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("header\n".getBytes());
+            return 0L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/accounts/export")
+                        .param("format", "csv")
+                        .param("branchId", "101")
+                        .param("status", "ACTIVE")
+                        .param("openedFrom", "2024-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1800000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"accounts.csv\""))
+                .andExpect(content().string("header\n"));
+    }
+
+    @Test
+    void exportAccounts_TooManyRunning() throws Exception {
+        when(accountExportService.tryStartExport()).thenReturn(false);
+
+        mockMvc.perform(get("/accounts/export").param("format", "csv"))
+                .andExpect(status().isTooManyRequests());
+
+        verify(accountExportService, never()).export(any(), any(), any());
+    }
+
+    @Test
+    void exportAccounts_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/accounts/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
 
-        verify(accountService, times(1)).getAllAccounts();
+        verifyNoInteractions(accountExportService);
     }
 
     @Test
@@ -430,14 +766,14 @@ public class AccountControllerTest {
     }
 
     @Test
-    void getAllAccounts_ThrowsRuntimeException() throws Exception {
-        when(accountService.getAllAccounts())
+    void getAccounts_ThrowsRuntimeException() throws Exception {
+        when(accountService.getAccounts(any(), anyInt(), any()))
                 .thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/accounts"))
                 .andExpect(status().isInternalServerError());
 
-        verify(accountService, times(1)).getAllAccounts();
+        verify(accountService, times(1)).getAccounts(any(), anyInt(), any());
     }
 
     @Test
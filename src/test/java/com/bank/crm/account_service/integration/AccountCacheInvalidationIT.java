@@ -0,0 +1,103 @@
+package com.bank.crm.account_service.integration;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.dto.UpdateAccountRequest;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.repository.AccountRepository;
+import com.bank.crm.account_service.service.AccountIdFilter;
+import com.bank.crm.account_service.service.AccountInvalidationBus;
+import com.bank.crm.account_service.service.AccountReadModel;
+import com.bank.crm.account_service.service.AccountLookupService;
+import com.bank.crm.account_service.service.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static com.bank.crm.account_service.integration.TestDataFactory.*;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stands up a second "replica" next to the application context: its own
+ * cache and invalidation listener against the same Postgres container. A
+ * change committed through the application must evict the replica's copy.
+ */
+@Testcontainers
+@Import(TestContainerConfiguration.class)
+@SpringBootTest(properties = "spring.profiles.active=test")
+class AccountCacheInvalidationIT {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CaffeineCacheManager replicaCaches;
+    private AccountInvalidationBus replicaBus;
+
+    @BeforeEach
+    void startReplica() {
+        replicaCaches = new CaffeineCacheManager(
+                AccountLookupService.ACCOUNTS_BY_ID, AccountLookupService.ACCOUNTS_BY_CLIENT);
+        AccountLookupService replicaLookup = new AccountLookupService(accountRepository, replicaCaches);
+        AccountIdFilter replicaIdFilter = new AccountIdFilter(accountRepository, transactionManager,
+                new SimpleMeterRegistry(), false, 1000, 0.01, 0.1, true);
+        AccountReadModel replicaReadModel = new AccountReadModel(accountRepository, entityManager,
+                transactionManager, false, 1024, 1024, true);
+        replicaBus = new AccountInvalidationBus(replicaLookup, replicaIdFilter, replicaReadModel, jdbcTemplate, connectionDetails, true, 50, 100);
+        replicaBus.start();
+        // Nothing published before LISTEN is registered would reach the replica
+        await().atMost(Duration.ofSeconds(5)).until(replicaBus::isListening);
+    }
+
+    @AfterEach
+    void stopReplica() throws Exception {
+        replicaBus.stop();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void shouldEvictReplicaCacheWhenAccountChanges() {
+        Account account = accountRepository.saveAndFlush(validAccount());
+        Cache byId = replicaCaches.getCache(AccountLookupService.ACCOUNTS_BY_ID);
+        Cache byClient = replicaCaches.getCache(AccountLookupService.ACCOUNTS_BY_CLIENT);
+        byId.put(account.getId(), Optional.of(AccountResponse.from(account)));
+        byClient.put(account.getClientId(), List.of(AccountResponse.from(account)));
+
+        UpdateAccountRequest update = validUpdateAccountRequest();
+        accountService.updateAccount(account.getId(), update, "agent-1");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertNull(byId.get(account.getId()));
+            assertNull(byClient.get(account.getClientId()));
+        });
+    }
+}
@@ -1,15 +1,20 @@
 package com.bank.crm.account_service.integration;
 
+import com.bank.crm.account_service.dto.BulkStatusChangeRequest;
 import com.bank.crm.account_service.dto.CreateAccountRequest;
 import com.bank.crm.account_service.dto.UpdateAccountRequest;
 import com.bank.crm.account_service.model.Account;
 import com.bank.crm.account_service.model.AccountStatus;
 import com.bank.crm.account_service.model.AccountType;
 import com.bank.crm.account_service.repository.AccountRepository;
+import com.bank.crm.account_service.service.AccountIdFilter;
+import com.bank.crm.account_service.service.AccountSummaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
@@ -18,9 +23,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static com.bank.crm.account_service.integration.TestDataFactory.*;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -43,6 +56,18 @@ class AccountServiceIT {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountSummaryService accountSummaryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccountIdFilter accountIdFilter;
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
     // CREATE ACCOUNT TESTS
 
     @Test
@@ -65,6 +90,63 @@ class AccountServiceIT {
         assertEquals(1, accountRepository.count());
     }
 
+    @Test
+    void shouldBulkCreateValidAccountsAndReportInvalidOnes() throws Exception {
+        CreateAccountRequest invalid = validCreateAccountRequest();
+        invalid.setCurrency("DOLLARS");
+        List<CreateAccountRequest> requests = List.of(validCreateAccountRequest(), invalid, validCreateAccountRequest());
+
+        mvc.perform(post("/accounts/bulk")
+                        .param("userId", "agent-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.invalid", is(1)))
+                .andExpect(jsonPath("$.results[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.results[2].accountId").exists());
+
+        assertEquals(2, accountRepository.count());
+    }
+
+    @Test
+    void shouldImportValidCsvRowsAndReportRejectedOnes() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        String csv = """
+                client_id,account_type,account_status,opening_date,initial_deposit,currency,branch_id
+                %1$s,SAVINGS,ACTIVE,2020-03-01T09:30:00,1500.00,SGD,91
+                %1$s,CHECKING,ACTIVE,,250.50,SGD,91
+                not-a-uuid,SAVINGS,ACTIVE,,100.00,SGD,91
+                %1$s,LOAN,ACTIVE,,-5,DOLLARS,0
+                """.formatted(clientId);
+
+        mvc.perform(post("/accounts/import")
+                        .param("userId", "agent-1")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.rejections[0].row", is(3)))
+                .andExpect(jsonPath("$.rejections[0].errors[0]", is("client_id: must be a UUID")))
+                .andExpect(jsonPath("$.rejections[1].row", is(4)))
+                .andExpect(jsonPath("$.rejections[1].errors.length()", is(4)));
+
+        assertEquals(2, accountRepository.count());
+        mvc.perform(get("/accounts/summary").param("branchId", "91"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    void shouldRejectCsvWithUnexpectedHeader() throws Exception {
+        mvc.perform(post("/accounts/import")
+                        .param("userId", "agent-1")
+                        .contentType("text/csv")
+                        .content("client,type\n"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldFailWhenClientIdIsNull() throws Exception {
         CreateAccountRequest newAccount = validCreateAccountRequest();
@@ -153,6 +235,38 @@ class AccountServiceIT {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldGetAccountCreatedOnAnotherReplica() throws Exception {
+        // The filter must be answering misses for this to exercise anything
+        await().atMost(Duration.ofSeconds(10)).until(accountIdFilter::trusted);
+        UUID accountId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+
+        // Another replica commits the insert on its own connection; its
+        // notification has not reached this replica's ID filter yet
+        try (Connection replica = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                connectionDetails.getUsername(), connectionDetails.getPassword())) {
+            try (PreparedStatement insert = replica.prepareStatement("INSERT INTO account (account_id, client_id,"
+                    + " account_type, account_status, opening_date, initial_deposit, currency, branch_id, last_modified)"
+                    + " VALUES (?, ?, 'SAVINGS', 'ACTIVE', ?, 1000.00, 'USD', 1, now())")) {
+                insert.setObject(1, accountId);
+                insert.setObject(2, clientId);
+                insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                insert.executeUpdate();
+            }
+            try {
+                mvc.perform(get("/accounts/" + accountId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.clientId", is(clientId.toString())));
+            } finally {
+                try (PreparedStatement delete = replica.prepareStatement("DELETE FROM account WHERE account_id = ?")) {
+                    delete.setObject(1, accountId);
+                    delete.executeUpdate();
+                }
+            }
+        }
+    }
+
     @Test
     void shouldGetAccountsByClientIdSuccessfully() throws Exception {
         UUID clientId = UUID.randomUUID();
@@ -178,15 +292,151 @@ class AccountServiceIT {
     }
 
     @Test
-    void shouldGetAllAccountsSuccessfully() throws Exception {
-        Account account1 = validAccount();
-        Account account2 = validAccount();
-        accountRepository.saveAndFlush(account1);
-        accountRepository.saveAndFlush(account2);
+    void shouldPageThroughAllAccounts() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            accountRepository.saveAndFlush(validAccount());
+        }
 
-        mvc.perform(get("/accounts"))
+        String firstPage = mvc.perform(get("/accounts").param("limit", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mvc.perform(get("/accounts").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mvc.perform(get("/accounts").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ACCOUNT SUMMARY TESTS
+
+    @Test
+    void shouldKeepSummaryInStepWithAccountChanges() throws Exception {
+        CreateAccountRequest request = validCreateAccountRequest();
+        request.setBranchId(77);
+        request.setInitialDeposit(new BigDecimal("100.00"));
+        String created = mvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String accountId = objectMapper.readTree(created).get("id").asText();
+
+        mvc.perform(get("/accounts/summary").param("branchId", "77"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].accountCount", is(1)))
+                .andExpect(jsonPath("$[0].totalDeposit", is(100.0)));
+
+        UpdateAccountRequest update = new UpdateAccountRequest(null, AccountStatus.INACTIVE, new BigDecimal("250.00"), null, null);
+        mvc.perform(put("/accounts/" + accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/accounts/summary").param("branchId", "77"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].accStatus", is("INACTIVE")))
+                .andExpect(jsonPath("$[0].totalDeposit", is(250.0)));
+
+        mvc.perform(delete("/accounts/" + accountId))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/accounts/summary").param("branchId", "77"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void shouldRebuildSummaryFromAccounts() throws Exception {
+        accountRepository.saveAndFlush(accountAtBranch(78, AccountStatus.ACTIVE, AccountType.SAVINGS));
+        accountRepository.saveAndFlush(accountAtBranch(78, AccountStatus.ACTIVE, AccountType.SAVINGS));
+
+        assertEquals(1, accountSummaryService.rebuild());
+
+        mvc.perform(get("/accounts/summary").param("branchId", "78"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].accountCount", is(2)))
+                .andExpect(jsonPath("$[0].totalDeposit", is(2000.0)));
+    }
+
+    @Test
+    void shouldMovePendingAccountsInBranchToActive() throws Exception {
+        Account first = accountRepository.saveAndFlush(accountAtBranch(79, AccountStatus.PENDING, AccountType.SAVINGS));
+        accountRepository.saveAndFlush(accountAtBranch(79, AccountStatus.PENDING, AccountType.SAVINGS));
+        Account inactive = accountRepository.saveAndFlush(accountAtBranch(79, AccountStatus.INACTIVE, AccountType.SAVINGS));
+        accountSummaryService.rebuild();
+
+        mvc.perform(post("/accounts/bulk/status")
+                        .param("userId", "agent-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkStatusChangeRequest(
+                                null, 79, AccountStatus.PENDING, null, AccountStatus.ACTIVE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(2)));
+
+        mvc.perform(get("/accounts/summary").param("branchId", "79"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[?(@.accStatus == 'ACTIVE')].accountCount", contains(2)))
+                .andExpect(jsonPath("$[?(@.accStatus == 'INACTIVE')].accountCount", contains(1)));
+        // The UPDATE bypassed Hibernate, so drop the stale entities it still holds
+        entityManager.clear();
+        assertEquals(AccountStatus.ACTIVE, accountRepository.findById(first.getId()).orElseThrow().getAccStatus());
+        assertEquals(AccountStatus.INACTIVE, accountRepository.findById(inactive.getId()).orElseThrow().getAccStatus());
+    }
+
+    // SEARCH ACCOUNTS TESTS
+
+    @Test
+    void shouldSearchByBranchStatusAndType() throws Exception {
+        Account match = accountRepository.saveAndFlush(accountAtBranch(42, AccountStatus.ACTIVE, AccountType.SAVINGS));
+        accountRepository.saveAndFlush(accountAtBranch(42, AccountStatus.INACTIVE, AccountType.SAVINGS));
+        accountRepository.saveAndFlush(accountAtBranch(43, AccountStatus.ACTIVE, AccountType.SAVINGS));
+
+        mvc.perform(get("/accounts/search")
+                        .param("branchId", "42")
+                        .param("status", "ACTIVE")
+                        .param("type", "SAVINGS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(match.getId().toString())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldPageThroughSearchResults() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            accountRepository.saveAndFlush(accountAtBranch(44, AccountStatus.ACTIVE, AccountType.SAVINGS));
+        }
+        accountRepository.saveAndFlush(accountAtBranch(45, AccountStatus.ACTIVE, AccountType.SAVINGS));
+
+        String firstPage = mvc.perform(get("/accounts/search").param("branchId", "44").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mvc.perform(get("/accounts/search").param("branchId", "44").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectInvalidSearchCurrency() throws Exception {
+        mvc.perform(get("/accounts/search").param("currency", "DOLLARS"))
+                .andExpect(status().isBadRequest());
     }
 
     // UPDATE ACCOUNT TESTS
@@ -316,4 +566,8 @@ class AccountServiceIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)));
     }
+
+    private static Account accountAtBranch(int branchId, AccountStatus status, AccountType type) {
+        return new Account(UUID.randomUUID(), type, status, LocalDateTime.now(), new BigDecimal("1000.00"), "USD", branchId);
+    }
 }
@@ -0,0 +1,115 @@
+package com.bank.crm.account_service.integration;
+
+import com.bank.crm.account_service.dto.CreateAccountRequest;
+import com.bank.crm.account_service.dto.UpdateAccountRequest;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.repository.AccountRepository;
+import com.bank.crm.account_service.service.AccountService;
+import com.bank.crm.account_service.service.AccountSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.bank.crm.account_service.integration.TestDataFactory.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races updates on the same accounts, each in its own committed transaction,
+ * and checks the maintained summary still matches a fresh aggregate of the
+ * account table.
+ */
+@Testcontainers
+@Import(TestContainerConfiguration.class)
+@SpringBootTest(properties = "spring.profiles.active=test")
+class AccountSummaryConcurrencyIT {
+
+    private static final int BRANCH_ID = 94;
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 10;
+    private static final AccountStatus[] STATUSES = {AccountStatus.ACTIVE, AccountStatus.INACTIVE, AccountStatus.PENDING};
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountSummaryService accountSummaryService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        accountRepository.deleteAll();
+        accountSummaryService.rebuild();
+    }
+
+    @Test
+    void shouldKeepSummaryInStepWithConcurrentUpdates() throws Exception {
+        List<UUID> accountIds = List.of(createAccount(), createAccount());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        UpdateAccountRequest update = new UpdateAccountRequest(null,
+                                STATUSES[(offset + i) % STATUSES.length],
+                                BigDecimal.valueOf(100 + offset * UPDATES_PER_THREAD + i, 0), null, null);
+                        accountService.updateAccount(accountIds.get(i % accountIds.size()), update, "agent-" + offset);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(aggregateAccounts(), summaryRows());
+    }
+
+    private UUID createAccount() {
+        CreateAccountRequest request = validCreateAccountRequest();
+        request.setBranchId(BRANCH_ID);
+        return accountService.createAccount(request, "agent-1").getId();
+    }
+
+    private List<Map<String, Object>> summaryRows() {
+        return jdbcTemplate.queryForList("SELECT currency, account_type, account_status, account_count,"
+                + " total_deposit::numeric(19, 2) AS total_deposit FROM account_summary"
+                + " WHERE branch_id = ? AND account_count <> 0"
+                + " ORDER BY currency, account_type, account_status", BRANCH_ID);
+    }
+
+    private List<Map<String, Object>> aggregateAccounts() {
+        return jdbcTemplate.queryForList("SELECT currency, account_type, account_status, count(*) AS account_count,"
+                + " sum(initial_deposit)::numeric(19, 2) AS total_deposit FROM account"
+                + " WHERE branch_id = ?"
+                + " GROUP BY currency, account_type, account_status"
+                + " ORDER BY currency, account_type, account_status", BRANCH_ID);
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.crm.account_service.integration;
+
+import com.bank.crm.account_service.audit.SqsAsyncBatchSender;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the async audit transport against ElasticMQ, a local SQS-compatible
+ * server, through the same endpoint override the application exposes as
+ * {@code aws.sqs.endpoint}.
+ */
+@Testcontainers
+class SqsAsyncTransportIT {
+
+    @Container
+    static final GenericContainer<?> elasticMq =
+            new GenericContainer<>(DockerImageName.parse("softwaremill/elasticmq-native:1.6.9"))
+                    .withExposedPorts(9324);
+
+    private static SqsAsyncClient sqsAsyncClient;
+    private static String queueUrl;
+
+    @BeforeAll
+    static void setUp() {
+        sqsAsyncClient = SqsAsyncClient.builder()
+                .region(Region.AP_SOUTHEAST_1)
+                .endpointOverride(URI.create("http://" + elasticMq.getHost() + ":" + elasticMq.getMappedPort(9324)))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .build();
+        queueUrl = sqsAsyncClient.createQueue(CreateQueueRequest.builder().queueName("audit-logs").build())
+                .join()
+                .queueUrl();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sqsAsyncClient.close();
+    }
+
+    @Test
+    void shouldDeliverEveryMessageInBatches() {
+        SqsAsyncBatchSender sender = new SqsAsyncBatchSender(sqsAsyncClient, queueUrl);
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            bodies.add("{\"crud_operation\":\"Read\",\"remarks\":\"message-" + i + "\"}");
+        }
+
+        List<Integer> failed = sender.send(bodies).join();
+        assertTrue(failed.isEmpty());
+
+        Set<String> received = new HashSet<>();
+        for (int attempt = 0; attempt < 10 && received.size() < bodies.size(); attempt++) {
+            sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder()
+                            .queueUrl(queueUrl)
+                            .maxNumberOfMessages(10)
+                            .waitTimeSeconds(1)
+                            .build())
+                    .join()
+                    .messages()
+                    .forEach(message -> received.add(message.body()));
+        }
+        assertEquals(new HashSet<>(bodies), received);
+    }
+}
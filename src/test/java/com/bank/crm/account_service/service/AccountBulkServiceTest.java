@@ -0,0 +1,215 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.BulkCreateResponse;
+import com.bank.crm.account_service.dto.BulkCreateResult;
+import com.bank.crm.account_service.dto.BulkStatusChangeRequest;
+import com.bank.crm.account_service.dto.BulkStatusChangeResponse;
+import com.bank.crm.account_service.dto.CreateAccountRequest;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBulkServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AccountIdFilter accountIdFilter;
+
+    @Mock
+    private AccountReadModel accountReadModel;
+
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    @Mock
+    private AccountInvalidationBus accountInvalidationBus;
+
+    @Mock
+    private AccountSummaryService accountSummaryService;
+
+    @Mock
+    private LoggingService loggingService;
+
+    private AccountBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        bulkService = new AccountBulkService(jdbcTemplate, transactionManager, VALIDATOR, accountIdFilter,
+                accountReadModel, accountLookupService, accountInvalidationBus, accountSummaryService,
+                loggingService, 2, 10);
+    }
+
+    private static CreateAccountRequest request(UUID clientId) {
+        return new CreateAccountRequest(clientId, AccountType.SAVINGS, AccountStatus.ACTIVE,
+                new BigDecimal("100.00"), "USD", 1);
+    }
+
+    @Test
+    void createAccounts_shouldInsertValidItemsInChunksAndReportInvalidOnes() {
+        UUID clientId = UUID.randomUUID();
+        CreateAccountRequest invalid = request(clientId);
+        invalid.setCurrency("DOLLARS");
+        List<CreateAccountRequest> requests = List.of(
+                request(clientId), invalid, request(clientId), request(clientId), request(UUID.randomUUID()));
+
+        BulkCreateResponse response = bulkService.createAccounts(requests, "agent-1");
+
+        assertEquals(4, response.getCreated());
+        assertEquals(1, response.getInvalid());
+        assertEquals(0, response.getFailed());
+        assertEquals(BulkCreateResult.Status.INVALID, response.getResults().get(1).getStatus());
+        assertEquals(List.of("currency: Currency must be 3 characters"), response.getResults().get(1).getErrors());
+        assertNull(response.getResults().get(1).getAccountId());
+        assertNotNull(response.getResults().get(4).getAccountId());
+        // Four valid items in chunks of two
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verify(transactionManager, times(2)).commit(any());
+        verify(accountSummaryService, times(2)).recordCreated(anyCollection());
+        verify(accountInvalidationBus, times(2)).publishAll(anyCollection());
+        // First chunk has one client with two accounts, the second has two clients
+        verify(loggingService, times(3)).sendCreateLog(eq("agent-1"), anyString(), anyString());
+    }
+
+    @Test
+    void createAccounts_shouldReportFailedChunkAndKeepOthers() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("numeric field overflow"))
+                .thenReturn(new int[]{1});
+        List<CreateAccountRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(request(UUID.randomUUID()));
+        }
+
+        BulkCreateResponse response = bulkService.createAccounts(requests, "agent-1");
+
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(BulkCreateResult.Status.FAILED, response.getResults().get(0).getStatus());
+        assertEquals(BulkCreateResult.Status.FAILED, response.getResults().get(1).getStatus());
+        assertEquals(BulkCreateResult.Status.CREATED, response.getResults().get(2).getStatus());
+        assertEquals(List.of(AccountBulkService.CHUNK_ROLLED_BACK), response.getResults().get(0).getErrors());
+        verify(transactionManager).rollback(any());
+        verify(loggingService, times(1)).sendCreateLog(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void createAccounts_shouldRejectEmptyOrOversizedRequests() {
+        List<CreateAccountRequest> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(request(UUID.randomUUID()));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> bulkService.createAccounts(List.of(), "agent-1"));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.createAccounts(tooMany, "agent-1"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void changeStatus_shouldUpdateInChunksAndAuditEachAccount() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), ArgumentMatchers.<RowMapper<Account>>any()))
+                .thenAnswer(invocation -> rows(invocation.getArgument(1), clientId, AccountStatus.PENDING, 2))
+                .thenAnswer(invocation -> rows(invocation.getArgument(1), clientId, AccountStatus.INACTIVE, 1));
+
+        BulkStatusChangeResponse response = bulkService.changeStatus(
+                new BulkStatusChangeRequest(clientId, null, null, null, AccountStatus.ACTIVE), "agent-1");
+
+        assertEquals(3, response.getUpdated());
+        assertEquals(2, response.getChunks());
+        assertNull(response.getError());
+        // The second chunk was short, so there is no third query
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), ArgumentMatchers.<RowMapper<Account>>any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(accountSummaryService, times(2)).recordStatusChanged(anyCollection(), anyMap());
+        verify(loggingService, times(2)).sendUpdateLog(eq("agent-1"), eq(clientId.toString()), eq("Account Status"),
+                eq("PENDING"), eq("ACTIVE"), anyString());
+        verify(loggingService).sendUpdateLog(eq("agent-1"), eq(clientId.toString()), eq("Account Status"),
+                eq("INACTIVE"), eq("ACTIVE"), anyString());
+        verify(accountLookupService, times(3)).evict(any(UUID.class), eq(clientId));
+        verify(accountInvalidationBus, times(2)).publishAll(anyCollection());
+    }
+
+    @Test
+    void changeStatus_shouldReportProgressWhenALaterChunkFails() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), ArgumentMatchers.<RowMapper<Account>>any()))
+                .thenAnswer(invocation -> rows(invocation.getArgument(1), clientId, AccountStatus.PENDING, 2))
+                .thenThrow(new DataIntegrityViolationException("deadlock detected"));
+
+        BulkStatusChangeResponse response = bulkService.changeStatus(
+                new BulkStatusChangeRequest(clientId, null, null, null, AccountStatus.ACTIVE), "agent-1");
+
+        assertEquals(2, response.getUpdated());
+        assertEquals(1, response.getChunks());
+        assertEquals(AccountBulkService.STATUS_CHANGE_STOPPED, response.getError());
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void changeStatus_shouldRejectUnfilteredOrNoOpChanges() {
+        assertThrows(IllegalArgumentException.class, () -> bulkService.changeStatus(
+                new BulkStatusChangeRequest(null, null, AccountStatus.PENDING, null, AccountStatus.ACTIVE), "agent-1"));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.changeStatus(
+                new BulkStatusChangeRequest(null, 7, AccountStatus.ACTIVE, null, AccountStatus.ACTIVE), "agent-1"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Run the service's row mapper over {@code count} rows as the UPDATE ... RETURNING would return them.
+     */
+    private static List<Account> rows(RowMapper<Account> mapper, UUID clientId, AccountStatus previous, int count)
+            throws SQLException {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject(1, UUID.class)).thenReturn(UUID.randomUUID());
+            when(rs.getObject(2, UUID.class)).thenReturn(clientId);
+            when(rs.getString(3)).thenReturn("SAVINGS");
+            when(rs.getString(4)).thenReturn(previous.name());
+            when(rs.getTimestamp(5)).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)));
+            when(rs.getBigDecimal(6)).thenReturn(new BigDecimal("100.00"));
+            when(rs.getString(7)).thenReturn("USD");
+            when(rs.getInt(8)).thenReturn(1);
+            accounts.add(mapper.mapRow(rs, i));
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AnalyticsQueryRequest;
+import com.bank.crm.account_service.dto.AnalyticsQueryResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountColumnsTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final LocalDateTime FEB = LocalDateTime.of(2024, 2, 10, 9, 0);
+    private static final LocalDateTime MAR = LocalDateTime.of(2024, 3, 10, 9, 0);
+
+    private AccountColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new AccountColumns.Builder()
+                .add(account(JAN, AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 101, "100.00"))
+                .add(account(JAN, AccountType.CHECKING, AccountStatus.ACTIVE, "SGD", 102, "200.00"))
+                .add(account(FEB, AccountType.SAVINGS, AccountStatus.INACTIVE, "USD", 101, "300.00"))
+                .add(account(FEB, AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 102, "400.00"))
+                .add(account(MAR, AccountType.BUSINESS, AccountStatus.ACTIVE, "EUR", 101, "500.50"))
+                .build();
+    }
+
+    private static Account account(LocalDateTime openedAt, AccountType type, AccountStatus status,
+                                   String currency, int branchId, String deposit) {
+        Account account = new Account(UUID.randomUUID(), type, status, openedAt, new BigDecimal(deposit), currency, branchId);
+        account.setId(UUID.randomUUID());
+        return account;
+    }
+
+    private static AnalyticsQueryRequest request() {
+        return new AnalyticsQueryRequest();
+    }
+
+    @Test
+    void shouldCountEverythingWithoutFilters() {
+        AnalyticsQueryResponse response = columns.query(request(), JAN);
+
+        assertEquals(5, response.getAccountCount());
+        assertEquals(new BigDecimal("1500.50"), response.getTotalDeposit());
+        assertTrue(response.getGroups().isEmpty());
+        assertEquals(JAN, response.getAsOf());
+    }
+
+    @Test
+    void shouldIntersectFiltersAcrossDimensionsAndUnionWithinOne() {
+        AnalyticsQueryRequest request = request();
+        request.setTypes(List.of(AccountType.SAVINGS, AccountType.BUSINESS));
+        request.setStatuses(List.of(AccountStatus.ACTIVE));
+        request.setBranchIds(List.of(101, 999));
+
+        AnalyticsQueryResponse response = columns.query(request, JAN);
+
+        assertEquals(2, response.getAccountCount());
+        assertEquals(new BigDecimal("600.50"), response.getTotalDeposit());
+    }
+
+    @Test
+    void shouldApplyOpeningDateRangeWithExclusiveEnd() {
+        AnalyticsQueryRequest request = request();
+        request.setOpenedFrom(FEB);
+        request.setOpenedTo(MAR);
+
+        AnalyticsQueryResponse response = columns.query(request, JAN);
+
+        assertEquals(2, response.getAccountCount());
+        assertEquals(new BigDecimal("700.00"), response.getTotalDeposit());
+    }
+
+    @Test
+    void shouldMatchNothingForUnknownCurrency() {
+        AnalyticsQueryRequest request = request();
+        request.setCurrencies(List.of("JPY"));
+
+        assertEquals(0, columns.query(request, JAN).getAccountCount());
+    }
+
+    @Test
+    void shouldGroupInDimensionOrder() {
+        AnalyticsQueryRequest request = request();
+        request.setStatuses(List.of(AccountStatus.ACTIVE));
+        request.setGroupBy(List.of(AnalyticsDimension.BRANCH, AnalyticsDimension.OPENING_MONTH));
+
+        List<AnalyticsQueryResponse.Group> groups = columns.query(request, JAN).getGroups();
+
+        assertEquals(4, groups.size());
+        assertEquals(Map.of("BRANCH", 101, "OPENING_MONTH", "2024-01"), groups.get(0).getKey());
+        assertEquals(Map.of("BRANCH", 101, "OPENING_MONTH", "2024-03"), groups.get(1).getKey());
+        assertEquals(new BigDecimal("500.50"), groups.get(1).getTotalDeposit());
+        assertEquals(Map.of("BRANCH", 102, "OPENING_MONTH", "2024-01"), groups.get(2).getKey());
+        assertEquals(Map.of("BRANCH", 102, "OPENING_MONTH", "2024-02"), groups.get(3).getKey());
+        assertEquals(1, groups.get(3).getAccountCount());
+    }
+
+    @Test
+    void builderShouldRejectAccountsOutOfOpeningDateOrder() {
+        AccountColumns.Builder builder = new AccountColumns.Builder()
+                .add(account(FEB, AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 101, "1.00"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.add(account(JAN, AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 101, "1.00")));
+    }
+}
@@ -0,0 +1,161 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCreateCoalescerTest {
+
+    @Mock
+    private AccountBulkService accountBulkService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private AccountCreateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().doAnswer(invocation -> {
+            List<Account> accounts = invocation.getArgument(0);
+            batchSizes.add(accounts.size());
+            return null;
+        }).when(accountBulkService).insertAccounts(anyList());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.stop();
+        }
+    }
+
+    private static Account account(int branchId) {
+        return new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE,
+                LocalDateTime.now(), BigDecimal.TEN, "USD", branchId);
+    }
+
+    @Test
+    void create_shouldWriteOnCallerThreadWhenDisabled() {
+        coalescer = new AccountCreateCoalescer(accountBulkService, transactionManager, false, 500, 64, 16, 5000);
+        coalescer.start();
+
+        Account saved = coalescer.create(account(1), () -> { });
+
+        assertNotNull(saved.getId());
+        assertEquals(List.of(1), batchSizes);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void create_shouldCommitConcurrentCallersTogether() throws Exception {
+        // A long window so every caller lands in the first batch
+        coalescer = new AccountCreateCoalescer(accountBulkService, transactionManager, true, 2_000_000, 4, 16, 5000);
+        coalescer.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Account>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Account account = account(i + 1);
+                results.add(executor.submit(() -> coalescer.create(account, () -> { })));
+            }
+            for (int i = 0; i < 4; i++) {
+                assertEquals(i + 1, results.get(i).get(5, TimeUnit.SECONDS).getBranchId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(4), batchSizes);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void create_shouldAuditInsideTheInsertTransaction() {
+        coalescer = new AccountCreateCoalescer(accountBulkService, transactionManager, false, 500, 64, 16, 5000);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> calls.add("insert")).when(accountBulkService).insertAccounts(anyList());
+        doAnswer(invocation -> calls.add("commit")).when(transactionManager).commit(any());
+
+        coalescer.create(account(1), () -> calls.add("audit"));
+
+        assertEquals(List.of("insert", "audit", "commit"), calls);
+    }
+
+    @Test
+    void create_shouldGiveUpWhenTheGroupCommitDoesNotFinish() {
+        coalescer = new AccountCreateCoalescer(accountBulkService, transactionManager, true, 500, 64, 16, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(accountBulkService).insertAccounts(anyList());
+        coalescer.start();
+
+        try {
+            assertThrows(IllegalStateException.class, () -> coalescer.create(account(1), () -> { }));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void write_shouldRetryEachAccountAloneWhenBatchFails() {
+        coalescer = new AccountCreateCoalescer(accountBulkService, transactionManager, false, 500, 64, 16, 5000);
+        Account bad = account(2);
+        doAnswer(invocation -> {
+            List<Account> accounts = invocation.getArgument(0);
+            if (accounts.contains(bad)) {
+                throw new DataIntegrityViolationException("numeric field overflow");
+            }
+            batchSizes.add(accounts.size());
+            return null;
+        }).when(accountBulkService).insertAccounts(anyList());
+        List<AccountCreateCoalescer.PendingCreate> batch = List.of(
+                new AccountCreateCoalescer.PendingCreate(account(1), () -> { }, new CompletableFuture<>()),
+                new AccountCreateCoalescer.PendingCreate(bad, () -> { }, new CompletableFuture<>()),
+                new AccountCreateCoalescer.PendingCreate(account(3), () -> { }, new CompletableFuture<>()));
+
+        coalescer.write(batch);
+
+        assertEquals(1, batch.get(0).saved().join().getBranchId());
+        assertTrue(batch.get(1).saved().isCompletedExceptionally());
+        assertEquals(3, batch.get(2).saved().join().getBranchId());
+        assertEquals(List.of(1, 1), batchSizes);
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void create_shouldRethrowTheCallersOwnFailure() {
+        coalescer = new AccountCreateCoalescer(accountBulkService, transactionManager, false, 500, 64, 16, 5000);
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(accountBulkService).insertAccounts(anyList());
+
+        assertThrows(DataIntegrityViolationException.class, () -> coalescer.create(account(1), () -> { }));
+    }
+}
@@ -0,0 +1,116 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.repository.AccountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountExportServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private AccountExportService exportService;
+    private Account first;
+    private Account second;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new AccountExportService(accountRepository, entityManager, objectMapper, 1, 1800000);
+        first = account(LocalDateTime.of(2024, 1, 1, 9, 0), "USD");
+        second = account(LocalDateTime.of(2024, 2, 1, 9, 0), "EUR");
+    }
+
+    private static Account account(LocalDateTime openingDate, String currency) {
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE,
+                openingDate, new BigDecimal("1500.50"), currency, 101);
+        account.setId(UUID.randomUUID());
+        return account;
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLine() throws Exception {
+        AccountExportFilter filter = new AccountExportFilter(101, AccountStatus.ACTIVE, null, null);
+        when(accountRepository.streamForExport(101, AccountStatus.ACTIVE, null, null))
+                .thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(filter, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        JsonNode line = objectMapper.readTree(lines[1]);
+        assertEquals(second.getId().toString(), line.get("id").asText());
+        assertEquals("2024-02-01T09:00:00", line.get("openingDate").asText());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void export_shouldWriteCsvWithHeader() throws Exception {
+        AccountExportFilter filter = new AccountExportFilter(null, null, null, null);
+        when(accountRepository.streamForExport(null, null, null, null)).thenReturn(Stream.of(first));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(filter, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,client_id,account_type,account_status,opening_date,initial_deposit,currency,branch_id",
+                lines[0]);
+        assertEquals(first.getId() + "," + first.getClientId() + ",SAVINGS,ACTIVE,2024-01-01T09:00:00,1500.50,USD,101",
+                lines[1]);
+        verify(entityManager).detach(first);
+    }
+
+    @Test
+    void export_shouldWriteNothingForEmptyResult() throws Exception {
+        AccountExportFilter filter = new AccountExportFilter(null, null, null, null);
+        when(accountRepository.streamForExport(null, null, null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.export(filter, ExportFormat.NDJSON, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void tryStartExport_shouldLimitConcurrentExports() {
+        assertTrue(exportService.tryStartExport());
+        assertFalse(exportService.tryStartExport());
+
+        exportService.finishExport();
+
+        assertTrue(exportService.tryStartExport());
+    }
+
+    @Test
+    void fromString_shouldRejectUnknownFormat() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromString("csv"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromString("xml"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountIdFilterTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccountIdFilter filter(boolean enabled) {
+        return new AccountIdFilter(accountRepository, transactionManager, meterRegistry, enabled, 1000, 0.01, 0.1, true);
+    }
+
+    /**
+     * A filter built while the invalidation listener was connected.
+     */
+    private AccountIdFilter builtFilter(UUID... ids) {
+        when(accountRepository.streamAllIds()).thenReturn(Stream.of(ids));
+        AccountIdFilter filter = filter(true);
+        filter.listenerConnected();
+        filter.rebuild("test");
+        return filter;
+    }
+
+    @Test
+    void mightExist_shouldAllowEverythingUntilBuilt() {
+        AccountIdFilter filter = filter(true);
+
+        assertFalse(filter.ready());
+        assertTrue(filter.mightExist(UUID.randomUUID()));
+    }
+
+    @Test
+    void rebuild_shouldLoadExistingIdsAndRejectOthers() {
+        UUID existing = UUID.randomUUID();
+
+        AccountIdFilter filter = builtFilter(existing);
+
+        assertTrue(filter.ready());
+        assertTrue(filter.mightExist(existing));
+        assertFalse(filter.mightExist(UUID.randomUUID()));
+        assertEquals(1.0, meterRegistry.get("account.id.filter.size").gauge().value());
+        assertEquals(1.0, meterRegistry.get("account.id.filter.lookups").tag("result", "absent").counter().count());
+        assertEquals(1, meterRegistry.get("account.id.filter.rebuild").tag("reason", "test").timer().count());
+    }
+
+    @Test
+    void add_shouldMakeCreatedIdVisible() {
+        AccountIdFilter filter = builtFilter();
+        UUID created = UUID.randomUUID();
+
+        filter.add(created);
+
+        assertTrue(filter.mightExist(created));
+    }
+
+    @Test
+    void recordFalsePositive_shouldFeedObservedRate() {
+        AccountIdFilter filter = builtFilter();
+
+        filter.mightExist(UUID.randomUUID());
+        filter.recordFalsePositive();
+
+        assertEquals(0.5, meterRegistry.get("account.id.filter.fpp.observed").gauge().value());
+    }
+
+    @Test
+    void requestRebuild_shouldDoNothingWhenDisabled() {
+        AccountIdFilter filter = filter(false);
+
+        assertFalse(filter.requestRebuild("test"));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void filter_shouldStayOffWithoutCrossReplicaInvalidation() {
+        AccountIdFilter filter = new AccountIdFilter(accountRepository, transactionManager, meterRegistry,
+                true, 1000, 0.01, 0.1, false);
+
+        assertFalse(filter.isEnabled());
+        assertFalse(filter.requestRebuild("startup"));
+        assertTrue(filter.mightExist(UUID.randomUUID()));
+    }
+
+    @Test
+    void mightExist_shouldAllowEverythingWhenBuiltWithoutTheListener() {
+        when(accountRepository.streamAllIds()).thenReturn(Stream.empty());
+        AccountIdFilter filter = filter(true);
+
+        filter.rebuild("test");
+
+        assertTrue(filter.ready());
+        assertFalse(filter.trusted());
+        assertTrue(filter.mightExist(UUID.randomUUID()));
+    }
+
+    @Test
+    void mightExist_shouldAllowEverythingWhileTheListenerIsDisconnected() {
+        AccountIdFilter filter = builtFilter();
+        assertTrue(filter.trusted());
+
+        filter.listenerDisconnected();
+
+        assertFalse(filter.trusted());
+        assertTrue(filter.mightExist(UUID.randomUUID()));
+    }
+
+    @Test
+    void existsDespiteMiss_shouldAddAccountsTheDatabaseHas() {
+        AccountIdFilter filter = builtFilter();
+        UUID remote = UUID.randomUUID();
+        when(accountRepository.existsById(remote)).thenReturn(true);
+
+        assertTrue(filter.existsDespiteMiss(remote));
+
+        assertTrue(filter.mightExist(remote));
+        assertEquals(1.0, meterRegistry.get("account.id.filter.false.negatives").counter().count());
+    }
+
+    @Test
+    void findExistingDespiteMiss_shouldReturnOnlyIdsTheDatabaseHas() {
+        AccountIdFilter filter = builtFilter();
+        UUID remote = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(accountRepository.findExistingIds(List.of(remote, missing))).thenReturn(List.of(remote));
+
+        assertEquals(List.of(remote), filter.findExistingDespiteMiss(List.of(remote, missing)));
+        assertTrue(filter.mightExist(remote));
+        assertFalse(filter.mightExist(missing));
+    }
+}
@@ -0,0 +1,123 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountInvalidationBusTest {
+
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    @Mock
+    private AccountIdFilter accountIdFilter;
+
+    @Mock
+    private AccountReadModel accountReadModel;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcConnectionDetails connectionDetails;
+
+    private AccountInvalidationBus bus(boolean enabled) {
+        return new AccountInvalidationBus(accountLookupService, accountIdFilter, accountReadModel, jdbcTemplate, connectionDetails, enabled, 100, 100);
+    }
+
+    @Test
+    void publishAll_shouldDoNothingWhenDisabled() {
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE,
+                LocalDateTime.now(), BigDecimal.ONE, "USD", 1);
+        account.setId(UUID.randomUUID());
+
+        bus(false).publishAll(List.of(account));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void handle_shouldEvictAccountAndClient() {
+        UUID accountId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+
+        bus(true).handle(List.of(AccountInvalidationBus.encode("other-replica", accountId, clientId)));
+
+        verify(accountLookupService).evictLocal(accountId, clientId);
+        verify(accountIdFilter).addLocal(accountId);
+        verify(accountReadModel).refreshAll(List.of(accountId));
+    }
+
+    @Test
+    void handle_shouldRefreshOnePollWithOneCall() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        bus(true).handle(List.of(AccountInvalidationBus.encode("other-replica", first, UUID.randomUUID()),
+                AccountInvalidationBus.encode("other-replica", second, UUID.randomUUID())));
+
+        verify(accountReadModel, times(1)).refreshAll(List.of(first, second));
+    }
+
+    @Test
+    void handle_shouldSkipItsOwnNotifications() {
+        AccountInvalidationBus bus = bus(true);
+
+        bus.handle(List.of(AccountInvalidationBus.encode(bus.replicaId(), UUID.randomUUID(), UUID.randomUUID())));
+
+        verifyNoInteractions(accountLookupService, accountIdFilter);
+        verify(accountReadModel).refreshAll(List.of());
+    }
+
+    @Test
+    void handle_shouldEvictOnlyClientListWhenAccountIsMissing() {
+        UUID clientId = UUID.randomUUID();
+
+        bus(true).handle(List.of(AccountInvalidationBus.encode("other-replica", null, clientId)));
+
+        verify(accountLookupService).evictLocal(null, clientId);
+        verifyNoInteractions(accountIdFilter);
+    }
+
+    @Test
+    void handle_shouldIgnoreMalformedPayloads() {
+        AccountInvalidationBus bus = bus(true);
+
+        bus.handle(List.of("not-a-payload", "other-replica,not-a-uuid,also-not"));
+
+        verifyNoInteractions(accountLookupService);
+    }
+
+    @Test
+    void publish_shouldDoNothingWhenDisabled() throws Exception {
+        AccountInvalidationBus bus = bus(false);
+        bus.start();
+
+        bus.publish(UUID.randomUUID(), UUID.randomUUID());
+        bus.stop();
+
+        verifyNoInteractions(jdbcTemplate, connectionDetails);
+    }
+
+    @Test
+    void encode_shouldLeaveMissingAccountEmpty() {
+        UUID clientId = UUID.randomUUID();
+
+        assertEquals("replica,," + clientId, AccountInvalidationBus.encode("replica", null, clientId));
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(AccountLookupServiceTest.CachingConfig.class)
+class AccountLookupServiceTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(AccountLookupService.class)
+    static class CachingConfig {
+
+        @Bean
+        AccountRepository accountRepository() {
+            return mock(AccountRepository.class);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(AccountLookupService.ACCOUNTS_BY_ID, AccountLookupService.ACCOUNTS_BY_CLIENT);
+        }
+    }
+
+    @Autowired
+    private AccountLookupService lookupService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private UUID clientId;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        reset(accountRepository);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clientId = UUID.randomUUID();
+        account = new Account(clientId, AccountType.SAVINGS, AccountStatus.ACTIVE,
+                LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1);
+        account.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void findById_shouldQueryRepositoryOnlyOnce() {
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+
+        Optional<AccountResponse> first = lookupService.findById(account.getId());
+        Optional<AccountResponse> second = lookupService.findById(account.getId());
+
+        assertEquals(first, second);
+        assertEquals(clientId, second.orElseThrow().getClientId());
+        verify(accountRepository, times(1)).findById(account.getId());
+    }
+
+    @Test
+    void findById_shouldNotCacheMissingAccounts() {
+        UUID missing = UUID.randomUUID();
+        when(accountRepository.findById(missing)).thenReturn(Optional.empty());
+
+        assertTrue(lookupService.findById(missing).isEmpty());
+        assertTrue(lookupService.findById(missing).isEmpty());
+
+        verify(accountRepository, times(2)).findById(missing);
+    }
+
+    @Test
+    void evict_shouldReloadChangedAccountAndClientList() {
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.findByClientId(clientId)).thenReturn(List.of(account));
+        lookupService.findById(account.getId());
+        lookupService.findByClientId(clientId);
+
+        lookupService.evict(account.getId(), clientId);
+        lookupService.findById(account.getId());
+        lookupService.findByClientId(clientId);
+
+        verify(accountRepository, times(2)).findById(account.getId());
+        verify(accountRepository, times(2)).findByClientId(clientId);
+    }
+
+    @Test
+    void evict_shouldLeaveOtherClientsCached() {
+        UUID otherClient = UUID.randomUUID();
+        when(accountRepository.findByClientId(otherClient)).thenReturn(List.of());
+        lookupService.findByClientId(otherClient);
+
+        lookupService.evict(null, clientId);
+        lookupService.findByClientId(otherClient);
+
+        verify(accountRepository, times(1)).findByClientId(otherClient);
+    }
+}
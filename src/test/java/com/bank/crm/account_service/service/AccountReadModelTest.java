@@ -0,0 +1,127 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountReadModelTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccountReadModel readModel(boolean enabled) {
+        return new AccountReadModel(accountRepository, entityManager, transactionManager, enabled, 16, 16, false);
+    }
+
+    private static Account account() {
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE,
+                LocalDateTime.of(2024, 1, 1, 10, 0), new BigDecimal("100.00"), "USD", 101);
+        account.setId(UUID.randomUUID());
+        return account;
+    }
+
+    @Test
+    void load_shouldServeEveryAccountAndDetachEntities() {
+        Account account = account();
+        when(accountRepository.streamAll()).thenReturn(Stream.of(account));
+        AccountReadModel readModel = readModel(true);
+
+        readModel.load("test");
+
+        assertTrue(readModel.ready());
+        assertEquals(account.getId(), readModel.findById(account.getId()).orElseThrow().getId());
+        assertEquals(1, readModel.findByClientId(account.getClientId()).size());
+        verify(entityManager).detach(account);
+    }
+
+    @Test
+    void putAndRemove_shouldApplyOutsideTransactionsImmediately() {
+        when(accountRepository.streamAll()).thenReturn(Stream.empty());
+        AccountReadModel readModel = readModel(true);
+        readModel.load("test");
+        Account account = account();
+
+        readModel.put(account);
+        assertTrue(readModel.findById(account.getId()).isPresent());
+
+        readModel.remove(account.getId());
+        assertTrue(readModel.findById(account.getId()).isEmpty());
+    }
+
+    @Test
+    void refreshAll_shouldReReadAccountsChangedElsewhere() {
+        Account deleted = account();
+        when(accountRepository.streamAll()).thenReturn(Stream.of(deleted));
+        AccountReadModel readModel = readModel(true);
+        readModel.load("test");
+        Account account = account();
+        when(accountRepository.findAllById(List.of(account.getId(), deleted.getId()))).thenReturn(List.of(account));
+
+        readModel.refreshAll(List.of(account.getId(), deleted.getId()));
+
+        assertTrue(readModel.findById(account.getId()).isPresent());
+        assertTrue(readModel.findById(deleted.getId()).isEmpty());
+    }
+
+    @Test
+    void ready_shouldWaitForALoadStartedWhileListening() {
+        when(accountRepository.streamAll()).thenReturn(Stream.empty(), Stream.empty());
+        AccountReadModel readModel = new AccountReadModel(accountRepository, entityManager, transactionManager,
+                true, 16, 16, true);
+
+        readModel.load("startup");
+        assertFalse(readModel.ready());
+
+        readModel.listenerConnected();
+        readModel.load("test");
+        assertTrue(readModel.ready());
+    }
+
+    @Test
+    void ready_shouldBeFalseWhileTheListenerIsDisconnected() {
+        when(accountRepository.streamAll()).thenReturn(Stream.empty());
+        AccountReadModel readModel = new AccountReadModel(accountRepository, entityManager, transactionManager,
+                true, 16, 16, true);
+        readModel.listenerConnected();
+        readModel.load("test");
+
+        readModel.listenerDisconnected();
+
+        assertFalse(readModel.ready());
+    }
+
+    @Test
+    void shouldStayOffWhenDisabled() {
+        AccountReadModel readModel = readModel(false);
+
+        readModel.put(account());
+        readModel.refreshAll(List.of(UUID.randomUUID()));
+
+        assertFalse(readModel.reload("test"));
+        assertFalse(readModel.ready());
+        verifyNoInteractions(accountRepository);
+    }
+}
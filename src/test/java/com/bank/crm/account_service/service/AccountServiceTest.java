@@ -1,20 +1,35 @@
 package com.bank.crm.account_service.service;
 
+import com.bank.crm.account_service.dto.AccountPageResponse;
 import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.dto.BatchGetRequest;
+import com.bank.crm.account_service.dto.BatchGetResponse;
 import com.bank.crm.account_service.dto.CreateAccountRequest;
 import com.bank.crm.account_service.exception.AccountNotFoundException;
 import com.bank.crm.account_service.model.Account;
 import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountSummaryKey;
 import com.bank.crm.account_service.model.AccountType;
 import com.bank.crm.account_service.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.math.BigDecimal;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -27,9 +42,35 @@ class AccountServiceTest {
     @Mock
     private LoggingService loggingService;
 
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    @Mock
+    private AccountInvalidationBus accountInvalidationBus;
+
+    @Mock
+    private AccountIdFilter accountIdFilter;
+
+    @Mock
+    private AccountReadModel accountReadModel;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private AccountSummaryService accountSummaryService;
+
+    @Mock
+    private AccountCreateCoalescer accountCreateCoalescer;
+
     @InjectMocks
     private AccountService accountService;
 
+    @BeforeEach
+    void allowAllIds() {
+        lenient().when(accountIdFilter.mightExist(any())).thenReturn(true);
+    }
+
     @Test
     void createAccount_shouldReturnAccountResponse() {
         CreateAccountRequest request = new CreateAccountRequest(
@@ -49,33 +90,239 @@ class AccountServiceTest {
         assertNotNull(response);
         assertEquals(savedAccount.getId(), response.getId());
         verify(accountRepository).save(any(Account.class));
+        verify(accountLookupService).evict(null, request.getClientId());
+        verify(accountIdFilter).add(savedAccount.getId());
+        verify(accountReadModel).put(savedAccount);
+        verify(accountInvalidationBus).publish(savedAccount.getId(), request.getClientId());
+        verify(accountSummaryService).recordCreated(savedAccount);
+    }
+
+    @Test
+    void createAccountGroupCommit_shouldInsertThroughCoalescerAndAuditCaller() {
+        CreateAccountRequest request = new CreateAccountRequest(
+                UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, BigDecimal.valueOf(1000.0), "USD", 1
+        );
+        UUID accountId = UUID.randomUUID();
+        when(accountCreateCoalescer.create(any(Account.class), any(Runnable.class))).thenAnswer(invocation -> {
+            Account account = invocation.getArgument(0);
+            account.setId(accountId);
+            // The coalescer runs the audit inside its insert transaction
+            verifyNoInteractions(loggingService);
+            invocation.<Runnable>getArgument(1).run();
+            return account;
+        });
+
+        AccountResponse response = accountService.createAccountGroupCommit(request, "test-user-123");
+
+        assertEquals(accountId, response.getId());
+        assertEquals(request.getClientId(), response.getClientId());
+        verify(loggingService, times(1)).sendCreateLog(eq("test-user-123"), eq(request.getClientId().toString()),
+                eq("Account created with type: SAVINGS, initial deposit: 1000.00 USD, at branch ID: 1"));
+        // The coalescer's transaction keeps the summary and caches in step
+        verifyNoInteractions(accountRepository, accountSummaryService, accountInvalidationBus);
+    }
+
+    @Test
+    void getAccountsByClientId_shouldCoalesceConcurrentLookupsButAuditEachCaller() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(accountLookupService.findByClientId(clientId)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<List<AccountResponse>> first = executor.submit(() -> accountService.getAccountsByClientId(clientId, "agent-1"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<List<AccountResponse>> second = executor.submit(() -> accountService.getAccountsByClientId(clientId, "agent-2"));
+            Future<List<AccountResponse>> third = executor.submit(() -> accountService.getAccountsByClientId(clientId, "agent-3"));
+            SingleFlight<?, ?> clientLookups = (SingleFlight<?, ?>) ReflectionTestUtils.getField(accountService, "clientLookups");
+            await().atMost(5, TimeUnit.SECONDS).until(() -> clientLookups.waiting() == 2);
+            release.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            third.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(accountLookupService, times(1)).findByClientId(clientId);
+        verify(loggingService).sendReadLog(eq("agent-1"), eq(clientId.toString()), anyString());
+        verify(loggingService).sendReadLog(eq("agent-2"), eq(clientId.toString()), anyString());
+        verify(loggingService).sendReadLog(eq("agent-3"), eq(clientId.toString()), anyString());
     }
 
     @Test
     void getAccountsByClientId_shouldReturnList() {
         UUID clientId = UUID.randomUUID();
-        List<Account> accounts = List.of(
+        List<AccountResponse> accounts = List.of(AccountResponse.from(
                 new Account(clientId, AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1)
-        );
-        when(accountRepository.findByClientId(clientId)).thenReturn(accounts);
+        ));
+        when(accountLookupService.findByClientId(clientId)).thenReturn(accounts);
 
         List<AccountResponse> responses = accountService.getAccountsByClientId(clientId, "test-user-123");
 
         assertEquals(1, responses.size());
-        verify(accountRepository).findByClientId(clientId);
+        verify(accountLookupService).findByClientId(clientId);
+        verify(hotKeyTracker).recordClient(clientId);
+        verify(loggingService).sendReadLog(eq("test-user-123"), eq(clientId.toString()), anyString());
     }
 
     @Test
-    void getAllAccounts_shouldReturnList() {
-        List<Account> accounts = List.of(
-                new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1)
-        );
-        when(accountRepository.findAll()).thenReturn(accounts);
+    void getAccounts_shouldReturnCursorWhenMoreRowsExist() {
+        ReflectionTestUtils.setField(accountService, "maxPageSize", 500);
+        LocalDateTime openingDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Account first = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, openingDate, BigDecimal.valueOf(1000.0), "USD", 1);
+        first.setId(UUID.randomUUID());
+        Account second = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, openingDate, BigDecimal.valueOf(1000.0), "USD", 1);
+        second.setId(UUID.randomUUID());
+        when(accountRepository.findPage(any(Pageable.class))).thenReturn(List.of(first, second));
+
+        AccountPageResponse page = accountService.getAccounts(null, 1, Sort.Direction.ASC);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(first.getId(), page.getItems().get(0).getId());
+        assertEquals(new AccountCursor(openingDate, first.getId()), AccountCursor.decode(page.getNextCursor()));
+        verify(accountRepository).findPage(PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "openingDate", "id")));
+    }
+
+    @Test
+    void getAccounts_shouldContinueAfterCursor() {
+        ReflectionTestUtils.setField(accountService, "maxPageSize", 500);
+        AccountCursor cursor = new AccountCursor(LocalDateTime.of(2024, 1, 1, 10, 0), UUID.randomUUID());
+        when(accountRepository.findPageBefore(eq(cursor.openingDate()), eq(cursor.id()), any(Pageable.class)))
+                .thenReturn(List.of());
 
-        List<AccountResponse> responses = accountService.getAllAccounts();
+        AccountPageResponse page = accountService.getAccounts(cursor.encode(), 10, Sort.Direction.DESC);
 
-        assertEquals(1, responses.size());
-        verify(accountRepository).findAll();
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(accountRepository, never()).findPage(any());
+    }
+
+    @Test
+    void getAccounts_shouldRejectOversizedPage() {
+        ReflectionTestUtils.setField(accountService, "maxPageSize", 500);
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.getAccounts(null, 501, Sort.Direction.ASC));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void deleteAccount_shouldRemoveAccountFromSummary() {
+        UUID accountId = UUID.randomUUID();
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1);
+        account.setId(accountId);
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+
+        accountService.deleteAccount(accountId, "test-user-123");
+
+        verify(accountRepository).deleteById(accountId);
+        verify(accountSummaryService).recordDeleted(account);
+        verify(loggingService).sendDeleteLog(eq("test-user-123"), eq(account.getClientId().toString()), anyString());
+    }
+
+    @Test
+    void getAccounts_shouldRejectMalformedCursor() {
+        ReflectionTestUtils.setField(accountService, "maxPageSize", 500);
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.getAccounts("not-a-cursor", 10, Sort.Direction.ASC));
+    }
+
+    @Test
+    void batchGet_shouldQueryOncePerKindAndAuditOncePerClient() {
+        ReflectionTestUtils.setField(accountService, "maxBatchIds", 200);
+        UUID clientId = UUID.randomUUID();
+        Account first = new Account(clientId, AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1);
+        first.setId(UUID.randomUUID());
+        Account second = new Account(clientId, AccountType.CHECKING, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(500.0), "USD", 1);
+        second.setId(UUID.randomUUID());
+        UUID missingId = UUID.randomUUID();
+        when(accountRepository.findAllById(List.of(first.getId(), missingId))).thenReturn(List.of(first));
+        when(accountRepository.findByClientIdIn(Set.of(clientId))).thenReturn(List.of(first, second));
+
+        BatchGetResponse response = accountService.batchGet(
+                new BatchGetRequest(List.of(first.getId(), missingId, first.getId()), List.of(clientId)), "agent-1");
+
+        assertEquals(Set.of(first.getId()), response.getAccounts().keySet());
+        assertEquals(List.of(missingId), response.getNotFoundAccountIds());
+        assertEquals(2, response.getClients().get(clientId).size());
+        verify(loggingService, times(1)).sendReadLog(eq("agent-1"), eq(clientId.toString()), anyString());
+    }
+
+    @Test
+    void batchGet_shouldRejectOversizedBatch() {
+        ReflectionTestUtils.setField(accountService, "maxBatchIds", 2);
+        BatchGetRequest request = new BatchGetRequest(
+                List.of(UUID.randomUUID(), UUID.randomUUID()), List.of(UUID.randomUUID()));
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.batchGet(request, "agent-1"));
+        verifyNoInteractions(accountRepository, loggingService);
+    }
+
+    @Test
+    void getAccountById_shouldSkipLookupWhenFilterRulesIdOut() {
+        UUID accountId = UUID.randomUUID();
+        when(accountIdFilter.mightExist(accountId)).thenReturn(false);
+
+        Optional<AccountResponse> response = accountService.getAccountById(accountId, "test-user-123");
+
+        assertTrue(response.isEmpty());
+        verifyNoInteractions(accountLookupService, loggingService);
+    }
+
+    @Test
+    void getAccountById_shouldLookUpAccountTheFilterMissedButTheDatabaseHas() {
+        UUID accountId = UUID.randomUUID();
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1);
+        account.setId(accountId);
+        when(accountIdFilter.mightExist(accountId)).thenReturn(false);
+        when(accountIdFilter.existsDespiteMiss(accountId)).thenReturn(true);
+        when(accountLookupService.findById(accountId)).thenReturn(Optional.of(AccountResponse.from(account)));
+
+        Optional<AccountResponse> response = accountService.getAccountById(accountId, "test-user-123");
+
+        assertTrue(response.isPresent());
+        verify(accountLookupService).findById(accountId);
+    }
+
+    @Test
+    void getAccountById_shouldRecordFalsePositiveWhenFilterLetsMissingIdThrough() {
+        UUID accountId = UUID.randomUUID();
+        when(accountLookupService.findById(accountId)).thenReturn(Optional.empty());
+
+        assertTrue(accountService.getAccountById(accountId, "test-user-123").isEmpty());
+
+        verify(accountIdFilter).recordFalsePositive();
+    }
+
+    @Test
+    void deleteAccount_shouldThrowWithoutQueryWhenFilterRulesIdOut() {
+        UUID accountId = UUID.randomUUID();
+        when(accountIdFilter.mightExist(accountId)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.deleteAccount(accountId, "test-user-123"));
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void getAccountById_shouldServeFromReadModelWhenLoaded() {
+        UUID accountId = UUID.randomUUID();
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1);
+        account.setId(accountId);
+        when(accountReadModel.ready()).thenReturn(true);
+        when(accountReadModel.findById(accountId)).thenReturn(Optional.of(AccountResponse.from(account)));
+
+        Optional<AccountResponse> response = accountService.getAccountById(accountId, "test-user-123");
+
+        assertTrue(response.isPresent());
+        verifyNoInteractions(accountLookupService);
+        verify(loggingService).sendReadLog(eq("test-user-123"), eq(account.getClientId().toString()), anyString());
     }
 
     @Test
@@ -83,24 +330,26 @@ class AccountServiceTest {
         UUID accountId = UUID.randomUUID();
         Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE, LocalDateTime.now(), BigDecimal.valueOf(1000.0), "USD", 1);
         account.setId(accountId);
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountLookupService.findById(accountId)).thenReturn(Optional.of(AccountResponse.from(account)));
 
         Optional<AccountResponse> response = accountService.getAccountById(accountId, "test-user-123");
 
         assertTrue(response.isPresent());
         assertEquals(accountId, response.get().getId());
-        verify(accountRepository).findById(accountId);
+        verify(accountLookupService).findById(accountId);
+        verify(loggingService).sendReadLog(eq("test-user-123"), eq(account.getClientId().toString()), anyString());
     }
 
     @Test
     void getAccountById_shouldReturnEmptyIfNotExists() {
         UUID accountId = UUID.randomUUID();
-        when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+        when(accountLookupService.findById(accountId)).thenReturn(Optional.empty());
 
         Optional<AccountResponse> response = accountService.getAccountById(accountId, "test-user-123");
 
         assertFalse(response.isPresent());
-        verify(accountRepository).findById(accountId);
+        verify(accountLookupService).findById(accountId);
+        verifyNoInteractions(loggingService);
     }
 
     @Test
@@ -111,7 +360,7 @@ class AccountServiceTest {
                 AccountType.CHECKING, AccountStatus.ACTIVE, BigDecimal.valueOf(2000.0), "EUR", 2
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.empty());
 
         assertThrows(AccountNotFoundException.class, () -> accountService.updateAccount(accountId, request, "test-user-123"));
         verify(accountRepository).findById(accountId);
@@ -132,12 +381,14 @@ class AccountServiceTest {
                 AccountType.CHECKING, AccountStatus.INACTIVE, BigDecimal.valueOf(2000.0), "EUR", 2
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         AccountResponse response = accountService.updateAccount(accountId, request, "test-user-123");
 
         assertNotNull(response);
+        verify(accountLookupService).evict(accountId, existingAccount.getClientId());
+        verify(accountInvalidationBus).publish(accountId, existingAccount.getClientId());
         assertEquals(AccountType.CHECKING, existingAccount.getAccType());
         assertEquals(AccountStatus.INACTIVE, existingAccount.getAccStatus());
         assertEquals(BigDecimal.valueOf(2000.0), existingAccount.getInitialDeposit());
@@ -145,6 +396,9 @@ class AccountServiceTest {
         assertEquals(2, existingAccount.getBranchId());
         verify(accountRepository).findById(accountId);
         verify(accountRepository).save(existingAccount);
+        verify(accountSummaryService).recordUpdated(
+                new AccountSummaryKey(1, "USD", AccountType.SAVINGS, AccountStatus.ACTIVE),
+                BigDecimal.valueOf(1000.0), existingAccount);
     }
 
     @Test
@@ -161,7 +415,7 @@ class AccountServiceTest {
                 AccountType.CHECKING, null, null, null, null
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         AccountResponse response = accountService.updateAccount(accountId, request, "test-user-123");
@@ -186,7 +440,7 @@ class AccountServiceTest {
                 null, AccountStatus.INACTIVE, null, null, null
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         AccountResponse response = accountService.updateAccount(accountId, request, "test-user-123");
@@ -211,7 +465,7 @@ class AccountServiceTest {
                 null, null, BigDecimal.valueOf(5000.0), null, null
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         AccountResponse response = accountService.updateAccount(accountId, request, "test-user-123");
@@ -236,7 +490,7 @@ class AccountServiceTest {
                 null, null, null, "GBP", null
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         AccountResponse response = accountService.updateAccount(accountId, request, "test-user-123");
@@ -261,7 +515,7 @@ class AccountServiceTest {
                 null, null, null, null, 5
             );
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(existingAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(existingAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         AccountResponse response = accountService.updateAccount(accountId, request, "test-user-123");
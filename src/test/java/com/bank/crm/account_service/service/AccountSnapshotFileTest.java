@@ -0,0 +1,73 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static AccountResponse account(UUID clientId) {
+        return new AccountResponse(UUID.randomUUID(), clientId, AccountType.CHECKING, AccountStatus.ACTIVE,
+                LocalDateTime.of(2023, 2, 20, 14, 30, 0, 250_000), new BigDecimal("1500.00"), "EUR", 102);
+    }
+
+    @Test
+    void read_shouldReturnWhatWasWritten() throws IOException {
+        UUID clientId = UUID.randomUUID();
+        AccountResponse cachedById = account(clientId);
+        AccountResponse onlyInList = account(clientId);
+        UUID emptyClient = UUID.randomUUID();
+        LocalDateTime watermark = LocalDateTime.of(2024, 6, 1, 12, 0, 0, 123_000);
+        Path file = directory.resolve("accounts.snap");
+
+        AccountSnapshotFile.write(file, watermark, List.of(cachedById),
+                Map.of(clientId, List.of(cachedById, onlyInList), emptyClient, List.of()));
+        AccountSnapshotFile.Snapshot snapshot = AccountSnapshotFile.read(file);
+
+        assertEquals(watermark, snapshot.watermark());
+        assertEquals(List.of(cachedById), snapshot.accounts());
+        assertEquals(List.of(cachedById, onlyInList), snapshot.clientLists().get(clientId));
+        assertEquals(List.of(), snapshot.clientLists().get(emptyClient));
+    }
+
+    @Test
+    void read_shouldRejectCorruptedFile() throws IOException {
+        Path file = directory.resolve("accounts.snap");
+        AccountSnapshotFile.write(file, LocalDateTime.now(), List.of(account(UUID.randomUUID())), Map.of());
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(AccountSnapshotFile.HEADER_BYTES + 10);
+            raw.write(0x7f);
+        }
+
+        IOException error = assertThrows(IOException.class, () -> AccountSnapshotFile.read(file));
+        assertTrue(error.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void read_shouldRejectOtherVersions() throws IOException {
+        Path file = directory.resolve("accounts.snap");
+        AccountSnapshotFile.write(file, LocalDateTime.now(), List.of(), Map.of());
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(4);
+            raw.writeInt(AccountSnapshotFile.VERSION + 1);
+        }
+
+        assertThrows(IOException.class, () -> AccountSnapshotFile.read(file));
+    }
+}
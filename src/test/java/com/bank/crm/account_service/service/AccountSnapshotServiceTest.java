@@ -0,0 +1,83 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSnapshotServiceTest {
+
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private AccountSnapshotService service() {
+        return new AccountSnapshotService(accountLookupService, accountRepository, jdbcTemplate, true,
+                directory.resolve("accounts.snap").toString(), 86_400_000, 60_000);
+    }
+
+    private static AccountResponse account() {
+        return new AccountResponse(UUID.randomUUID(), UUID.randomUUID(), AccountType.SAVINGS, AccountStatus.ACTIVE,
+                LocalDateTime.of(2023, 1, 15, 10, 0), new BigDecimal("5000.00"), "USD", 101);
+    }
+
+    @Test
+    void restore_shouldSeedCachesAndEvictModifiedAndDeletedAccounts() {
+        AccountResponse unchanged = account();
+        AccountResponse modified = account();
+        AccountResponse deleted = account();
+        LocalDateTime watermark = LocalDateTime.now();
+        when(jdbcTemplate.queryForObject("SELECT localtimestamp", LocalDateTime.class)).thenReturn(watermark);
+        when(accountLookupService.cachedAccounts()).thenReturn(List.of(unchanged, modified, deleted));
+        when(accountLookupService.cachedClientLists()).thenReturn(Map.of());
+        AccountSnapshotService service = service();
+        service.write();
+
+        AccountRepository.AccountKey key = mock(AccountRepository.AccountKey.class);
+        when(key.getId()).thenReturn(modified.getId());
+        when(key.getClientId()).thenReturn(modified.getClientId());
+        when(accountRepository.findKeysModifiedSince(watermark.minusMinutes(1))).thenReturn(List.of(key));
+        when(accountRepository.findExistingIds(anyCollection())).thenReturn(List.of(unchanged.getId(), modified.getId()));
+
+        assertEquals(3, service.restore());
+
+        verify(accountLookupService).seed(argThat(accounts -> accounts.size() == 3), eq(Map.of()));
+        verify(accountLookupService).evictLocal(modified.getId(), modified.getClientId());
+        verify(accountLookupService).evictLocal(deleted.getId(), deleted.getClientId());
+        verify(accountLookupService, never()).evictLocal(eq(unchanged.getId()), any());
+    }
+
+    @Test
+    void restore_shouldStartColdWithoutSnapshot() {
+        assertEquals(0, service().restore());
+
+        verify(accountLookupService, never()).seed(any(), any());
+        verifyNoInteractions(accountRepository);
+    }
+}
@@ -0,0 +1,140 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountSummaryResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountSummary;
+import com.bank.crm.account_service.model.AccountSummaryKey;
+import com.bank.crm.account_service.model.AccountType;
+import com.bank.crm.account_service.repository.AccountSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSummaryServiceTest {
+
+    @Mock
+    private AccountSummaryRepository accountSummaryRepository;
+
+    private AccountSummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new AccountSummaryService(accountSummaryRepository);
+    }
+
+    private static Account account(int branchId, AccountStatus status, String deposit) {
+        Account account = new Account(UUID.randomUUID(), AccountType.SAVINGS, status,
+                LocalDateTime.now(), new BigDecimal(deposit), "USD", branchId);
+        account.setId(UUID.randomUUID());
+        return account;
+    }
+
+    @Test
+    void recordCreated_shouldAddOneAccountAndItsDeposit() {
+        summaryService.recordCreated(account(101, AccountStatus.ACTIVE, "250.00"));
+
+        verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "ACTIVE", 1, new BigDecimal("250.00"));
+    }
+
+    @Test
+    void recordDeleted_shouldSubtractAccountAndDeposit() {
+        summaryService.recordDeleted(account(101, AccountStatus.ACTIVE, "250.00"));
+
+        verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "ACTIVE", -1, new BigDecimal("-250.00"));
+    }
+
+    @Test
+    void recordUpdated_shouldOnlyAdjustDepositWithinSameGroup() {
+        Account account = account(101, AccountStatus.ACTIVE, "400.00");
+        AccountSummaryKey before = AccountSummaryKey.of(account);
+
+        summaryService.recordUpdated(before, new BigDecimal("250.00"), account);
+
+        verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "ACTIVE", 0, new BigDecimal("150.00"));
+        verifyNoMoreInteractions(accountSummaryRepository);
+    }
+
+    @Test
+    void recordUpdated_shouldSkipUnchangedAccount() {
+        Account account = account(101, AccountStatus.ACTIVE, "250.00");
+
+        summaryService.recordUpdated(AccountSummaryKey.of(account), new BigDecimal("250.00"), account);
+
+        verifyNoInteractions(accountSummaryRepository);
+    }
+
+    @Test
+    void recordUpdated_shouldLockGroupsInKeyOrderWhicheverWayTheAccountMoves() {
+        AccountSummaryKey lower = new AccountSummaryKey(101, "USD", AccountType.SAVINGS, AccountStatus.ACTIVE);
+
+        // Moving up: the old group sorts first
+        summaryService.recordUpdated(lower, new BigDecimal("250.00"), account(102, AccountStatus.ACTIVE, "250.00"));
+        // Moving down: the new group sorts first
+        summaryService.recordUpdated(new AccountSummaryKey(102, "USD", AccountType.SAVINGS, AccountStatus.ACTIVE),
+                new BigDecimal("250.00"), account(101, AccountStatus.ACTIVE, "250.00"));
+
+        InOrder inOrder = inOrder(accountSummaryRepository);
+        inOrder.verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "ACTIVE", -1, new BigDecimal("-250.00"));
+        inOrder.verify(accountSummaryRepository).applyDelta(102, "USD", "SAVINGS", "ACTIVE", 1, new BigDecimal("250.00"));
+        inOrder.verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "ACTIVE", 1, new BigDecimal("250.00"));
+        inOrder.verify(accountSummaryRepository).applyDelta(102, "USD", "SAVINGS", "ACTIVE", -1, new BigDecimal("-250.00"));
+    }
+
+    @Test
+    void recordStatusChanged_shouldMoveEachGroupOnceInKeyOrder() {
+        Account first = account(101, AccountStatus.ACTIVE, "100.00");
+        Account second = account(101, AccountStatus.ACTIVE, "50.00");
+        Account unchanged = account(102, AccountStatus.ACTIVE, "70.00");
+
+        summaryService.recordStatusChanged(List.of(first, second, unchanged), Map.of(
+                first.getId(), AccountStatus.PENDING,
+                second.getId(), AccountStatus.PENDING,
+                unchanged.getId(), AccountStatus.ACTIVE));
+
+        InOrder inOrder = inOrder(accountSummaryRepository);
+        inOrder.verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "ACTIVE", 2, new BigDecimal("150.00"));
+        inOrder.verify(accountSummaryRepository).applyDelta(101, "USD", "SAVINGS", "PENDING", -2, new BigDecimal("-150.00"));
+        verifyNoMoreInteractions(accountSummaryRepository);
+    }
+
+    @Test
+    void summarize_shouldMapGroups() {
+        AccountSummaryKey key = new AccountSummaryKey(101, "USD", AccountType.SAVINGS, AccountStatus.ACTIVE);
+        when(accountSummaryRepository.findGroups(101, null))
+                .thenReturn(List.of(new AccountSummary(key, 3, new BigDecimal("750.00"))));
+
+        List<AccountSummaryResponse> summary = summaryService.summarize(101, null);
+
+        assertEquals(1, summary.size());
+        assertEquals(AccountType.SAVINGS, summary.get(0).getAccType());
+        assertEquals(3, summary.get(0).getAccountCount());
+        assertEquals(new BigDecimal("750.00"), summary.get(0).getTotalDeposit());
+    }
+
+    @Test
+    void rebuild_shouldLockBeforeReplacingGroups() {
+        when(accountSummaryRepository.insertGroupsFromAccounts()).thenReturn(4);
+
+        assertEquals(4, summaryService.rebuild());
+
+        InOrder inOrder = inOrder(accountSummaryRepository);
+        inOrder.verify(accountSummaryRepository).lockForRebuild();
+        inOrder.verify(accountSummaryRepository).deleteAllGroups();
+        inOrder.verify(accountSummaryRepository).insertGroupsFromAccounts();
+    }
+}
@@ -0,0 +1,64 @@
+package com.bank.crm.account_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeySketchTest {
+
+    @Test
+    void top_shouldFindHeavyHittersAmongManyColdKeys() {
+        HotKeySketch sketch = new HotKeySketch(3, 1024, 256);
+        List<UUID> hot = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < hot.size(); i++) {
+                // Distinct frequencies so the ranking is deterministic
+                for (int repeat = 0; repeat <= i; repeat++) {
+                    sketch.record(hot.get(i));
+                }
+            }
+            for (int cold = 0; cold < 20; cold++) {
+                sketch.record(UUID.randomUUID());
+            }
+            sketch.drain();
+        }
+
+        List<UUID> top = sketch.top().stream().map(HotKeySketch.HotKey::key).toList();
+        assertEquals(List.of(hot.get(2), hot.get(1), hot.get(0)), top);
+        assertTrue(sketch.top().get(0).estimate() >= 600);
+    }
+
+    @Test
+    void estimate_shouldNeverUndercount() {
+        HotKeySketch sketch = new HotKeySketch(10, 64, 64);
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID key = UUID.randomUUID();
+            keys.add(key);
+            sketch.record(key);
+        }
+
+        for (UUID key : keys) {
+            assertTrue(sketch.estimate(key) >= 1);
+        }
+    }
+
+    @Test
+    void decay_shouldHalveCounts() {
+        HotKeySketch sketch = new HotKeySketch(1, 1024, 16);
+        UUID key = UUID.randomUUID();
+        for (int i = 0; i < 8; i++) {
+            sketch.record(key);
+        }
+        sketch.drain();
+
+        sketch.decay();
+
+        assertEquals(4, sketch.estimate(key));
+        assertEquals(4, sketch.top().get(0).estimate());
+    }
+}
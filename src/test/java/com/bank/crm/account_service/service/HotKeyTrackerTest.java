@@ -0,0 +1,59 @@
+package com.bank.crm.account_service.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotKeyTrackerTest {
+
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    private HotKeyTracker tracker(boolean enabled, boolean pin) {
+        return new HotKeyTracker(accountLookupService, enabled, 10, 1024, 64, pin);
+    }
+
+    @Test
+    void pin_shouldReloadHotEntriesIntoCaches() {
+        HotKeyTracker tracker = tracker(true, true);
+        UUID accountId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        tracker.recordAccount(accountId);
+        tracker.recordClient(clientId);
+        tracker.drain();
+
+        tracker.pin();
+
+        assertEquals(accountId, tracker.topAccounts().get(0).key());
+        verify(accountLookupService).reloadById(accountId);
+        verify(accountLookupService).reloadByClientId(clientId);
+    }
+
+    @Test
+    void pin_shouldDoNothingUnlessEnabled() {
+        HotKeyTracker tracker = tracker(true, false);
+        tracker.recordAccount(UUID.randomUUID());
+        tracker.drain();
+
+        tracker.pin();
+
+        verifyNoInteractions(accountLookupService);
+    }
+
+    @Test
+    void record_shouldBeIgnoredWhenDisabled() {
+        HotKeyTracker tracker = tracker(false, true);
+
+        tracker.recordAccount(UUID.randomUUID());
+        tracker.drain();
+
+        assertTrue(tracker.topAccounts().isEmpty());
+    }
+}
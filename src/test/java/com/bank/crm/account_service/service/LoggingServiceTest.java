@@ -0,0 +1,119 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.audit.AuditEventSerializer;
+import com.bank.crm.account_service.audit.AuditPublisher;
+import com.bank.crm.account_service.audit.ReadAuditAggregator;
+import com.bank.crm.account_service.model.AuditOutboxEntry;
+import com.bank.crm.account_service.repository.AuditOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingServiceTest {
+
+    @Mock
+    private AuditPublisher auditPublisher;
+
+    @Mock
+    private AuditOutboxRepository auditOutboxRepository;
+
+    @Mock
+    private ReadAuditAggregator readAuditAggregator;
+
+    private final AuditEventSerializer serializer = new AuditEventSerializer(new ObjectMapper());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void sendCreateLog_shouldWriteToOutboxInsideTransaction() {
+        LoggingService loggingService = new LoggingService(auditPublisher, auditOutboxRepository, serializer,
+                readAuditAggregator, true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        loggingService.sendCreateLog("agent-1", "client-1", "created");
+
+        verify(auditOutboxRepository).save(any(AuditOutboxEntry.class));
+        verifyNoInteractions(auditPublisher);
+    }
+
+    @Test
+    void sendUpdateLog_shouldPublishOnlyAfterCommitWithoutOutbox() {
+        LoggingService loggingService = new LoggingService(auditPublisher, auditOutboxRepository, serializer,
+                readAuditAggregator, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        when(auditPublisher.publish(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> delivered =
+                loggingService.sendUpdateLog("agent-1", "client-1", "Currency", "USD", "EUR", "updated");
+        verifyNoInteractions(auditPublisher);
+        assertFalse(delivered.isDone());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(auditPublisher).publish(eq("agent-1"), contains("\"crud_operation\":\"Update\""));
+        verifyNoInteractions(auditOutboxRepository);
+        assertTrue(delivered.isDone());
+    }
+
+    @Test
+    void sendDeleteLog_shouldNotPublishWhenTransactionRollsBack() {
+        LoggingService loggingService = new LoggingService(auditPublisher, auditOutboxRepository, serializer,
+                readAuditAggregator, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        CompletableFuture<Void> delivered = loggingService.sendDeleteLog("agent-1", "client-1", "deleted");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(auditPublisher);
+        assertTrue(delivered.isCancelled());
+    }
+
+    @Test
+    void sendReadLog_shouldPublishImmediately() {
+        LoggingService loggingService = new LoggingService(auditPublisher, auditOutboxRepository, serializer,
+                readAuditAggregator, true);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(auditPublisher.publish(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        loggingService.sendReadLog("agent-1", "client-1", "read");
+
+        verify(auditPublisher).publish(eq("agent-1"), anyString());
+        verifyNoInteractions(auditOutboxRepository);
+    }
+
+    @Test
+    void sendReadLog_shouldHandOffToAggregatorWhenEnabled() {
+        LoggingService loggingService = new LoggingService(auditPublisher, auditOutboxRepository, serializer,
+                readAuditAggregator, true);
+        CompletableFuture<Void> aggregated = new CompletableFuture<>();
+        when(readAuditAggregator.isEnabled()).thenReturn(true);
+        when(readAuditAggregator.record(any())).thenReturn(aggregated);
+
+        assertSame(aggregated, loggingService.sendReadLog("agent-1", "client-1", "read"));
+
+        verifyNoInteractions(auditPublisher);
+    }
+}
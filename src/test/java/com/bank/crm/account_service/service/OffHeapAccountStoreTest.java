@@ -0,0 +1,103 @@
+package com.bank.crm.account_service.service;
+
+import com.bank.crm.account_service.dto.AccountResponse;
+import com.bank.crm.account_service.model.Account;
+import com.bank.crm.account_service.model.AccountStatus;
+import com.bank.crm.account_service.model.AccountType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapAccountStoreTest {
+
+    private static Account account(UUID clientId) {
+        Account account = new Account(clientId, AccountType.BUSINESS, AccountStatus.PENDING,
+                LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000), new BigDecimal("1234.50"), "SGD", 104);
+        account.setId(UUID.randomUUID());
+        return account;
+    }
+
+    @Test
+    void get_shouldRoundTripEveryField() {
+        OffHeapAccountStore store = new OffHeapAccountStore(16, 16);
+        Account account = account(UUID.randomUUID());
+
+        store.put(account);
+
+        assertEquals(AccountResponse.from(account), store.get(account.getId()));
+        assertNull(store.get(UUID.randomUUID()));
+    }
+
+    @Test
+    void getByClient_shouldReturnEveryAccountOfTheClient() {
+        OffHeapAccountStore store = new OffHeapAccountStore(16, 16);
+        UUID clientId = UUID.randomUUID();
+        Account first = account(clientId);
+        Account second = account(clientId);
+        store.put(first);
+        store.put(second);
+        store.put(account(UUID.randomUUID()));
+
+        List<UUID> ids = store.getByClient(clientId).stream().map(AccountResponse::getId).toList();
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of(first.getId(), second.getId())));
+        assertTrue(store.getByClient(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void put_shouldMoveAccountToItsNewClient() {
+        OffHeapAccountStore store = new OffHeapAccountStore(16, 16);
+        UUID oldClient = UUID.randomUUID();
+        UUID newClient = UUID.randomUUID();
+        Account account = account(oldClient);
+        store.put(account);
+
+        account.setClientId(newClient);
+        account.setAccStatus(AccountStatus.ACTIVE);
+        store.put(account);
+
+        assertEquals(1, store.size());
+        assertTrue(store.getByClient(oldClient).isEmpty());
+        assertEquals(AccountStatus.ACTIVE, store.getByClient(newClient).get(0).getAccStatus());
+    }
+
+    @Test
+    void remove_shouldKeepIndexesConsistentAcrossGrowthAndSlotReuse() {
+        // Small chunks and index force several chunks, index resizes and probe chains
+        OffHeapAccountStore store = new OffHeapAccountStore(8, 2);
+        UUID sharedClient = UUID.randomUUID();
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Account account = account(i % 5 == 0 ? sharedClient : UUID.randomUUID());
+            accounts.add(account);
+            store.put(account);
+        }
+
+        for (int i = 0; i < accounts.size(); i += 2) {
+            assertTrue(store.remove(accounts.get(i).getId()));
+        }
+        assertFalse(store.remove(accounts.get(0).getId()));
+        for (int i = 0; i < 100; i++) {
+            store.put(account(sharedClient));
+        }
+
+        assertEquals(350, store.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            if (i % 2 == 0) {
+                assertNull(store.get(account.getId()));
+            } else {
+                assertEquals(account.getId(), store.get(account.getId()).getId());
+            }
+        }
+        // 50 of the original shared-client accounts survive (odd multiples of 5), plus 100 new
+        assertEquals(150, store.getByClient(sharedClient).size());
+    }
+}
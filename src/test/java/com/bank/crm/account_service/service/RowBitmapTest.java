@@ -0,0 +1,111 @@
+package com.bank.crm.account_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowBitmapTest {
+
+    private static RowBitmap bitmapOf(BitSet rows) {
+        RowBitmap.Builder builder = new RowBitmap.Builder();
+        rows.stream().forEach(builder::add);
+        return builder.build();
+    }
+
+    private static BitSet rowsOf(RowBitmap bitmap) {
+        BitSet rows = new BitSet();
+        bitmap.forEach(rows::set);
+        return rows;
+    }
+
+    private static BitSet random(Random random, int rows, double density) {
+        BitSet set = new BitSet(rows);
+        for (int row = 0; row < rows; row++) {
+            if (random.nextDouble() < density) {
+                set.set(row);
+            }
+        }
+        return set;
+    }
+
+    @Test
+    void shouldMatchBitSetForSparseAndDenseChunks() {
+        Random random = new Random(42);
+        double[] densities = {0.001, 0.03, 0.5, 0.99};
+        for (double leftDensity : densities) {
+            for (double rightDensity : densities) {
+                BitSet left = random(random, 300_000, leftDensity);
+                BitSet right = random(random, 300_000, rightDensity);
+                RowBitmap leftBitmap = bitmapOf(left);
+                RowBitmap rightBitmap = bitmapOf(right);
+
+                BitSet and = (BitSet) left.clone();
+                and.and(right);
+                BitSet or = (BitSet) left.clone();
+                or.or(right);
+
+                assertEquals(left, rowsOf(leftBitmap));
+                assertEquals(left.cardinality(), leftBitmap.cardinality());
+                assertEquals(and, rowsOf(leftBitmap.and(rightBitmap)));
+                assertEquals(and.cardinality(), leftBitmap.and(rightBitmap).cardinality());
+                assertEquals(or, rowsOf(leftBitmap.or(rightBitmap)));
+                assertEquals(or.cardinality(), leftBitmap.or(rightBitmap).cardinality());
+            }
+        }
+    }
+
+    @Test
+    void limitShouldKeepOnlyRowsInRange() {
+        Random random = new Random(7);
+        BitSet rows = random(random, 200_000, 0.2);
+        RowBitmap bitmap = bitmapOf(rows);
+
+        RowBitmap limited = bitmap.limit(65_530, 140_000);
+
+        BitSet expected = (BitSet) rows.clone();
+        expected.clear(0, 65_530);
+        expected.clear(140_000, 200_000);
+        assertEquals(expected, rowsOf(limited));
+        assertEquals(expected.cardinality(), limited.cardinality());
+        assertTrue(bitmap.limit(10, 10).isEmpty());
+    }
+
+    @Test
+    void rangeShouldContainEveryRow() {
+        RowBitmap all = RowBitmap.range(131_073);
+
+        assertEquals(131_073, all.cardinality());
+        assertTrue(all.contains(0));
+        assertTrue(all.contains(131_072));
+        assertFalse(all.contains(131_073));
+    }
+
+    @Test
+    void sumShouldAddColumnValuesOfSetRows() {
+        RowBitmap.Builder builder = new RowBitmap.Builder();
+        builder.add(1);
+        builder.add(3);
+        builder.add(70_000);
+        long[] column = new long[70_001];
+        column[1] = 10;
+        column[2] = 1_000;
+        column[3] = 20;
+        column[70_000] = 30;
+
+        assertEquals(60, builder.build().sum(column));
+    }
+
+    @Test
+    void sparseBitmapShouldStaySmall() {
+        RowBitmap.Builder builder = new RowBitmap.Builder();
+        for (int row = 0; row < 1_000_000; row += 1_000) {
+            builder.add(row);
+        }
+
+        // 1000 rows across 16 chunks: arrays of 2-byte values, not 8 KB bitsets
+        assertTrue(builder.build().sizeInBytes() < 4_096);
+    }
+}
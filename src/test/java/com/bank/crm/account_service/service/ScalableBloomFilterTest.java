@@ -0,0 +1,54 @@
+package com.bank.crm.account_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void mightContain_shouldNeverMissAddedIds() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            filter.add(id);
+        }
+
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void add_shouldGrowStagesAndKeepFalsePositivesNearTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(filter.stageCount() > 1);
+        assertTrue(filter.expectedFalsePositiveRate() <= 0.01);
+        // Generous bound so the test is not flaky; the target is 1%
+        assertTrue((double) falsePositives / probes < 0.02, "false-positive rate " + falsePositives / (double) probes);
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+    }
+}